@@ -0,0 +1,121 @@
+package com.knowgauge.benchmarks.prompt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.knowgauge.core.service.testgeneration.prompt.CompiledPromptTemplate;
+import com.knowgauge.core.service.testgeneration.prompt.DefaultPromptTemplateRenderer;
+
+/**
+ * Renders the full multi-correct generation prompt with a context of
+ * contextChars characters:
+ *
+ * - replaceLoop: the previous renderer, one String.replace per variable
+ * - rendererCompileEachCall: DefaultPromptTemplateRenderer on the raw template
+ * - compiledTemplate: the cached CompiledPromptTemplate the prompt builders use
+ *
+ * Run with the allocation profiler to compare bytes per render:
+ *
+ * java -jar knowgauge-service-benchmarks/target/benchmarks.jar PromptRenderBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptRenderBenchmark {
+
+	private static final String TEMPLATE_RESOURCE = "prompttemplates/mcq-default-multiple-correct-full.txt";
+
+	@Param({ "4000", "32000" })
+	private int contextChars;
+
+	private String template;
+	private CompiledPromptTemplate compiled;
+	private Map<String, Object> variables;
+	private DefaultPromptTemplateRenderer renderer;
+
+	@Setup
+	public void setUp() {
+		template = readResource(TEMPLATE_RESOURCE);
+		compiled = CompiledPromptTemplate.compile(template);
+		renderer = new DefaultPromptTemplateRenderer();
+
+		variables = new LinkedHashMap<>();
+		variables.put("difficulty", "MEDIUM");
+		variables.put("questionCount", 10);
+		variables.put("language", "EN");
+		variables.put("model", "gpt-4o-mini");
+		variables.put("outputSchema", readResource("prompttemplates/mcq-output-template.json"));
+		variables.put("context", context(contextChars));
+	}
+
+	@Benchmark
+	public String replaceLoop() {
+		return replaceLoop(template, variables);
+	}
+
+	@Benchmark
+	public String rendererCompileEachCall() {
+		return renderer.render(template, variables);
+	}
+
+	@Benchmark
+	public String compiledTemplate() {
+		return renderer.render(compiled, variables);
+	}
+
+	// Renderer as it was before templates were compiled
+	private static String replaceLoop(String template, Map<String, Object> variables) {
+		String result = template;
+		for (Map.Entry<String, Object> entry : variables.entrySet()) {
+			String key = entry.getKey();
+			if (key == null || key.isBlank()) {
+				continue;
+			}
+			Object value = entry.getValue();
+			result = result.replace("{{" + key + "}}", value == null ? "" : String.valueOf(value));
+		}
+		return result;
+	}
+
+	private static String context(int chars) {
+		String sentence = "The JVM reclaims unreachable objects during garbage collection; generational collectors "
+				+ "promote long-lived objects to the old generation. ";
+		StringBuilder sb = new StringBuilder(chars + sentence.length());
+		while (sb.length() < chars) {
+			sb.append(sentence);
+		}
+		sb.setLength(chars);
+		return sb.toString();
+	}
+
+	private static String readResource(String path) {
+		try (InputStream in = PromptRenderBenchmark.class.getClassLoader().getResourceAsStream(path)) {
+			if (in == null) {
+				throw new IllegalStateException("Resource not found: " + path);
+			}
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
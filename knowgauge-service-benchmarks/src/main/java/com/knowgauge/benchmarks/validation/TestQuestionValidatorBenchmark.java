@@ -0,0 +1,103 @@
+package com.knowgauge.benchmarks.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.knowgauge.core.model.ChunkCandidate;
+import com.knowgauge.core.model.Test;
+import com.knowgauge.core.model.TestQuestion;
+import com.knowgauge.core.model.enums.AnswerCardinality;
+import com.knowgauge.core.model.enums.AnswerOption;
+import com.knowgauge.core.service.testgeneration.validation.TestQuestionValidator;
+
+/**
+ * Validation throughput for a batch of 1000 questions that all pass, so no
+ * rejection is logged. Every question carries a numbering prefix and extra
+ * whitespace so normalization has work to do, and cites one of 50 candidate
+ * chunks.
+ *
+ * Validation mutates the questions, so every invocation validates fresh
+ * copies; freshQuestions measures that copy alone and is the baseline to
+ * subtract. Run with the allocation profiler to compare bytes per batch:
+ *
+ * java -jar knowgauge-service-benchmarks/target/benchmarks.jar TestQuestionValidatorBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestQuestionValidatorBenchmark {
+
+	private static final int QUESTION_COUNT = 1000;
+	private static final int CHUNK_COUNT = 50;
+
+	private final TestQuestionValidator validator = new TestQuestionValidator();
+
+	private Test test;
+	private List<ChunkCandidate> candidates;
+	private String[][] fields;
+
+	@Setup
+	public void setUp() {
+		test = Test.builder().questionCount(QUESTION_COUNT).answerCardinality(AnswerCardinality.SINGLE_CORRECT)
+				.build();
+		test.setId(1L);
+
+		candidates = new ArrayList<>(CHUNK_COUNT);
+		for (long chunkId = 1; chunkId <= CHUNK_COUNT; chunkId++) {
+			candidates.add(new ChunkCandidate(1L, chunkId, "checksum-" + chunkId));
+		}
+
+		fields = new String[QUESTION_COUNT][];
+		for (int i = 0; i < QUESTION_COUNT; i++) {
+			fields[i] = new String[] {
+					"Q" + (i + 1) + ":  What happens to  unreachable object graph " + i + " during a collection?",
+					"Its memory is reclaimed by the collector", " It is written to disk before the next cycle ",
+					"It is promoted to the permanent generation", "It is kept until the thread that created it exits",
+					"Unreachable objects are garbage and their memory is reclaimed." };
+		}
+	}
+
+	@Benchmark
+	public List<TestQuestion> freshQuestions() {
+		return freshQuestions(fields);
+	}
+
+	@Benchmark
+	public List<TestQuestion> preLlm() {
+		return validator.validateAndNormalize(freshQuestions(fields), test, candidates, 0,
+				TestQuestionValidator.preLlmStrategies());
+	}
+
+	@Benchmark
+	public List<TestQuestion> postLlm() {
+		return validator.validateAndNormalize(freshQuestions(fields), test, candidates, 0,
+				TestQuestionValidator.postLlmStrategies());
+	}
+
+	private static List<TestQuestion> freshQuestions(String[][] fields) {
+		List<TestQuestion> questions = new ArrayList<>(fields.length);
+		for (int i = 0; i < fields.length; i++) {
+			String[] f = fields[i];
+			questions.add(TestQuestion.builder().testId(1L).questionText(f[0]).optionA(f[1]).optionB(f[2])
+					.optionC(f[3]).optionD(f[4]).correctOptions(new ArrayList<>(List.of(AnswerOption.A)))
+					.explanation(f[5]).sourceChunkIdsJson(new ArrayList<>(List.of((long) (i % CHUNK_COUNT + 1))))
+					.build());
+		}
+		return questions;
+	}
+}
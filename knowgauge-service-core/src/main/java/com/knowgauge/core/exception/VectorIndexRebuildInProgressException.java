@@ -0,0 +1,12 @@
+package com.knowgauge.core.exception;
+
+public class VectorIndexRebuildInProgressException extends BaseException {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public VectorIndexRebuildInProgressException() {
+		super("Vector index rebuild already in progress");
+	}
+}
@@ -0,0 +1,9 @@
+package com.knowgauge.core.model;
+
+/**
+ * Retrieved chunk without its vector: enough to load the chunk text, balance
+ * per document and dedupe by content. Retrieval never needs the 1536 floats
+ * once the vector store has done the ranking or sampling.
+ */
+public record ChunkCandidate(Long documentId, Long chunkId, String chunkChecksum) {
+}
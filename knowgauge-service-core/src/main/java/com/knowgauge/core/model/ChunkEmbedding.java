@@ -25,6 +25,8 @@ public class ChunkEmbedding extends AuditableObject {
 
 	private Long chunkId;
 
+	private Integer chunkOrdinal;
+
 	private float[] embedding;
 
 	private String embeddingModel;
@@ -0,0 +1,40 @@
+package com.knowgauge.core.model;
+
+import java.time.Instant;
+
+import com.knowgauge.core.model.enums.IngestionJobStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class IngestionJob extends AuditableObject {
+
+	private Long tenantId;
+
+	private Long documentId;
+
+	private IngestionJobStatus status;
+
+	private IngestionStage stage;
+
+	private Integer processedItems;
+
+	private Integer totalItems;
+
+	private Integer attempts;
+
+	private Instant startedAt;
+
+	private Instant finishedAt;
+
+	private String errorMessage;
+}
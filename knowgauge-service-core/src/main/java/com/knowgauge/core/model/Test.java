@@ -58,6 +58,12 @@ public class Test extends AuditableObject {
 
 	private TestCoverageMode coverageMode;
 
+	/**
+	 * What the test should focus on. Required for FOCUSED coverage: embedded and
+	 * used as the similarity query against the chunk embeddings.
+	 */
+	private String focusQuery;
+
 	private Integer questionCount;
 
 	private Integer minMultipleCorrectQuestionsCount;
@@ -0,0 +1,18 @@
+package com.knowgauge.core.model;
+
+import com.knowgauge.core.model.enums.TestStatus;
+
+/**
+ * Snapshot of a test generation run, published after every merged batch.
+ *
+ * questionsGenerated counts what the LLM returned, questionsValidated what was
+ * kept after verification, validation and cross-batch dedupe (never more than
+ * questionCount). errorMessage is only set once the run FAILED.
+ */
+public record TestGenerationProgress(Long testId, TestStatus status, int batchesCompleted, int questionsGenerated,
+		int questionsValidated, int questionCount, String errorMessage) {
+
+	public boolean isFinished() {
+		return status == TestStatus.GENERATED || status == TestStatus.FAILED;
+	}
+}
@@ -0,0 +1,32 @@
+package com.knowgauge.core.model;
+
+import java.time.Instant;
+
+import com.knowgauge.core.model.enums.VectorIndexRebuildStatus;
+
+/**
+ * Background vector index rebuild. report is only set once the rebuild
+ * SUCCEEDED, errorMessage once it FAILED.
+ */
+public record VectorIndexRebuild(Long id, VectorIndexRebuildStatus status, int sampleQueries, int k,
+		Instant startedAt, Instant finishedAt, VectorIndexReport report, String errorMessage) {
+
+	public static VectorIndexRebuild started(Long id, int sampleQueries, int k) {
+		return new VectorIndexRebuild(id, VectorIndexRebuildStatus.RUNNING, sampleQueries, k, Instant.now(), null, null,
+				null);
+	}
+
+	public VectorIndexRebuild succeeded(VectorIndexReport report) {
+		return new VectorIndexRebuild(id, VectorIndexRebuildStatus.SUCCEEDED, sampleQueries, k, startedAt,
+				Instant.now(), report, null);
+	}
+
+	public VectorIndexRebuild failed(String errorMessage) {
+		return new VectorIndexRebuild(id, VectorIndexRebuildStatus.FAILED, sampleQueries, k, startedAt, Instant.now(),
+				null, errorMessage);
+	}
+
+	public boolean isRunning() {
+		return status == VectorIndexRebuildStatus.RUNNING;
+	}
+}
@@ -0,0 +1,14 @@
+package com.knowgauge.core.model;
+
+/**
+ * Outcome of a vector index rebuild.
+ *
+ * Recall is the average share of the exact top-k neighbours (sequential scan)
+ * that the rebuilt index returns for the same query, measured on embeddings
+ * sampled from the store itself. 1.0 means the index lost nothing; -1 when no
+ * sample queries were run.
+ */
+public record VectorIndexReport(String indexName, String indexMethod, String indexDefinition, long rowCount,
+		long buildMillis, int sampleQueries, int k, double recall, long avgIndexQueryMicros,
+		long avgExactQueryMicros) {
+}
@@ -0,0 +1,8 @@
+package com.knowgauge.core.model.enums;
+
+public enum IngestionJobStatus {
+	QUEUED,
+	RUNNING,
+	SUCCEEDED,
+	FAILED
+}
@@ -0,0 +1,12 @@
+package com.knowgauge.core.model.enums;
+
+public enum IngestionStage {
+	QUEUED,
+	DOWNLOADING,
+	PARSING,
+	CHUNKING,
+	PERSISTING_CHUNKS,
+	EMBEDDING,
+	PERSISTING_EMBEDDINGS,
+	COMPLETED
+}
@@ -2,6 +2,7 @@ package com.knowgauge.core.model.enums;
 
 public enum TestStatus {
     CREATED,
+    GENERATING,
     GENERATED,
     FAILED
 }
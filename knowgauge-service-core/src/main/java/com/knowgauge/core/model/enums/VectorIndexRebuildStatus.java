@@ -0,0 +1,7 @@
+package com.knowgauge.core.model.enums;
+
+public enum VectorIndexRebuildStatus {
+	RUNNING,
+	SUCCEEDED,
+	FAILED
+}
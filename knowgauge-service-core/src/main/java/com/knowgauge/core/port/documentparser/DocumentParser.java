@@ -2,9 +2,21 @@ package com.knowgauge.core.port.documentparser;
 
 import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DocumentParser {
 	  List<String> extractPages(InputStream in) throws Exception;
+
+	  /**
+	   * Extracts pages one by one, handing each page to the consumer as soon as it
+	   * is available instead of collecting all pages first. Returns the number of
+	   * pages. Parsers that can stream should override the default.
+	   */
+	  default int streamPages(InputStream in, Consumer<String> pageConsumer) throws Exception {
+		  List<String> pages = extractPages(in);
+		  pages.forEach(pageConsumer);
+		  return pages.size();
+	  }
 	  
 	  String contentType();
 }
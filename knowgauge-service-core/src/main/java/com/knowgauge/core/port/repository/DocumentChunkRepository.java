@@ -2,6 +2,7 @@ package com.knowgauge.core.port.repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -25,6 +26,21 @@ public interface DocumentChunkRepository {
 
 	List<DocumentChunk> findByTenantIdAndIdIn(Long tenantId, Collection<Long> ids);
 
+	/**
+	 * Lightweight listing used to diff re-ingested chunks: id, ordinal, checksum
+	 * and page/char offsets only, chunkText is not loaded.
+	 */
+	List<DocumentChunk> findSummariesByTenantIdAndDocumentIdAndDocumentVersion(Long tenantId, Long documentId,
+			Integer documentVersion);
+
+	/**
+	 * Sets the ordinal of the given chunks (chunk id to ordinal), row by row in
+	 * map order.
+	 */
+	void updateOrdinals(Long tenantId, Map<Long, Integer> ordinalsById);
+
+	long deleteByTenantIdAndIdIn(Long tenantId, Collection<Long> ids);
+
 	void deleteByTenantIdAndDocumentIdAndDocumentVersion(Long tenantId, Long documentId, Integer documentVersion);
 
 	Page<DocumentChunk> findByTenantIdAndTopicId(Long tenantId, Long topicId, Pageable pageable);
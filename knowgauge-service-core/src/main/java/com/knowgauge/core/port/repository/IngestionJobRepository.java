@@ -0,0 +1,54 @@
+package com.knowgauge.core.port.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import com.knowgauge.core.model.IngestionJob;
+import com.knowgauge.core.model.enums.IngestionJobStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+
+public interface IngestionJobRepository {
+	IngestionJob save(IngestionJob job);
+
+	Optional<IngestionJob> findByTenantIdAndId(Long tenantId, Long jobId);
+
+	Optional<IngestionJob> findFirstByDocumentIdAndStatusIn(Long documentId, Collection<IngestionJobStatus> statuses);
+
+	/**
+	 * Atomically claims the oldest QUEUED job (row locked with SKIP LOCKED so
+	 * several instances can poll the same table) and moves it to RUNNING.
+	 */
+	Optional<IngestionJob> claimNextQueued(Instant startedAt);
+
+	int updateProgress(Long jobId, IngestionStage stage, Integer processedItems, Integer totalItems);
+
+	/**
+	 * Only applies to a RUNNING job; returns 0 when it is not RUNNING anymore
+	 * (e.g. failed by the stale sweep).
+	 */
+	int markSucceeded(Long jobId, Instant finishedAt);
+
+	/**
+	 * Only applies to a RUNNING job; returns 0 when it is not RUNNING anymore.
+	 */
+	int markFailed(Long jobId, String errorMessage, Instant finishedAt);
+
+	/**
+	 * Marks the job FAILED only if it is still RUNNING without a heartbeat since
+	 * {@code staleBefore}.
+	 */
+	int markFailedIfStale(Long jobId, String errorMessage, Instant finishedAt, Instant staleBefore);
+
+	/**
+	 * Sets updatedAt of a RUNNING job; returns 0 when it is not RUNNING anymore.
+	 */
+	int heartbeat(Long jobId);
+
+	/**
+	 * RUNNING jobs without a heartbeat (progress or timer) since {@code staleBefore} (e.g.
+	 * claimed by an instance that crashed).
+	 */
+	List<IngestionJob> findStaleRunning(Instant staleBefore);
+}
@@ -0,0 +1,28 @@
+package com.knowgauge.core.port.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persistent store of raw LLM responses keyed by a hash of the request.
+ */
+public interface LlmResponseCacheRepository {
+
+	/**
+	 * Response stored under the key, unless it expired before {@code now}.
+	 */
+	Optional<String> findResponse(String cacheKey, Instant now);
+
+	/**
+	 * Inserts or replaces the response stored under the key.
+	 */
+	void saveResponse(String cacheKey, String model, String response, Instant expiresAt);
+
+	void deleteResponse(String cacheKey);
+
+	/**
+	 * Deletes expired entries, then the oldest ones beyond {@code maxEntries}.
+	 * Returns the number of deleted entries.
+	 */
+	int evict(Instant now, int maxEntries);
+}
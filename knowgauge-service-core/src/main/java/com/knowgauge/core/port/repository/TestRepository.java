@@ -1,8 +1,10 @@
 package com.knowgauge.core.port.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.enums.TestStatus;
@@ -20,7 +22,33 @@ public interface TestRepository {
 
 	void setUsedChunks(Long tenantId, Long testId, List<Long> chunkIds);
 
+	/**
+	 * The subset of the given chunk ids used by any test of the tenant since the
+	 * given instant.
+	 */
+	Set<Long> findChunkIdsUsedSince(Long tenantId, Collection<Long> chunkIds, Instant usedSince);
+
+	int markGenerating(Long tenantId, Long testId, Instant startedAt);
+
 	int markGenerated(Long tenantId, Long testId, Instant finishedAt);
 
 	int markFailed(Long tenantId, Long testId, String errorMessage, Instant failedAt);
+
+	/**
+	 * Heartbeat: sets updatedAt of the given tests that are still CREATED or
+	 * GENERATING.
+	 */
+	int touchActive(Collection<Long> testIds, Instant now);
+
+	/**
+	 * CREATED/GENERATING tests without a heartbeat since {@code staleBefore}
+	 * (e.g. queued or running on an instance that was restarted).
+	 */
+	List<Test> findStaleActive(Instant staleBefore);
+
+	/**
+	 * Marks the test FAILED only if it is still CREATED/GENERATING without a
+	 * heartbeat since {@code staleBefore}.
+	 */
+	int markFailedIfStale(Long tenantId, Long testId, String errorMessage, Instant failedAt, Instant staleBefore);
 }
\ No newline at end of file
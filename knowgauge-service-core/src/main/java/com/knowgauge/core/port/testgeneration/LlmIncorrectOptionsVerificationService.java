@@ -21,4 +21,13 @@ public interface LlmIncorrectOptionsVerificationService {
 	 */
 	int verifyAndReplaceUnsafeOptions(String prompt, Test test, List<TestQuestion> questions);
 
+	/**
+	 * Tests with the same key are verified with the same model configuration, so
+	 * their questions may be sent in one verification call. The default only
+	 * groups questions of the same test.
+	 */
+	default String coalescingKey(Test test) {
+		return "test:" + test.getId();
+	}
+
 }
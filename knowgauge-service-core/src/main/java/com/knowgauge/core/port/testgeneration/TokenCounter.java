@@ -0,0 +1,10 @@
+package com.knowgauge.core.port.testgeneration;
+
+/**
+ * Counts tokens locally, with the tokenizer of the given generation model, so
+ * prompts can be sized before they are sent.
+ */
+public interface TokenCounter {
+
+	int countTokens(String text, String model);
+}
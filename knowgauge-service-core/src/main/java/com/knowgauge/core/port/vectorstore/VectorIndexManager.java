@@ -0,0 +1,29 @@
+package com.knowgauge.core.port.vectorstore;
+
+import com.knowgauge.core.model.VectorIndexReport;
+
+/**
+ * Maintenance of the approximate nearest neighbour index behind
+ * {@link VectorStore#findNearest}.
+ */
+public interface VectorIndexManager {
+
+	/**
+	 * Rebuilds the embedding index with the configured method and parameters
+	 * without blocking writes, then measures recall against exact search. Takes
+	 * minutes to hours on large tables, callers run it in the background.
+	 *
+	 * @param sampleQueries number of stored embeddings used as recall queries (0
+	 *                      skips the measurement)
+	 * @param k             neighbours compared per query
+	 * @throws com.knowgauge.core.exception.VectorIndexRebuildInProgressException
+	 *                      if another rebuild (on any instance) holds the
+	 *                      rebuild lock
+	 */
+	VectorIndexReport rebuildEmbeddingIndex(int sampleQueries, int k);
+
+	/**
+	 * Whether a rebuild currently holds the rebuild lock, on any instance.
+	 */
+	boolean isRebuildInProgress();
+}
@@ -2,8 +2,10 @@ package com.knowgauge.core.port.vectorstore;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.ChunkEmbedding;
 import com.knowgauge.core.model.DocChunkCount;
 
@@ -24,8 +26,35 @@ public interface VectorStore {
 
 	long deleteByTenantIdAndChunkId(Long tenantId, Long chunkId);
 
+	long deleteByTenantIdAndChunkIdIn(Long tenantId, Collection<Long> chunkIds);
+
+	List<Long> findChunkIdsByTenantIdAndDocumentIdAndDocumentVersionAndEmbeddingModel(Long tenantId,
+			Long documentId, Integer documentVersion, String embeddingModel);
+
+	/**
+	 * Content-addressed lookup: returns one stored vector per known chunk checksum
+	 * (chunks with identical text share the same vector for a given model).
+	 */
+	Map<String, float[]> findEmbeddingsByChunkChecksums(Long tenantId, Collection<String> chunkChecksums,
+			String embeddingModel);
+
 	List<DocChunkCount> loadDocChunkCounts(Long tenantId, String embeddingModel, Collection<Long> documentIds);
 
-	public List<ChunkEmbedding> findCandidates(Long tenantId, Collection<Long> documentIds, int maxChunksPerDoc,
-			String embeddingModel, boolean avoidRepeats);
+	/**
+	 * Nearest neighbours of the query vector by cosine distance, closest first,
+	 * within the given documents and embedding model. Vectors are not returned.
+	 */
+	List<ChunkCandidate> findNearest(Long tenantId, Collection<Long> documentIds, String embeddingModel,
+			float[] queryEmbedding, int limit);
+
+	/**
+	 * Up to {@code maxChunksPerDoc} random chunks per document, as projections
+	 * (no vector is read or transferred).
+	 *
+	 * @param docChunkCounts per-document counts as returned by
+	 *                       {@link #loadDocChunkCounts}, lets the store sample
+	 *                       without scanning every embedding in scope
+	 */
+	public List<ChunkCandidate> findCandidates(Long tenantId, List<DocChunkCount> docChunkCounts, int maxChunksPerDoc,
+			String embeddingModel);
 }
@@ -6,4 +6,10 @@ import com.knowgauge.core.model.DocumentChunk;
 
 public interface ChunkingService {
 	List<DocumentChunk> chunkDocument(Long tenantId, Long topicId, Long documentId, Integer version, List<String> pages, ChunkingPolicy policy);
+
+	/**
+	 * Opens an incremental chunker for streaming ingestion. Produces the same
+	 * chunks (ordinals, offsets, cross-page overlap) as {@link #chunkDocument}.
+	 */
+	PageChunker openChunker(Long tenantId, Long topicId, Long documentId, Integer version, ChunkingPolicy policy);
 }
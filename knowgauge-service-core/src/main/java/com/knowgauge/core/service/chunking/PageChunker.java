@@ -0,0 +1,136 @@
+package com.knowgauge.core.service.chunking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.knowgauge.core.model.DocumentChunk;
+import com.knowgauge.core.port.documentsplitter.DocumentSplitter;
+import com.knowgauge.core.util.HashingHelper;
+
+/**
+ * Incremental, page-by-page chunker. Only one page is held back at a time: the
+ * chunks of a page are emitted once the next page is known, because the last
+ * chunk of each page is extended with a prefix of the next page (cross-page
+ * overlap). Not thread-safe; one instance per document.
+ */
+public class PageChunker {
+
+	private final DocumentSplitter documentSplitter;
+	private final ChunkingPolicy policy;
+	private final Long tenantId;
+	private final Long topicId;
+	private final Long documentId;
+	private final Integer version;
+
+	private String pendingPageText;
+	private int pendingPageNumber;
+	private int globalOrdinal = 0;
+
+	PageChunker(DocumentSplitter documentSplitter, ChunkingPolicy policy, Long tenantId, Long topicId,
+			Long documentId, Integer version) {
+		this.documentSplitter = documentSplitter;
+		this.policy = policy;
+		this.tenantId = tenantId;
+		this.topicId = topicId;
+		this.documentId = documentId;
+		this.version = version;
+	}
+
+	/**
+	 * Accepts the next page and returns the chunks of the previous page (empty for
+	 * the first page).
+	 */
+	public List<DocumentChunk> acceptPage(String pageText) {
+		String normalized = normalizePage(pageText);
+		List<DocumentChunk> chunks = pendingPageText != null ? chunkPage(pendingPageText, pendingPageNumber, normalized)
+				: List.of();
+
+		pendingPageText = normalized;
+		pendingPageNumber++;
+		return chunks;
+	}
+
+	/**
+	 * Returns the chunks of the last accepted page.
+	 */
+	public List<DocumentChunk> finish() {
+		if (pendingPageText == null) {
+			return List.of();
+		}
+		List<DocumentChunk> chunks = chunkPage(pendingPageText, pendingPageNumber, null);
+		pendingPageText = null;
+		return chunks;
+	}
+
+	public int pageCount() {
+		return pendingPageNumber;
+	}
+
+	private String normalizePage(String pageText) {
+		if (policy.isTrimWhitespace() && pageText != null) {
+			pageText = pageText.trim();
+		}
+		return pageText == null ? "" : pageText;
+	}
+
+	private List<DocumentChunk> chunkPage(String pageText, int pageNumber, String nextPageText) {
+		List<String> segments = documentSplitter.split(pageText, policy);
+		List<DocumentChunk> chunks = new ArrayList<>(segments.size());
+
+		int cursor = 0;
+
+		for (int segIndex = 0; segIndex < segments.size(); segIndex++) {
+
+			String chunkText = segments.get(segIndex);
+
+			if (policy.isTrimWhitespace() && chunkText != null) {
+				chunkText = chunkText.trim();
+			}
+			if (chunkText == null)
+				chunkText = "";
+
+			int start = pageText.indexOf(chunkText, cursor);
+			if (start == -1) {
+				start = cursor; // best-effort fallback if not found
+			}
+
+			int end = start + chunkText.length();
+
+			// By default chunk lives entirely within the same page
+			Integer startPage = policy.isIncludePageMetadata() ? pageNumber : null;
+			Integer endPage = policy.isIncludePageMetadata() ? pageNumber : null;
+			int endOffset = end; // offset within endPage (same page by default)
+
+			// Cross-page overlap: extend the LAST chunk of the current page
+			// by taking overlapSizeChars from the NEXT page prefix.
+			boolean isLastSegmentOnPage = (segIndex == segments.size() - 1);
+			int overlap = Math.max(0, policy.getOverlapSizeChars());
+
+			if (isLastSegmentOnPage && nextPageText != null && overlap > 0) {
+
+				int overlapLen = Math.min(overlap, nextPageText.length());
+				if (overlapLen > 0) {
+					String nextPrefix = nextPageText.substring(0, overlapLen);
+
+					// Append next-page prefix to last chunk
+					chunkText = chunkText + nextPrefix;
+
+					// Metadata now spans into next page
+					if (policy.isIncludePageMetadata()) {
+						endPage = pageNumber + 1;
+					}
+					endOffset = overlapLen; // offset within NEXT page
+				}
+			}
+
+			DocumentChunk chunk = new DocumentChunk(tenantId, topicId, documentId, version, null, ++globalOrdinal,
+					chunkText, startPage, endPage, start, endOffset, HashingHelper.sha256Hex(chunkText));
+
+			chunks.add(chunk);
+
+			cursor = end; // keep cursor within current page
+		}
+
+		return chunks;
+	}
+}
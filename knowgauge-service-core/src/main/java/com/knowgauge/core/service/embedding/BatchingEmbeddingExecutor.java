@@ -0,0 +1,181 @@
+package com.knowgauge.core.service.embedding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.port.embedding.EmbeddingService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits texts into token-aware batches and embeds them in parallel.
+ *
+ * Concurrency (number of in-flight provider requests) and request rate are
+ * shared by all callers, so several ingestions running at once stay within the
+ * provider quota. Results are returned in the order of the input texts.
+ */
+@Component
+@Slf4j
+public class BatchingEmbeddingExecutor {
+
+	// Rough OpenAI tokenizer average for English text; good enough for batch sizing
+	private static final int CHARS_PER_TOKEN = 4;
+
+	private final EmbeddingService embeddingService;
+	private final EmbeddingBatchingProperties properties;
+
+	private final ExecutorService batchWorkers = Executors.newVirtualThreadPerTaskExecutor();
+	private final Semaphore inFlightBatches;
+	private final long minIntervalNanos;
+	private long nextRequestAtNanos = System.nanoTime();
+
+	public BatchingEmbeddingExecutor(EmbeddingService embeddingService, EmbeddingBatchingProperties properties) {
+		this.embeddingService = embeddingService;
+		this.properties = properties;
+		this.inFlightBatches = new Semaphore(Math.max(1, properties.getMaxConcurrentBatches()), true);
+		this.minIntervalNanos = properties.getMaxRequestsPerSecond() > 0
+				? (long) (TimeUnit.SECONDS.toNanos(1) / properties.getMaxRequestsPerSecond())
+				: 0L;
+	}
+
+	public String modelName() {
+		return embeddingService.modelName();
+	}
+
+	public List<float[]> embedAll(List<String> texts) {
+		if (texts == null || texts.isEmpty()) {
+			return List.of();
+		}
+
+		List<Batch> batches = planBatches(texts);
+		float[][] vectors = new float[texts.size()][];
+
+		if (batches.size() == 1) {
+			embedBatch(texts, batches.get(0), vectors);
+			return Arrays.asList(vectors);
+		}
+
+		List<Future<?>> futures = new ArrayList<>(batches.size());
+		for (Batch batch : batches) {
+			futures.add(batchWorkers.submit(() -> embedBatch(texts, batch, vectors)));
+		}
+
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			futures.forEach(f -> f.cancel(true));
+			Throwable cause = e.getCause();
+			throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause.getMessage(), cause);
+		} catch (InterruptedException e) {
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for embedding batches", e);
+		}
+
+		log.info("   Embedded {} texts in {} batches", texts.size(), batches.size());
+		return Arrays.asList(vectors);
+	}
+
+	private void embedBatch(List<String> texts, Batch batch, float[][] vectors) {
+		try {
+			inFlightBatches.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an embedding slot", e);
+		}
+
+		try {
+			awaitRateLimit();
+			List<float[]> batchVectors = embeddingService.embed(texts.subList(batch.from(), batch.to()));
+			if (batchVectors.size() != batch.size()) {
+				throw new IllegalStateException("Embedding result size mismatch. texts=" + batch.size()
+						+ ", vectors=" + batchVectors.size());
+			}
+			for (int i = 0; i < batchVectors.size(); i++) {
+				vectors[batch.from() + i] = batchVectors.get(i);
+			}
+		} finally {
+			inFlightBatches.release();
+		}
+	}
+
+	/**
+	 * Greedy split honouring both the item cap and the (estimated) token cap. A
+	 * single text above the token cap still goes out as its own batch.
+	 */
+	List<Batch> planBatches(List<String> texts) {
+		int maxItems = Math.max(1, properties.getMaxBatchSize());
+		int maxTokens = Math.max(1, properties.getMaxBatchTokens());
+
+		List<Batch> batches = new ArrayList<>();
+		int from = 0;
+		int tokens = 0;
+
+		for (int i = 0; i < texts.size(); i++) {
+			int textTokens = estimateTokens(texts.get(i));
+			boolean full = (i - from) >= maxItems || (i > from && tokens + textTokens > maxTokens);
+			if (full) {
+				batches.add(new Batch(from, i));
+				from = i;
+				tokens = 0;
+			}
+			tokens += textTokens;
+		}
+		batches.add(new Batch(from, texts.size()));
+
+		return batches;
+	}
+
+	static int estimateTokens(String text) {
+		return text == null ? 1 : Math.max(1, (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN);
+	}
+
+	/**
+	 * Spaces provider requests at least {@code 1 / maxRequestsPerSecond} apart.
+	 */
+	private void awaitRateLimit() {
+		if (minIntervalNanos <= 0) {
+			return;
+		}
+
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			long slot = Math.max(now, nextRequestAtNanos);
+			nextRequestAtNanos = slot + minIntervalNanos;
+			waitNanos = slot - now;
+		}
+
+		if (waitNanos > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(waitNanos);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for embedding rate limit", e);
+			}
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		batchWorkers.shutdownNow();
+	}
+
+	record Batch(int from, int to) {
+		int size() {
+			return to - from;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package com.knowgauge.core.service.embedding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.DocumentChunk;
+import com.knowgauge.core.port.vectorstore.VectorStore;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed embedding cache keyed by (chunk checksum, embedding model).
+ *
+ * Lookup order: in-process LRU, then vectors already stored in the vector store
+ * for the same tenant, and only then the embedding provider. Chunks with
+ * identical text inside one request are embedded once.
+ */
+@Component
+@Slf4j
+public class ChunkEmbeddingCache {
+
+	private final BatchingEmbeddingExecutor batchingEmbeddingExecutor;
+	private final VectorStore vectorStore;
+	private final EmbeddingCacheProperties properties;
+
+	private final Map<String, float[]> lru;
+
+	public ChunkEmbeddingCache(BatchingEmbeddingExecutor batchingEmbeddingExecutor, VectorStore vectorStore,
+			EmbeddingCacheProperties properties) {
+		this.batchingEmbeddingExecutor = batchingEmbeddingExecutor;
+		this.vectorStore = vectorStore;
+		this.properties = properties;
+
+		int maxEntries = Math.max(0, properties.getMaxEntries());
+		this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, float[]> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns one vector per chunk, in chunk order.
+	 */
+	public List<float[]> embedChunks(Long tenantId, List<DocumentChunk> chunks) {
+		if (chunks == null || chunks.isEmpty()) {
+			return List.of();
+		}
+
+		if (!properties.isEnabled()) {
+			return batchingEmbeddingExecutor.embedAll(chunks.stream().map(DocumentChunk::getChunkText).toList());
+		}
+
+		String model = batchingEmbeddingExecutor.modelName();
+		float[][] vectors = new float[chunks.size()][];
+
+		// 1) In-process LRU
+		Set<String> missing = new HashSet<>();
+		for (int i = 0; i < chunks.size(); i++) {
+			String checksum = chunks.get(i).getChecksum();
+			vectors[i] = getCached(model, checksum);
+			if (vectors[i] == null) {
+				missing.add(checksum);
+			}
+		}
+		int lruHits = chunks.size() - countMissing(vectors);
+
+		// 2) Vectors already stored for the same content
+		Map<String, float[]> resolved = missing.isEmpty() ? Map.of()
+				: vectorStore.findEmbeddingsByChunkChecksums(tenantId, missing, model);
+		int storeHits = 0;
+		for (int i = 0; i < chunks.size(); i++) {
+			if (vectors[i] == null) {
+				vectors[i] = resolved.get(chunks.get(i).getChecksum());
+				if (vectors[i] != null) {
+					storeHits++;
+				}
+			}
+		}
+		resolved.forEach((checksum, vector) -> putCached(model, checksum, vector));
+
+		// 3) Provider, once per distinct checksum
+		Map<String, String> textsToEmbed = new LinkedHashMap<>();
+		for (int i = 0; i < chunks.size(); i++) {
+			if (vectors[i] == null) {
+				textsToEmbed.putIfAbsent(chunks.get(i).getChecksum(), chunks.get(i).getChunkText());
+			}
+		}
+
+		if (!textsToEmbed.isEmpty()) {
+			List<String> checksums = new ArrayList<>(textsToEmbed.keySet());
+			List<float[]> embedded = batchingEmbeddingExecutor.embedAll(new ArrayList<>(textsToEmbed.values()));
+
+			Map<String, float[]> byChecksum = new LinkedHashMap<>();
+			for (int i = 0; i < checksums.size(); i++) {
+				byChecksum.put(checksums.get(i), embedded.get(i));
+				putCached(model, checksums.get(i), embedded.get(i));
+			}
+			for (int i = 0; i < chunks.size(); i++) {
+				if (vectors[i] == null) {
+					vectors[i] = byChecksum.get(chunks.get(i).getChecksum());
+				}
+			}
+		}
+
+		log.info("   Embedding cache - {} chunks: {} LRU hits, {} vector store hits, {} embedded by provider",
+				chunks.size(), lruHits, storeHits, textsToEmbed.size());
+
+		return Arrays.asList(vectors);
+	}
+
+	private static int countMissing(float[][] vectors) {
+		int missing = 0;
+		for (float[] v : vectors) {
+			if (v == null) {
+				missing++;
+			}
+		}
+		return missing;
+	}
+
+	private float[] getCached(String model, String checksum) {
+		synchronized (lru) {
+			return lru.get(key(model, checksum));
+		}
+	}
+
+	private void putCached(String model, String checksum, float[] vector) {
+		synchronized (lru) {
+			lru.put(key(model, checksum), vector);
+		}
+	}
+
+	private static String key(String model, String checksum) {
+		return model + ':' + checksum;
+	}
+}
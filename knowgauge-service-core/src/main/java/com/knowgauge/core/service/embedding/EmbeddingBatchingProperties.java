@@ -0,0 +1,46 @@
+package com.knowgauge.core.service.embedding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.embedding.batching")
+public class EmbeddingBatchingProperties {
+
+	private int maxBatchSize = 128;
+	private int maxBatchTokens = 100_000;
+	private int maxConcurrentBatches = 4;
+	private double maxRequestsPerSecond = 0;
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public int getMaxBatchTokens() {
+		return maxBatchTokens;
+	}
+
+	public void setMaxBatchTokens(int maxBatchTokens) {
+		this.maxBatchTokens = maxBatchTokens;
+	}
+
+	public int getMaxConcurrentBatches() {
+		return maxConcurrentBatches;
+	}
+
+	public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+		this.maxConcurrentBatches = maxConcurrentBatches;
+	}
+
+	public double getMaxRequestsPerSecond() {
+		return maxRequestsPerSecond;
+	}
+
+	public void setMaxRequestsPerSecond(double maxRequestsPerSecond) {
+		this.maxRequestsPerSecond = maxRequestsPerSecond;
+	}
+}
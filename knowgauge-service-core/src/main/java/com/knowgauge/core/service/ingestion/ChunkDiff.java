@@ -0,0 +1,215 @@
+package com.knowgauge.core.service.ingestion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.knowgauge.core.model.DocumentChunk;
+
+/**
+ * Diff of freshly chunked content against the chunks already stored for the
+ * same document version, keyed by checksum (then ordinal).
+ *
+ * A stored row keeps its id only while its text is unchanged, because tests
+ * reference chunk ids (test_used_chunks, question source chunk ids) for the
+ * text the questions were generated from.
+ *
+ * <ul>
+ * <li>stored row with the same checksum at the same ordinal and offsets:
+ * unchanged, row and embedding are kept</li>
+ * <li>stored row with the same checksum at the same ordinal, other offsets:
+ * row updated in place, embedding kept</li>
+ * <li>stored row with the same checksum at another ordinal (text moved, e.g.
+ * after an inserted page): row moved to the new ordinal (id kept), embedding
+ * rewritten from the stored vector, not re-embedded</li>
+ * <li>no stored row with that checksum: new row inserted (new id) and
+ * embedded</li>
+ * <li>stored row not matched by any new chunk (removed or changed text): row
+ * and embedding deleted; usages of the row cascade</li>
+ * </ul>
+ *
+ * Rows at an ordinal a new chunk is about to take are first parked at a
+ * negative ordinal, so inserts and moves never collide with the unique
+ * ordinal constraint; parked rows are either moved again by a later batch or
+ * deleted in the end.
+ *
+ * Chunks are fed in ordinal order, either all at once or batch by batch
+ * (streaming ingestion). Not thread-safe.
+ */
+final class ChunkDiff {
+
+	private final Map<Integer, DocumentChunk> storedByOrdinal;
+	// Stored rows by checksum, in ordinal order
+	private final Map<String, Deque<DocumentChunk>> storedByChecksum = new HashMap<>();
+	private final Set<Long> embeddedChunkIds;
+	private final Set<Long> matchedIds = new HashSet<>();
+
+	private int inserted;
+	private int updated;
+	private int unchanged;
+
+	/**
+	 * @param storedChunks     stored chunks of the document version, in ordinal
+	 *                         order (text not needed)
+	 * @param embeddedChunkIds chunk ids that already have an embedding for the
+	 *                         current model
+	 */
+	ChunkDiff(List<DocumentChunk> storedChunks, Collection<Long> embeddedChunkIds) {
+		this.storedByOrdinal = new HashMap<>(Math.max(16, storedChunks.size() * 2));
+		for (DocumentChunk stored : storedChunks) {
+			storedByOrdinal.put(stored.getOrdinal(), stored);
+			if (stored.getChecksum() != null) {
+				storedByChecksum.computeIfAbsent(stored.getChecksum(), k -> new ArrayDeque<>()).add(stored);
+			}
+		}
+		this.embeddedChunkIds = new HashSet<>(embeddedChunkIds);
+	}
+
+	/**
+	 * Classifies a batch of new chunks. Chunks matching a stored row get the
+	 * stored id assigned, so saving them updates the existing row.
+	 */
+	Batch diff(List<DocumentChunk> chunks) {
+		List<DocumentChunk> writes = new ArrayList<>();
+		List<DocumentChunk> toEmbed = new ArrayList<>();
+		List<Long> staleEmbeddingChunkIds = new ArrayList<>();
+		Map<Long, Integer> parkedOrdinals = new LinkedHashMap<>();
+
+		for (DocumentChunk chunk : chunks) {
+			DocumentChunk stored = match(chunk);
+
+			// Whatever still sits at the target ordinal has to make room first
+			DocumentChunk occupant = storedByOrdinal.get(chunk.getOrdinal());
+			if (occupant != null && occupant != stored && !matchedIds.contains(occupant.getId())) {
+				parkedOrdinals.put(occupant.getId(), parkedOrdinal(occupant));
+			}
+
+			if (stored == null) {
+				writes.add(chunk);
+				toEmbed.add(chunk);
+				inserted++;
+				continue;
+			}
+
+			matchedIds.add(stored.getId());
+			chunk.setId(stored.getId());
+			boolean embedded = embeddedChunkIds.contains(stored.getId());
+
+			if (!Objects.equals(stored.getOrdinal(), chunk.getOrdinal())) {
+				// Moved: park it too, another row may move into its old ordinal. The
+				// embedding is rewritten for the new ordinal; the embedding cache resolves
+				// the vector by checksum from the vector store.
+				parkedOrdinals.put(stored.getId(), parkedOrdinal(stored));
+				writes.add(chunk);
+				toEmbed.add(chunk);
+				if (embedded) {
+					staleEmbeddingChunkIds.add(stored.getId());
+				}
+				updated++;
+				continue;
+			}
+
+			if (!samePosition(stored, chunk)) {
+				writes.add(chunk);
+				updated++;
+			} else {
+				unchanged++;
+			}
+			// Same text: only embed if a previous (failed) run never got that far
+			if (!embedded) {
+				toEmbed.add(chunk);
+			}
+		}
+
+		return new Batch(parkedOrdinals, writes, toEmbed, staleEmbeddingChunkIds);
+	}
+
+	/**
+	 * Unmatched stored row with the chunk's checksum, preferring the one at the
+	 * chunk's ordinal; null if there is none.
+	 */
+	private DocumentChunk match(DocumentChunk chunk) {
+		if (chunk.getChecksum() == null) {
+			return null;
+		}
+
+		DocumentChunk sameOrdinal = storedByOrdinal.get(chunk.getOrdinal());
+		if (sameOrdinal != null && chunk.getChecksum().equals(sameOrdinal.getChecksum())
+				&& !matchedIds.contains(sameOrdinal.getId())) {
+			return sameOrdinal;
+		}
+
+		Deque<DocumentChunk> candidates = storedByChecksum.get(chunk.getChecksum());
+		while (candidates != null && !candidates.isEmpty()) {
+			DocumentChunk candidate = candidates.poll();
+			if (!matchedIds.contains(candidate.getId())) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Unique per stored row (stored ordinals are unique and non-negative).
+	 */
+	private static int parkedOrdinal(DocumentChunk stored) {
+		return -stored.getOrdinal() - 1;
+	}
+
+	/**
+	 * Stored chunks not matched by any diffed chunk (removed, or their text
+	 * changed). Only meaningful once all new chunks have been diffed.
+	 */
+	List<Long> removedChunkIds() {
+		return storedByOrdinal.values().stream().map(DocumentChunk::getId).filter(id -> !matchedIds.contains(id))
+				.toList();
+	}
+
+	/**
+	 * Embeddings of the document version whose chunk is no longer stored, e.g.
+	 * leftovers of an earlier run that failed between the two databases.
+	 */
+	List<Long> orphanEmbeddingChunkIds() {
+		Set<Long> storedIds = new HashSet<>();
+		storedByOrdinal.values().forEach(stored -> storedIds.add(stored.getId()));
+		return embeddedChunkIds.stream().filter(id -> !storedIds.contains(id)).toList();
+	}
+
+	int inserted() {
+		return inserted;
+	}
+
+	int updated() {
+		return updated;
+	}
+
+	int unchanged() {
+		return unchanged;
+	}
+
+	private static boolean samePosition(DocumentChunk a, DocumentChunk b) {
+		return Objects.equals(a.getStartPage(), b.getStartPage()) && Objects.equals(a.getEndPage(), b.getEndPage())
+				&& Objects.equals(a.getCharStart(), b.getCharStart())
+				&& Objects.equals(a.getCharEnd(), b.getCharEnd());
+	}
+
+	/**
+	 * @param parkedOrdinals         stored rows to move out of the way (id to
+	 *                               negative ordinal) before the writes
+	 * @param writes                 chunks to insert (no id) or update (id set)
+	 * @param toEmbed                chunks that need a (new) embedding, subset of
+	 *                               the batch
+	 * @param staleEmbeddingChunkIds chunk ids whose stored embedding is replaced
+	 */
+	record Batch(Map<Long, Integer> parkedOrdinals, List<DocumentChunk> writes, List<DocumentChunk> toEmbed,
+			List<Long> staleEmbeddingChunkIds) {
+	}
+}
@@ -0,0 +1,79 @@
+package com.knowgauge.core.service.ingestion;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Document;
+import com.knowgauge.core.model.DocumentChunk;
+import com.knowgauge.core.service.embedding.ChunkEmbeddingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-ingestion that only touches rows that differ.
+ *
+ * New chunks are diffed against the stored ones by checksum (see
+ * {@link ChunkDiff}); only inserted/moved chunk rows are written and only new
+ * text is embedded. Rows of unchanged chunks keep their ids, so their
+ * embeddings and test history stay in place and the vector index is not
+ * churned. Changed text always gets a new row: the old row is deleted at the
+ * end, and the test usages referencing it with it.
+ */
+@Component
+@Slf4j
+public class IncrementalChunkWriter {
+
+	private final IngestionTransactionalServiceImpl ingestionTransactionalService;
+	private final IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService;
+	private final ChunkEmbeddingCache chunkEmbeddingCache;
+
+	public IncrementalChunkWriter(IngestionTransactionalServiceImpl ingestionTransactionalService,
+			IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService,
+			ChunkEmbeddingCache chunkEmbeddingCache) {
+		this.ingestionTransactionalService = ingestionTransactionalService;
+		this.ingestionVectorTransactionalService = ingestionVectorTransactionalService;
+		this.chunkEmbeddingCache = chunkEmbeddingCache;
+	}
+
+	ChunkDiff open(Document document, String embeddingModel) {
+		List<DocumentChunk> stored = ingestionTransactionalService.findStoredChunkSummaries(document.getTenantId(),
+				document.getId(), document.getVersion());
+		List<Long> embedded = ingestionVectorTransactionalService.findEmbeddedChunkIds(document.getTenantId(),
+				document.getId(), document.getVersion(), embeddingModel);
+		log.info("   Ingesting document {} - Incremental mode: {} stored chunks, {} stored embeddings",
+				document.getId(), stored.size(), embedded.size());
+		return new ChunkDiff(stored, embedded);
+	}
+
+	/**
+	 * Applies one batch of new chunks (in ordinal order).
+	 */
+	void write(Document document, ChunkDiff diff, List<DocumentChunk> chunks, String embeddingModel) {
+		ChunkDiff.Batch batch = diff.diff(chunks);
+
+		ingestionTransactionalService.writeChunks(document.getTenantId(), batch.parkedOrdinals(), batch.writes());
+
+		if (!batch.toEmbed().isEmpty() || !batch.staleEmbeddingChunkIds().isEmpty()) {
+			List<float[]> vectors = chunkEmbeddingCache.embedChunks(document.getTenantId(), batch.toEmbed());
+			ingestionVectorTransactionalService.replaceEmbeddings(document.getTenantId(),
+					batch.staleEmbeddingChunkIds(), batch.toEmbed(), vectors, embeddingModel);
+		}
+	}
+
+	/**
+	 * Deletes chunks that disappeared from the document, together with their
+	 * embeddings and any orphaned embeddings. Call once all batches are written.
+	 */
+	void finish(Document document, ChunkDiff diff) {
+		List<Long> removed = diff.removedChunkIds();
+		List<Long> orphans = diff.orphanEmbeddingChunkIds();
+
+		ingestionVectorTransactionalService.deleteEmbeddingsByChunkIds(document.getTenantId(), removed);
+		ingestionVectorTransactionalService.deleteEmbeddingsByChunkIds(document.getTenantId(), orphans);
+		ingestionTransactionalService.deleteChunksByIds(document.getTenantId(), removed);
+
+		log.info("   Ingesting document {} - Incremental diff: {} inserted, {} updated, {} unchanged, {} removed, {} orphaned embeddings dropped",
+				document.getId(), diff.inserted(), diff.updated(), diff.unchanged(), removed.size(), orphans.size());
+	}
+}
@@ -0,0 +1,55 @@
+package com.knowgauge.core.service.ingestion;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.ingestion.jobs")
+public class IngestionJobProperties {
+
+	private boolean workerEnabled = true;
+	private int maxConcurrentJobs = 4;
+	private long pollIntervalMs = 1000;
+	private long staleAfterSeconds = 900;
+	private long heartbeatIntervalSeconds = 60;
+
+	public boolean isWorkerEnabled() {
+		return workerEnabled;
+	}
+
+	public void setWorkerEnabled(boolean workerEnabled) {
+		this.workerEnabled = workerEnabled;
+	}
+
+	public int getMaxConcurrentJobs() {
+		return maxConcurrentJobs;
+	}
+
+	public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+		this.maxConcurrentJobs = maxConcurrentJobs;
+	}
+
+	public long getPollIntervalMs() {
+		return pollIntervalMs;
+	}
+
+	public void setPollIntervalMs(long pollIntervalMs) {
+		this.pollIntervalMs = pollIntervalMs;
+	}
+
+	public long getStaleAfterSeconds() {
+		return staleAfterSeconds;
+	}
+
+	public void setStaleAfterSeconds(long staleAfterSeconds) {
+		this.staleAfterSeconds = staleAfterSeconds;
+	}
+
+	public long getHeartbeatIntervalSeconds() {
+		return heartbeatIntervalSeconds;
+	}
+
+	public void setHeartbeatIntervalSeconds(long heartbeatIntervalSeconds) {
+		this.heartbeatIntervalSeconds = heartbeatIntervalSeconds;
+	}
+}
@@ -0,0 +1,16 @@
+package com.knowgauge.core.service.ingestion;
+
+import java.util.Optional;
+
+import com.knowgauge.core.model.IngestionJob;
+
+public interface IngestionJobService {
+
+	/**
+	 * Queues ingestion of the document. If the document already has a QUEUED or
+	 * RUNNING job, that job is returned instead of creating a new one.
+	 */
+	IngestionJob enqueue(Long documentId);
+
+	Optional<IngestionJob> get(Long jobId);
+}
@@ -0,0 +1,186 @@
+package com.knowgauge.core.service.ingestion;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.knowgauge.core.context.ExecutionContext;
+import com.knowgauge.core.model.Document;
+import com.knowgauge.core.model.IngestionJob;
+import com.knowgauge.core.model.enums.DocumentStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+import com.knowgauge.core.service.content.DocumentService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Persistent ingestion queue. Jobs are stored in the main DB and claimed by a
+ * poller that hands them to a bounded pool of virtual threads, so HTTP threads
+ * never run ingestion themselves.
+ */
+@Service
+@Slf4j
+public class IngestionJobServiceImpl implements IngestionJobService {
+
+	private final IngestionService ingestionService;
+	private final DocumentService documentService;
+	private final IngestionJobTransactionalServiceImpl tx;
+	private final IngestionTransactionalServiceImpl ingestionTransactionalService;
+	private final IngestionJobProperties properties;
+	private final ExecutionContext executionContext;
+
+	private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+	private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+	private final Semaphore workerSlots;
+
+	public IngestionJobServiceImpl(IngestionService ingestionService, DocumentService documentService,
+			IngestionJobTransactionalServiceImpl tx, IngestionTransactionalServiceImpl ingestionTransactionalService,
+			IngestionJobProperties properties, ExecutionContext executionContext) {
+		this.ingestionService = ingestionService;
+		this.documentService = documentService;
+		this.tx = tx;
+		this.ingestionTransactionalService = ingestionTransactionalService;
+		this.properties = properties;
+		this.executionContext = executionContext;
+		this.workerSlots = new Semaphore(Math.max(1, properties.getMaxConcurrentJobs()));
+	}
+
+	@Override
+	public IngestionJob enqueue(Long documentId) {
+		Document document = documentService.get(documentId)
+				.orElseThrow(() -> new IllegalArgumentException("Document not found: " + documentId));
+
+		if (document.getStatus() != DocumentStatus.UPLOADED && document.getStatus() != DocumentStatus.FAILED) {
+			throw new IllegalArgumentException("Document not in UPLOADED nor FAILED state.");
+		}
+
+		IngestionJob job = tx.enqueue(document.getTenantId(), documentId);
+		log.info("*** Ingestion job {} queued for document: {}", job.getId(), documentId);
+		return job;
+	}
+
+	@Override
+	public Optional<IngestionJob> get(Long jobId) {
+		return tx.findByTenantIdAndId(executionContext.tenantId(), jobId);
+	}
+
+	/**
+	 * Claims queued jobs while there are free worker slots. Runs on the scheduler
+	 * thread; the actual ingestion runs on virtual threads.
+	 */
+	@Scheduled(fixedDelayString = "${kg.ingestion.jobs.poll-interval-ms:1000}")
+	public void dispatchQueuedJobs() {
+		if (!properties.isWorkerEnabled()) {
+			return;
+		}
+
+		failStaleJobs();
+
+		while (workerSlots.tryAcquire()) {
+			Optional<IngestionJob> claimed;
+			try {
+				claimed = tx.claimNext();
+			} catch (Exception e) {
+				workerSlots.release();
+				log.warn("Failed to claim ingestion job: {}", e.getMessage(), e);
+				return;
+			}
+
+			if (claimed.isEmpty()) {
+				workerSlots.release();
+				return;
+			}
+
+			IngestionJob job = claimed.get();
+			workers.submit(() -> {
+				try {
+					run(job);
+				} finally {
+					workerSlots.release();
+				}
+			});
+		}
+	}
+
+	private void run(IngestionJob job) {
+		Long jobId = job.getId();
+		log.info("    Ingestion job {} - Started for document {} (attempt {})", jobId, job.getDocumentId(),
+				job.getAttempts());
+		// Progress is only written per stage / embedded batch; the heartbeat keeps a
+		// long parse or embedding call from looking abandoned
+		long heartbeatSeconds = Math.max(1, properties.getHeartbeatIntervalSeconds());
+		ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(() -> heartbeat(jobId), heartbeatSeconds,
+				heartbeatSeconds, TimeUnit.SECONDS);
+		try {
+			ingestionService.ingest(job.getDocumentId(),
+					(stage, processed, total) -> reportProgress(jobId, stage, processed, total));
+			tx.updateProgress(jobId, IngestionStage.COMPLETED, 1, 1);
+			if (tx.markSucceeded(jobId)) {
+				log.info("    Ingestion job {} - Succeeded", jobId);
+			} else {
+				log.warn("    Ingestion job {} - Finished, but the job is no longer RUNNING (failed as stale); status left unchanged",
+						jobId);
+			}
+		} catch (Exception e) {
+			Throwable cause = e.getCause() != null ? e.getCause() : e;
+			if (tx.markFailed(jobId, cause.getMessage())) {
+				log.error("    Ingestion job {} - Failed: {}", jobId, cause.getMessage(), e);
+			} else {
+				log.error("    Ingestion job {} - Failed after the job was no longer RUNNING: {}", jobId,
+						cause.getMessage(), e);
+			}
+		} finally {
+			heartbeat.cancel(false);
+		}
+	}
+
+	private void heartbeat(Long jobId) {
+		try {
+			if (!tx.heartbeat(jobId)) {
+				log.warn("    Ingestion job {} - Heartbeat skipped, the job is no longer RUNNING", jobId);
+			}
+		} catch (Exception e) {
+			log.warn("    Ingestion job {} - Failed to write heartbeat: {}", jobId, e.getMessage());
+		}
+	}
+
+	/**
+	 * A RUNNING job whose worker died leaves its document in INGESTING. Both are
+	 * moved to FAILED so the document can be queued again.
+	 */
+	private void failStaleJobs() {
+		Instant staleBefore = Instant.now().minusSeconds(properties.getStaleAfterSeconds());
+		for (IngestionJob stale : tx.findStaleRunning(staleBefore)) {
+			String message = "Ingestion job " + stale.getId() + " abandoned: no heartbeat since " + stale.getUpdatedAt();
+			// Skipped if a heartbeat or the worker's own result got in first
+			if (tx.markStaleFailed(stale.getId(), message, staleBefore)) {
+				ingestionTransactionalService.markFailed(stale.getDocumentId(), message);
+				log.warn("    Ingestion job {} - {}", stale.getId(), message);
+			}
+		}
+	}
+
+	private void reportProgress(Long jobId, IngestionStage stage, int processed, int total) {
+		try {
+			tx.updateProgress(jobId, stage, processed, total);
+		} catch (Exception e) {
+			// Progress is informational only, never fail the ingestion because of it
+			log.warn("    Ingestion job {} - Failed to update progress: {}", jobId, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		heartbeats.shutdownNow();
+		workers.shutdown();
+	}
+}
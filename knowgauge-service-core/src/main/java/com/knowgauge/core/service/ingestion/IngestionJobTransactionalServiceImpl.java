@@ -0,0 +1,90 @@
+package com.knowgauge.core.service.ingestion;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.knowgauge.core.model.IngestionJob;
+import com.knowgauge.core.model.enums.IngestionJobStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+import com.knowgauge.core.port.repository.IngestionJobRepository;
+
+@Service
+@Transactional
+public class IngestionJobTransactionalServiceImpl {
+
+	private static final List<IngestionJobStatus> ACTIVE_STATUSES = List.of(IngestionJobStatus.QUEUED,
+			IngestionJobStatus.RUNNING);
+
+	private final IngestionJobRepository ingestionJobRepository;
+
+	public IngestionJobTransactionalServiceImpl(IngestionJobRepository ingestionJobRepository) {
+		this.ingestionJobRepository = ingestionJobRepository;
+	}
+
+	public IngestionJob enqueue(Long tenantId, Long documentId) {
+		Optional<IngestionJob> active = ingestionJobRepository.findFirstByDocumentIdAndStatusIn(documentId,
+				ACTIVE_STATUSES);
+		if (active.isPresent()) {
+			return active.get();
+		}
+
+		IngestionJob job = IngestionJob.builder().tenantId(tenantId).documentId(documentId)
+				.status(IngestionJobStatus.QUEUED).stage(IngestionStage.QUEUED).processedItems(0).totalItems(0)
+				.attempts(0).build();
+		return ingestionJobRepository.save(job);
+	}
+
+	@Transactional(readOnly = true)
+	public Optional<IngestionJob> findByTenantIdAndId(Long tenantId, Long jobId) {
+		return ingestionJobRepository.findByTenantIdAndId(tenantId, jobId);
+	}
+
+	public Optional<IngestionJob> claimNext() {
+		return ingestionJobRepository.claimNextQueued(Instant.now());
+	}
+
+	/**
+	 * Progress updates commit independently so they are visible to pollers while
+	 * the job is still running (and double as a heartbeat for stale detection).
+	 */
+	public void updateProgress(Long jobId, IngestionStage stage, int processedItems, int totalItems) {
+		ingestionJobRepository.updateProgress(jobId, stage, processedItems, totalItems);
+	}
+
+	/**
+	 * @return false when the job is not RUNNING anymore
+	 */
+	public boolean markSucceeded(Long jobId) {
+		return ingestionJobRepository.markSucceeded(jobId, Instant.now()) > 0;
+	}
+
+	/**
+	 * @return false when the job is not RUNNING anymore
+	 */
+	public boolean markFailed(Long jobId, String errorMessage) {
+		return ingestionJobRepository.markFailed(jobId, errorMessage, Instant.now()) > 0;
+	}
+
+	/**
+	 * @return false when the job got a heartbeat or finished in the meantime
+	 */
+	public boolean markStaleFailed(Long jobId, String errorMessage, Instant staleBefore) {
+		return ingestionJobRepository.markFailedIfStale(jobId, errorMessage, Instant.now(), staleBefore) > 0;
+	}
+
+	/**
+	 * @return false when the job is not RUNNING anymore
+	 */
+	public boolean heartbeat(Long jobId) {
+		return ingestionJobRepository.heartbeat(jobId) > 0;
+	}
+
+	@Transactional(readOnly = true)
+	public List<IngestionJob> findStaleRunning(Instant staleBefore) {
+		return ingestionJobRepository.findStaleRunning(staleBefore);
+	}
+}
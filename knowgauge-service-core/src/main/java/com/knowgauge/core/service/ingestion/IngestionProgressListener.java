@@ -0,0 +1,15 @@
+package com.knowgauge.core.service.ingestion;
+
+import com.knowgauge.core.model.enums.IngestionStage;
+
+/**
+ * Receives stage/progress updates while a document is being ingested.
+ */
+@FunctionalInterface
+public interface IngestionProgressListener {
+
+	IngestionProgressListener NO_OP = (stage, processedItems, totalItems) -> {
+	};
+
+	void onProgress(IngestionStage stage, int processedItems, int totalItems);
+}
@@ -1,5 +1,9 @@
 package com.knowgauge.core.service.ingestion;
 
 public interface IngestionService {
-	void ingest(Long documentId);
+	default void ingest(Long documentId) {
+		ingest(documentId, IngestionProgressListener.NO_OP);
+	}
+
+	void ingest(Long documentId, IngestionProgressListener progressListener);
 }
@@ -8,11 +8,13 @@ import org.springframework.stereotype.Service;
 import com.knowgauge.core.model.Document;
 import com.knowgauge.core.model.DocumentChunk;
 import com.knowgauge.core.model.enums.DocumentStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
 import com.knowgauge.core.port.documentparser.DocumentParser;
 import com.knowgauge.core.port.embedding.EmbeddingService;
 import com.knowgauge.core.service.chunking.ChunkingPolicy;
 import com.knowgauge.core.service.chunking.ChunkingService;
 import com.knowgauge.core.service.content.DocumentService;
+import com.knowgauge.core.service.embedding.ChunkEmbeddingCache;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,10 +29,18 @@ public class IngestionServiceImpl implements IngestionService {
 	private final IngestionTransactionalServiceImpl ingestionTransactionalService;
 	private final IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService;
 	private final ChunkingPolicy chunkingPolicy;
+	private final StreamingIngestionPipeline streamingIngestionPipeline;
+	private final IngestionStreamingProperties streamingProperties;
+	private final ChunkEmbeddingCache chunkEmbeddingCache;
+	private final IncrementalChunkWriter incrementalChunkWriter;
+	private final IngestionIncrementalProperties incrementalProperties;
 
 	public IngestionServiceImpl(List<DocumentParser> pageExtractionServices,
 			ChunkingService chunkingService, DocumentService documentService,
-			IngestionTransactionalServiceImpl ingestionTransactionalService, EmbeddingService embeddingService, IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService, ChunkingPolicy chunkingPolicy) {
+			IngestionTransactionalServiceImpl ingestionTransactionalService, EmbeddingService embeddingService, IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService, ChunkingPolicy chunkingPolicy,
+			StreamingIngestionPipeline streamingIngestionPipeline, IngestionStreamingProperties streamingProperties,
+			ChunkEmbeddingCache chunkEmbeddingCache, IncrementalChunkWriter incrementalChunkWriter,
+			IngestionIncrementalProperties incrementalProperties) {
 		this.pageExtractionServices = pageExtractionServices;
 		this.chunkingService = chunkingService;
 		this.embeddingService = embeddingService;
@@ -38,10 +48,15 @@ public class IngestionServiceImpl implements IngestionService {
 		this.ingestionTransactionalService = ingestionTransactionalService;
 		this.ingestionVectorTransactionalService = ingestionVectorTransactionalService;
 		this.chunkingPolicy = chunkingPolicy;
+		this.streamingIngestionPipeline = streamingIngestionPipeline;
+		this.streamingProperties = streamingProperties;
+		this.chunkEmbeddingCache = chunkEmbeddingCache;
+		this.incrementalChunkWriter = incrementalChunkWriter;
+		this.incrementalProperties = incrementalProperties;
 	}
 
 	@Override
-	public void ingest(Long documentId) {
+	public void ingest(Long documentId, IngestionProgressListener progressListener) {
 		log.info("*** Ingestion started for document: {}", documentId);
 		
 		// 1) Check if document exists and is in state of UPLADED
@@ -52,9 +67,6 @@ public class IngestionServiceImpl implements IngestionService {
 			throw new IllegalArgumentException("Document not in UPLOADED nor FAILED state.");
 		}
 
-		Long tenantId = document.getTenantId();
-		Long topicId = document.getTopicId();
-		Integer documentVersion = document.getVersion();
 		String embeddingModel = embeddingService.modelName();
 
 		// 2) Update document status from UPLOADED to INGESTING
@@ -62,33 +74,12 @@ public class IngestionServiceImpl implements IngestionService {
 		log.info("       Ingesting document {} - Status updated from {} to {}", documentId, DocumentStatus.UPLOADED, DocumentStatus.INGESTING);
 
 		try {
-			List<String> pages;
-			// 3) Load document content from storage
-			try (InputStream in = documentService.download(documentId)) {
-				// 4) Extract document text into pages
-				DocumentParser pageExtractionService = getPageExtractionService(document.getContentType());
-				pages = pageExtractionService.extractPages(in);
-				log.info("   Ingesting document {} - Content extracted to {} pages.", documentId, pages.size());
+			if (streamingProperties.isEnabled()) {
+				ingestStreaming(document, progressListener);
+			} else {
+				ingestInMemory(document, embeddingModel, progressListener);
 			}
 
-			// 5) Split each page into chunks
-			List<DocumentChunk> chunks = chunkingService.chunkDocument(tenantId, topicId, documentId, documentVersion, pages, chunkingPolicy);
-			log.info("   Ingesting document {} - Pages devided into {} chunks.", documentId, chunks.size());
-
-			// 6) Replace old chunks (if exist) with new ones in repository
-			List<DocumentChunk> savedChunks = ingestionTransactionalService.persistChunks(tenantId, documentId, documentVersion, chunks, embeddingModel);
-			log.info("   Ingesting document {} - {} chunks persisted", documentId, chunks.size());
-
-			// 7) Generate embeddings for chunks
-			log.info("   EmbeddingService impl = {}", embeddingService.getClass().getName());
-			log.info("   Embedding model name = {}", embeddingService.modelName());
-			List<float[]> vectors = embeddingService.embed(chunks.stream().map(chunk -> chunk.getChunkText()).toList());
-			log.info("   Ingesting document {} - {} chunks embedded", documentId, chunks.size());
-			
-			// 8) Persist generated embeddings
-			ingestionVectorTransactionalService.persistEmbeddings(tenantId, documentId, documentVersion, savedChunks, vectors, embeddingModel);
-			log.info("   Ingesting document {} - {} embeddings persisted", documentId, chunks.size());
-
 			// 9) Mark document as INGESTED
 			ingestionTransactionalService.markIngested(documentId);
 			log.info("      Ingesting document {} - Marked as {}", documentId, DocumentStatus.INGESTED);
@@ -104,6 +95,80 @@ public class IngestionServiceImpl implements IngestionService {
 		
 	}
 
+	/**
+	 * Materializes all pages, chunks and vectors of the document and replaces the
+	 * stored chunks/embeddings in one go.
+	 */
+	private void ingestInMemory(Document document, String embeddingModel, IngestionProgressListener progressListener)
+			throws Exception {
+		Long documentId = document.getId();
+		Long tenantId = document.getTenantId();
+		Long topicId = document.getTopicId();
+		Integer documentVersion = document.getVersion();
+
+		List<String> pages;
+		// 3) Load document content from storage
+		progressListener.onProgress(IngestionStage.DOWNLOADING, 0, 0);
+		try (InputStream in = documentService.download(documentId)) {
+			// 4) Extract document text into pages
+			progressListener.onProgress(IngestionStage.PARSING, 0, 0);
+			DocumentParser pageExtractionService = getPageExtractionService(document.getContentType());
+			pages = pageExtractionService.extractPages(in);
+			log.info("   Ingesting document {} - Content extracted to {} pages.", documentId, pages.size());
+		}
+
+		// 5) Split each page into chunks
+		progressListener.onProgress(IngestionStage.CHUNKING, 0, pages.size());
+		List<DocumentChunk> chunks = chunkingService.chunkDocument(tenantId, topicId, documentId, documentVersion, pages, chunkingPolicy);
+		log.info("   Ingesting document {} - Pages devided into {} chunks.", documentId, chunks.size());
+
+		if (incrementalProperties.isEnabled()) {
+			// 6-8) Write, embed and persist only what differs from the stored chunks
+			progressListener.onProgress(IngestionStage.PERSISTING_CHUNKS, 0, chunks.size());
+			ChunkDiff diff = incrementalChunkWriter.open(document, embeddingModel);
+			incrementalChunkWriter.write(document, diff, chunks, embeddingModel);
+			progressListener.onProgress(IngestionStage.PERSISTING_EMBEDDINGS, chunks.size(), chunks.size());
+			incrementalChunkWriter.finish(document, diff);
+			return;
+		}
+
+		// 6) Replace old chunks (if exist) with new ones in repository
+		progressListener.onProgress(IngestionStage.PERSISTING_CHUNKS, 0, chunks.size());
+		List<DocumentChunk> savedChunks = ingestionTransactionalService.persistChunks(tenantId, documentId, documentVersion, chunks, embeddingModel);
+		log.info("   Ingesting document {} - {} chunks persisted", documentId, chunks.size());
+
+		// 7) Generate embeddings for chunks
+		progressListener.onProgress(IngestionStage.EMBEDDING, 0, chunks.size());
+		log.info("   EmbeddingService impl = {}", embeddingService.getClass().getName());
+		log.info("   Embedding model name = {}", embeddingService.modelName());
+		List<float[]> vectors = chunkEmbeddingCache.embedChunks(tenantId, chunks);
+		log.info("   Ingesting document {} - {} chunks embedded", documentId, chunks.size());
+		
+		// 8) Persist generated embeddings
+		progressListener.onProgress(IngestionStage.PERSISTING_EMBEDDINGS, chunks.size(), chunks.size());
+		ingestionVectorTransactionalService.persistEmbeddings(tenantId, documentId, documentVersion, savedChunks, vectors, embeddingModel);
+		log.info("   Ingesting document {} - {} embeddings persisted", documentId, chunks.size());
+	}
+
+	/**
+	 * Streams pages through a bounded parse -> chunk -> embed -> persist pipeline,
+	 * so memory stays flat regardless of the page count.
+	 */
+	private void ingestStreaming(Document document, IngestionProgressListener progressListener) throws Exception {
+		Long documentId = document.getId();
+
+		// 3) Load document content from storage
+		progressListener.onProgress(IngestionStage.DOWNLOADING, 0, 0);
+		try (InputStream in = documentService.download(documentId)) {
+			// 4-8) Extract pages, chunk, embed and persist batch by batch
+			DocumentParser pageExtractionService = getPageExtractionService(document.getContentType());
+			int persisted = streamingIngestionPipeline.run(document, pageExtractionService, in, chunkingPolicy,
+					progressListener);
+			log.info("   Ingesting document {} - {} chunks and embeddings persisted (streaming)", documentId,
+					persisted);
+		}
+	}
+
 	private DocumentParser getPageExtractionService(String contentType) {
 		return pageExtractionServices.stream().filter(service -> contentType.equals(service.contentType()))
 				.findFirst()
@@ -1,6 +1,7 @@
 package com.knowgauge.core.service.ingestion;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -54,4 +55,48 @@ public class IngestionTransactionalServiceImpl {
 
 		return savedChunks;
 	}
+
+	public void deleteChunks(Long tenantId, Long documentId, Integer documentVersion) {
+		documentChunkRepository.deleteByTenantIdAndDocumentIdAndDocumentVersion(tenantId, documentId, documentVersion);
+	}
+
+	/**
+	 * Appends a batch of chunks without touching existing ones (streaming
+	 * ingestion deletes the old chunks once, up front).
+	 */
+	public List<DocumentChunk> appendChunks(List<DocumentChunk> chunks) {
+		return documentChunkRepository.saveAll(chunks);
+	}
+
+	public List<DocumentChunk> findStoredChunkSummaries(Long tenantId, Long documentId, Integer documentVersion) {
+		return documentChunkRepository.findSummariesByTenantIdAndDocumentIdAndDocumentVersion(tenantId, documentId,
+				documentVersion);
+	}
+
+	/**
+	 * Parks the given rows at their temporary ordinals, then inserts new chunks
+	 * and updates changed ones (those carrying a stored id). Generated ids are
+	 * copied back onto the given instances, so callers can keep using them for
+	 * embedding.
+	 */
+	public void writeChunks(Long tenantId, Map<Long, Integer> parkedOrdinals, List<DocumentChunk> chunks) {
+		if (!parkedOrdinals.isEmpty()) {
+			documentChunkRepository.updateOrdinals(tenantId, parkedOrdinals);
+		}
+		if (chunks.isEmpty()) {
+			return;
+		}
+
+		List<DocumentChunk> savedChunks = documentChunkRepository.saveAll(chunks);
+		for (int i = 0; i < chunks.size(); i++) {
+			chunks.get(i).setId(savedChunks.get(i).getId());
+		}
+	}
+
+	public long deleteChunksByIds(Long tenantId, List<Long> chunkIds) {
+		if (chunkIds.isEmpty()) {
+			return 0;
+		}
+		return documentChunkRepository.deleteByTenantIdAndIdIn(tenantId, chunkIds);
+	}
 }
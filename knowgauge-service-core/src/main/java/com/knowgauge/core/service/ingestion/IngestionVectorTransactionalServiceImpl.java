@@ -32,8 +32,49 @@ public class IngestionVectorTransactionalServiceImpl {
 		}
 
 		// Delete old embeddings first
+		deleteEmbeddings(tenantId, documentId, documentVersion, embeddingModel);
+
+		return appendEmbeddings(chunks, vectors, embeddingModel);
+	}
+
+	public void deleteEmbeddings(Long tenantId, Long documentId, Integer documentVersion, String embeddingModel) {
 		vectorStore.deleteByTenantIdAndDocumentIdAndDocumentVersionAndEmbeddingModel(tenantId, documentId,
 				documentVersion, embeddingModel);
+	}
+
+	public List<Long> findEmbeddedChunkIds(Long tenantId, Long documentId, Integer documentVersion,
+			String embeddingModel) {
+		return vectorStore.findChunkIdsByTenantIdAndDocumentIdAndDocumentVersionAndEmbeddingModel(tenantId,
+				documentId, documentVersion, embeddingModel);
+	}
+
+	public long deleteEmbeddingsByChunkIds(Long tenantId, List<Long> chunkIds) {
+		if (chunkIds.isEmpty()) {
+			return 0;
+		}
+		return vectorStore.deleteByTenantIdAndChunkIdIn(tenantId, chunkIds);
+	}
+
+	/**
+	 * Drops the embeddings of chunks whose text changed and stores the new ones in
+	 * the same transaction (the (tenant, chunk, model) key is unique).
+	 */
+	public List<ChunkEmbedding> replaceEmbeddings(Long tenantId, List<Long> staleChunkIds, List<DocumentChunk> chunks,
+			List<float[]> vectors, String embeddingModel) {
+		deleteEmbeddingsByChunkIds(tenantId, staleChunkIds);
+		return appendEmbeddings(chunks, vectors, embeddingModel);
+	}
+
+	/**
+	 * Persists embeddings for a batch of already saved chunks without deleting
+	 * anything.
+	 */
+	public List<ChunkEmbedding> appendEmbeddings(List<DocumentChunk> chunks, List<float[]> vectors,
+			String embeddingModel) {
+		if (chunks.size() != vectors.size()) {
+			throw new IllegalStateException(
+					"Embedding result size mismatch. chunks=" + chunks.size() + ", vectors=" + vectors.size());
+		}
 
 		List<ChunkEmbedding> embeddings = IntStream.range(0, vectors.size()).mapToObj(i -> {
 			DocumentChunk chunk = chunks.get(i);
@@ -41,7 +82,8 @@ public class IngestionVectorTransactionalServiceImpl {
 
 			return ChunkEmbedding.builder().tenantId(chunk.getTenantId()).topicId(chunk.getTopicId())
 					.documentId(chunk.getDocumentId()).documentVersion(chunk.getDocumentVersion())
-					.sectionId(chunk.getSectionId()).chunkId(chunk.getId()).chunkChecksum(chunk.getChecksum())
+					.sectionId(chunk.getSectionId()).chunkId(chunk.getId()).chunkOrdinal(chunk.getOrdinal())
+					.chunkChecksum(chunk.getChecksum())
 					.embedding(vector).embeddingModel(embeddingModel).build();
 		}).collect(Collectors.toList());
 
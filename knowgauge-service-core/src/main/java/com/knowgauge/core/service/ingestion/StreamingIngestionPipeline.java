@@ -0,0 +1,211 @@
+package com.knowgauge.core.service.ingestion;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Document;
+import com.knowgauge.core.model.DocumentChunk;
+import com.knowgauge.core.model.enums.IngestionStage;
+import com.knowgauge.core.port.documentparser.DocumentParser;
+import com.knowgauge.core.service.chunking.ChunkingPolicy;
+import com.knowgauge.core.service.chunking.ChunkingService;
+import com.knowgauge.core.service.chunking.PageChunker;
+import com.knowgauge.core.service.embedding.BatchingEmbeddingExecutor;
+import com.knowgauge.core.service.embedding.ChunkEmbeddingCache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded parse -> chunk -> embed -> persist pipeline.
+ *
+ * Parsing and chunking run on the calling thread and hand fixed-size chunk
+ * batches over a bounded queue to an embedding/persisting stage running on a
+ * virtual thread. At most {@code queueCapacity + 1} batches are held in memory,
+ * regardless of the number of pages, and parsing of the next pages overlaps
+ * with embedding of the previous batch.
+ */
+@Component
+@Slf4j
+public class StreamingIngestionPipeline {
+
+	// Identity sentinel, never confused with a real (non-empty) batch
+	private static final List<DocumentChunk> END_OF_STREAM = new ArrayList<>(0);
+
+	private final ChunkingService chunkingService;
+	private final BatchingEmbeddingExecutor batchingEmbeddingExecutor;
+	private final ChunkEmbeddingCache chunkEmbeddingCache;
+	private final IngestionTransactionalServiceImpl ingestionTransactionalService;
+	private final IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService;
+	private final IngestionStreamingProperties properties;
+	private final IncrementalChunkWriter incrementalChunkWriter;
+	private final IngestionIncrementalProperties incrementalProperties;
+
+	private final ExecutorService embeddingStages = Executors.newVirtualThreadPerTaskExecutor();
+
+	public StreamingIngestionPipeline(ChunkingService chunkingService,
+			BatchingEmbeddingExecutor batchingEmbeddingExecutor, ChunkEmbeddingCache chunkEmbeddingCache,
+			IngestionTransactionalServiceImpl ingestionTransactionalService,
+			IngestionVectorTransactionalServiceImpl ingestionVectorTransactionalService,
+			IngestionStreamingProperties properties, IncrementalChunkWriter incrementalChunkWriter,
+			IngestionIncrementalProperties incrementalProperties) {
+		this.chunkingService = chunkingService;
+		this.batchingEmbeddingExecutor = batchingEmbeddingExecutor;
+		this.chunkEmbeddingCache = chunkEmbeddingCache;
+		this.ingestionTransactionalService = ingestionTransactionalService;
+		this.ingestionVectorTransactionalService = ingestionVectorTransactionalService;
+		this.properties = properties;
+		this.incrementalChunkWriter = incrementalChunkWriter;
+		this.incrementalProperties = incrementalProperties;
+	}
+
+	/**
+	 * Streams the document content through the pipeline. Returns the number of
+	 * streamed chunks.
+	 *
+	 * In incremental mode each batch is diffed against the stored chunks and
+	 * chunks that disappeared are deleted after the last batch. Otherwise existing
+	 * chunks of the document version are deleted before the first batch is
+	 * written, existing embeddings after the last one.
+	 */
+	public int run(Document document, DocumentParser parser, InputStream in, ChunkingPolicy chunkingPolicy,
+			IngestionProgressListener progressListener) throws Exception {
+		Long documentId = document.getId();
+		String embeddingModel = batchingEmbeddingExecutor.modelName();
+		int batchSize = Math.max(1, properties.getBatchSize());
+
+		ChunkDiff diff = null;
+		List<Long> staleEmbeddingChunkIds = List.of();
+		if (incrementalProperties.isEnabled()) {
+			diff = incrementalChunkWriter.open(document, embeddingModel);
+		} else {
+			// Old embeddings stay until the new ones are written, so the embedding cache
+			// can still resolve unchanged chunks from the vector store
+			staleEmbeddingChunkIds = ingestionVectorTransactionalService.findEmbeddedChunkIds(document.getTenantId(),
+					documentId, document.getVersion(), embeddingModel);
+			ingestionTransactionalService.deleteChunks(document.getTenantId(), documentId, document.getVersion());
+		}
+
+		BlockingQueue<List<DocumentChunk>> queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+		ChunkDiff batchDiff = diff;
+		Future<Integer> embeddingStage = embeddingStages
+				.submit(() -> embedAndPersist(document, queue, batchDiff, embeddingModel, progressListener));
+
+		try {
+			PageChunker chunker = chunkingService.openChunker(document.getTenantId(), document.getTopicId(),
+					documentId, document.getVersion(), chunkingPolicy);
+			List<DocumentChunk> buffer = new ArrayList<>(batchSize);
+
+			progressListener.onProgress(IngestionStage.PARSING, 0, 0);
+			int pageCount = parser.streamPages(in, page -> {
+				for (DocumentChunk chunk : chunker.acceptPage(page)) {
+					buffer.add(chunk);
+					if (buffer.size() >= batchSize) {
+						handOff(queue, new ArrayList<>(buffer), embeddingStage);
+						buffer.clear();
+					}
+				}
+			});
+
+			for (DocumentChunk chunk : chunker.finish()) {
+				buffer.add(chunk);
+				if (buffer.size() >= batchSize) {
+					handOff(queue, new ArrayList<>(buffer), embeddingStage);
+					buffer.clear();
+				}
+			}
+			if (!buffer.isEmpty()) {
+				handOff(queue, new ArrayList<>(buffer), embeddingStage);
+			}
+			handOff(queue, END_OF_STREAM, embeddingStage);
+			log.info("   Ingesting document {} - Content streamed from {} pages.", documentId, pageCount);
+
+			int persisted = embeddingStage.get();
+
+			if (diff != null) {
+				incrementalChunkWriter.finish(document, diff);
+				return persisted;
+			}
+
+			long deleted = ingestionVectorTransactionalService.deleteEmbeddingsByChunkIds(document.getTenantId(),
+					staleEmbeddingChunkIds);
+			log.info("   Ingesting document {} - {} stale embeddings deleted", documentId, deleted);
+
+			return persisted;
+
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		} catch (Exception e) {
+			embeddingStage.cancel(true);
+			throw e;
+		}
+	}
+
+	private int embedAndPersist(Document document, BlockingQueue<List<DocumentChunk>> queue, ChunkDiff diff,
+			String embeddingModel, IngestionProgressListener progressListener) throws InterruptedException {
+		int persisted = 0;
+		int batchNo = 0;
+
+		while (true) {
+			List<DocumentChunk> batch = queue.take();
+			if (batch == END_OF_STREAM) {
+				return persisted;
+			}
+			batchNo++;
+
+			if (diff != null) {
+				incrementalChunkWriter.write(document, diff, batch, embeddingModel);
+			} else {
+				List<DocumentChunk> savedChunks = ingestionTransactionalService.appendChunks(batch);
+				List<float[]> vectors = chunkEmbeddingCache.embedChunks(document.getTenantId(), batch);
+				ingestionVectorTransactionalService.appendEmbeddings(savedChunks, vectors, embeddingModel);
+			}
+
+			persisted += batch.size();
+			progressListener.onProgress(IngestionStage.EMBEDDING, persisted, 0);
+			log.info("   Ingesting document {} - Batch No. {} - {} chunks processed ({} total)",
+					document.getId(), batchNo, batch.size(), persisted);
+		}
+	}
+
+	/**
+	 * Blocks while the queue is full, but gives up as soon as the embedding stage
+	 * has terminated (otherwise a failed consumer would block the parser forever).
+	 */
+	private void handOff(BlockingQueue<List<DocumentChunk>> queue, List<DocumentChunk> batch,
+			Future<Integer> embeddingStage) {
+		try {
+			while (!queue.offer(batch, 200, TimeUnit.MILLISECONDS)) {
+				if (embeddingStage.isDone()) {
+					embeddingStage.get();
+					throw new IllegalStateException("Embedding stage stopped before the end of the stream");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while handing off chunk batch", e);
+		} catch (ExecutionException e) {
+			throw unwrap(e);
+		}
+	}
+
+	private RuntimeException unwrap(ExecutionException e) {
+		Throwable cause = e.getCause();
+		return cause instanceof RuntimeException re ? re : new IllegalStateException(cause.getMessage(), cause);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		embeddingStages.shutdownNow();
+	}
+}
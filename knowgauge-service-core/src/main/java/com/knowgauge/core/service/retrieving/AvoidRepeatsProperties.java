@@ -0,0 +1,37 @@
+package com.knowgauge.core.service.retrieving;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.retrieval.avoid-repeats")
+public class AvoidRepeatsProperties {
+
+	/**
+	 * Chunks used by the tenant's tests within this many days count as recently
+	 * used.
+	 */
+	private int windowDays = 30;
+
+	/**
+	 * Candidate over-fetch multiplier when repeats are avoided, leaves room for
+	 * dropping recently used chunks.
+	 */
+	private int overfetchFactor = 3;
+
+	public int getWindowDays() {
+		return windowDays;
+	}
+
+	public void setWindowDays(int windowDays) {
+		this.windowDays = windowDays;
+	}
+
+	public int getOverfetchFactor() {
+		return overfetchFactor;
+	}
+
+	public void setOverfetchFactor(int overfetchFactor) {
+		this.overfetchFactor = overfetchFactor;
+	}
+}
@@ -3,10 +3,16 @@ package com.knowgauge.core.service.retrieving;
 import java.util.Collection;
 import java.util.List;
 
-import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.enums.TestCoverageMode;
 
 public interface RetrievingService {
-	public List<ChunkEmbedding> retrieveTop(Long tenantId, Collection<Long> documentIds, int limit,
-			TestCoverageMode coverageMode, boolean avoidRepeats);
+	/**
+	 * Returns chunk references only; vectors are never loaded.
+	 *
+	 * @param focusQuery similarity query, required for FOCUSED coverage and ignored
+	 *                   by the BALANCED modes
+	 */
+	public List<ChunkCandidate> retrieveTop(Long tenantId, Collection<Long> documentIds, int limit,
+			TestCoverageMode coverageMode, boolean avoidRepeats, String focusQuery);
 }
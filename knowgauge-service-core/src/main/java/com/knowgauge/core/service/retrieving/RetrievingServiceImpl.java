@@ -1,5 +1,7 @@
 package com.knowgauge.core.service.retrieving;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -11,10 +13,11 @@ import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
-import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.DocChunkCount;
 import com.knowgauge.core.model.enums.TestCoverageMode;
 import com.knowgauge.core.port.embedding.EmbeddingService;
+import com.knowgauge.core.port.repository.TestRepository;
 import com.knowgauge.core.port.vectorstore.VectorStore;
 
 import lombok.extern.slf4j.Slf4j;
@@ -22,17 +25,25 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Slf4j
 public class RetrievingServiceImpl implements RetrievingService {
+	// FOCUSED over-fetch, leaves room for checksum dedupe of near-identical chunks
+	private static final int FOCUSED_OVERFETCH_FACTOR = 2;
+
 	private final VectorStore vectorStore;
 	private final EmbeddingService embeddingService;
+	private final TestRepository testRepository;
+	private final AvoidRepeatsProperties avoidRepeatsProperties;
 
-	public RetrievingServiceImpl(VectorStore vectorStore, EmbeddingService embeddingService) {
+	public RetrievingServiceImpl(VectorStore vectorStore, EmbeddingService embeddingService,
+			TestRepository testRepository, AvoidRepeatsProperties avoidRepeatsProperties) {
 		this.vectorStore = vectorStore;
 		this.embeddingService = embeddingService;
+		this.testRepository = testRepository;
+		this.avoidRepeatsProperties = avoidRepeatsProperties;
 	}
 
 	@Override
-	public List<ChunkEmbedding> retrieveTop(Long tenantId, Collection<Long> documentIds, int limit,
-			TestCoverageMode coverageMode, boolean avoidRepeats) {
+	public List<ChunkCandidate> retrieveTop(Long tenantId, Collection<Long> documentIds, int limit,
+			TestCoverageMode coverageMode, boolean avoidRepeats, String focusQuery) {
 		// =========================
 		// Step 0: Validate inputs
 		// =========================
@@ -50,24 +61,20 @@ public class RetrievingServiceImpl implements RetrievingService {
 		}
 
 		// =========================
-		// Step 1: Validate supported coverage modes
-		// =========================
-		// FOCUSED requires query embedding + vector distance ordering.
-		// Until implemented, fail-fast to avoid silently returning random/balanced
-		// results.
-		if (coverageMode == TestCoverageMode.FOCUSED) {
-			throw new UnsupportedOperationException(
-					"FOCUSED coverage mode requires vector similarity search with a query text/embedding. Not implemented yet.");
-		}
-
-		// =========================
-		// Step 2: Determine embedding model used in the vector store
+		// Step 1: Determine embedding model used in the vector store
 		// =========================
 		// IMPORTANT:
 		// - generationModel (LLM) != embeddingModel (vector space model)
 		// - embeddings are comparable only within the same embedding_model
 		String embeddingModel = embeddingService.modelName();
 
+		// =========================
+		// Step 2: FOCUSED -> relevance-ranked ANN search instead of balanced sampling
+		// =========================
+		if (coverageMode == TestCoverageMode.FOCUSED) {
+			return retrieveFocused(tenantId, documentIds, limit, embeddingModel, focusQuery, avoidRepeats);
+		}
+
 		// =========================
 		// Step 3: Discover corpus shape (chunks per document in scope)
 		// =========================
@@ -105,13 +112,15 @@ public class RetrievingServiceImpl implements RetrievingService {
 		// =========================
 		// Step 5: Fetch ranked candidates from DB (bounded per-doc sampling)
 		// =========================
-		// Over-fetch up to 'maxChunks' candidates per document using:
-		// row_number() OVER (PARTITION BY document_id ORDER BY random())
+		// Over-fetch up to 'maxChunks' random candidates per document. The store
+		// draws random chunk ordinals from the counts above and looks them up by
+		// index, so the cost follows the sample size rather than the corpus size.
 		//
-		// This prevents pulling all embeddings for huge documents.
-		// Final per-document quotas are applied in memory.
-		List<ChunkEmbedding> candidates = vectorStore.findCandidates(tenantId, documentIds, maxChunksPerDoc, embeddingModel,
-				avoidRepeats);
+		// Final per-document quotas are applied in memory. With avoidRepeats the
+		// over-fetch is multiplied, so dropping recently used chunks still leaves
+		// enough fresh ones.
+		int fetchPerDoc = avoidRepeats ? maxChunksPerDoc * overfetchFactor() : maxChunksPerDoc;
+		List<ChunkCandidate> candidates = vectorStore.findCandidates(tenantId, docCounts, fetchPerDoc, embeddingModel);
 
 		// =========================
 		// Step 6: Final selection in memory (apply quotas + dedupe + limit)
@@ -120,27 +129,26 @@ public class RetrievingServiceImpl implements RetrievingService {
 		// - enforce per-doc quota
 		// - dedupe by chunk_checksum (prevents identical content dominating)
 		// - stop at requested limit
-		//
-		// TODO: avoidRepeats
-		// - currently avoidRepeats has no effect
-		// - should exclude chunks already used in previous tests / sessions
-		// - requires an "excludedChunkIds" or retrieval context input
+		// - avoidRepeats: recently used chunks only after all fresh ones
 		Map<Long, Integer> usedPerDoc = new HashMap<>();
 		Set<String> seenChecksums = new HashSet<>();
-		List<ChunkEmbedding> result = new ArrayList<>(limit);
+		List<ChunkCandidate> result = new ArrayList<>(limit);
 
 		// Shuffle to mix docs; prevents taking all candidates from the same doc early
 		// due to list ordering.
-		List<ChunkEmbedding> shuffledCandidates = new ArrayList<>(candidates);
+		List<ChunkCandidate> shuffledCandidates = new ArrayList<>(candidates);
 		Collections.shuffle(shuffledCandidates);
+		if (avoidRepeats) {
+			shuffledCandidates = unusedFirst(tenantId, shuffledCandidates);
+		}
 
-		for (ChunkEmbedding e : shuffledCandidates) {
+		for (ChunkCandidate e : shuffledCandidates) {
 
 			if (result.size() >= limit) {
 				break;
 			}
 
-			Long docId = e.getDocumentId();
+			Long docId = e.documentId();
 
 			// Document budget (max allowed chunks)
 			int maxChunksForDoc = maxChunksPerDocumentMap.getOrDefault(docId, 0);
@@ -155,7 +163,7 @@ public class RetrievingServiceImpl implements RetrievingService {
 			}
 
 			// Dedupe: identical content should not dominate the selection.
-			String checksum = e.getChunkChecksum();
+			String checksum = e.chunkChecksum();
 			if (checksum != null && !seenChecksums.add(checksum)) {
 				continue;
 			}
@@ -167,6 +175,79 @@ public class RetrievingServiceImpl implements RetrievingService {
 		return result;
 	}
 
+	/**
+	 * FOCUSED retrieval: embeds the focus query (same model as the stored chunks)
+	 * and takes the nearest chunks by cosine distance, closest first. Chunks with
+	 * identical content are only taken once.
+	 */
+	private List<ChunkCandidate> retrieveFocused(Long tenantId, Collection<Long> documentIds, int limit,
+			String embeddingModel, String focusQuery, boolean avoidRepeats) {
+		if (focusQuery == null || focusQuery.isBlank()) {
+			throw new IllegalArgumentException("focusQuery must not be blank for FOCUSED coverage mode");
+		}
+
+		float[] queryEmbedding = embeddingService.embed(focusQuery);
+		int overfetch = FOCUSED_OVERFETCH_FACTOR * (avoidRepeats ? overfetchFactor() : 1);
+		List<ChunkCandidate> nearest = vectorStore.findNearest(tenantId, documentIds, embeddingModel, queryEmbedding,
+				limit * overfetch);
+		if (avoidRepeats) {
+			nearest = unusedFirst(tenantId, nearest);
+		}
+
+		Set<String> seenChecksums = new HashSet<>();
+		List<ChunkCandidate> result = new ArrayList<>(limit);
+		for (ChunkCandidate e : nearest) {
+			if (result.size() >= limit) {
+				break;
+			}
+			String checksum = e.chunkChecksum();
+			if (checksum != null && !seenChecksums.add(checksum)) {
+				continue;
+			}
+			result.add(e);
+		}
+
+		log.info("    FOCUSED retrieval - {} nearest chunks selected out of {} candidates", result.size(),
+				nearest.size());
+		return result;
+	}
+
+	/**
+	 * avoidRepeats: moves chunks used by the tenant's tests within the recency
+	 * window behind the unused ones, keeping the order within both groups. Repeats
+	 * therefore only fill what fresh chunks cannot cover, and generation never
+	 * fails just because a small corpus has been used up.
+	 *
+	 * One indexed lookup per candidate chunk id, independent of how many tests
+	 * the tenant has generated.
+	 */
+	private List<ChunkCandidate> unusedFirst(Long tenantId, List<ChunkCandidate> candidates) {
+		if (candidates.isEmpty()) {
+			return candidates;
+		}
+
+		Instant usedSince = Instant.now().minus(Duration.ofDays(Math.max(0, avoidRepeatsProperties.getWindowDays())));
+		Set<Long> recentlyUsed = testRepository.findChunkIdsUsedSince(tenantId,
+				candidates.stream().map(ChunkCandidate::chunkId).toList(), usedSince);
+		if (recentlyUsed.isEmpty()) {
+			return candidates;
+		}
+
+		List<ChunkCandidate> ordered = new ArrayList<>(candidates.size());
+		List<ChunkCandidate> repeats = new ArrayList<>(recentlyUsed.size());
+		for (ChunkCandidate c : candidates) {
+			(recentlyUsed.contains(c.chunkId()) ? repeats : ordered).add(c);
+		}
+		log.info("    Retrieval - avoidRepeats: {} of {} candidates used since {}, ranked last", repeats.size(),
+				candidates.size(), usedSince);
+		ordered.addAll(repeats);
+		return ordered;
+	}
+
+	private int overfetchFactor() {
+		return Math.max(1, avoidRepeatsProperties.getOverfetchFactor());
+	}
+
 	/**
 	 * Calculates how many chunks EACH document is allowed to contribute to the
 	 * final result.
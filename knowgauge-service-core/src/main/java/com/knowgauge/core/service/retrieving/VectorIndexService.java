@@ -0,0 +1,18 @@
+package com.knowgauge.core.service.retrieving;
+
+import java.util.Optional;
+
+import com.knowgauge.core.model.VectorIndexRebuild;
+
+public interface VectorIndexService {
+
+	/**
+	 * Starts a rebuild in the background and returns its RUNNING handle.
+	 */
+	public VectorIndexRebuild startRebuild(int sampleQueries, int k);
+
+	/**
+	 * Rebuilds started on this instance (the most recent ones only).
+	 */
+	public Optional<VectorIndexRebuild> getRebuild(Long id);
+}
@@ -0,0 +1,101 @@
+package com.knowgauge.core.service.retrieving;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.stereotype.Service;
+
+import com.knowgauge.core.exception.VectorIndexRebuildInProgressException;
+import com.knowgauge.core.model.VectorIndexRebuild;
+import com.knowgauge.core.model.VectorIndexReport;
+import com.knowgauge.core.port.vectorstore.VectorIndexManager;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs vector index rebuilds in the background, one at a time.
+ *
+ * Rebuild handles live in memory on the instance that started them; the
+ * manager's advisory lock keeps a second instance from starting a concurrent
+ * rebuild.
+ */
+@Service
+@Slf4j
+public class VectorIndexServiceImpl implements VectorIndexService {
+
+	private static final int MAX_SAMPLE_QUERIES = 1000;
+	private static final int MAX_K = 100;
+	private static final int MAX_REBUILDS = 16;
+
+	private final VectorIndexManager vectorIndexManager;
+	private final ExecutorService worker = Executors.newVirtualThreadPerTaskExecutor();
+
+	// Most recent rebuilds by id; guarded by this
+	private final Map<Long, VectorIndexRebuild> rebuilds = new LinkedHashMap<>() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, VectorIndexRebuild> eldest) {
+			return size() > MAX_REBUILDS && !eldest.getValue().isRunning();
+		}
+	};
+	private long nextId = 1;
+
+	public VectorIndexServiceImpl(VectorIndexManager vectorIndexManager) {
+		this.vectorIndexManager = vectorIndexManager;
+	}
+
+	@Override
+	public synchronized VectorIndexRebuild startRebuild(int sampleQueries, int k) {
+		if (sampleQueries < 0 || sampleQueries > MAX_SAMPLE_QUERIES) {
+			throw new IllegalArgumentException("sampleQueries must be between 0 and " + MAX_SAMPLE_QUERIES);
+		}
+		if (k < 1 || k > MAX_K) {
+			throw new IllegalArgumentException("k must be between 1 and " + MAX_K);
+		}
+		if (rebuilds.values().stream().anyMatch(VectorIndexRebuild::isRunning)
+				|| vectorIndexManager.isRebuildInProgress()) {
+			throw new VectorIndexRebuildInProgressException();
+		}
+
+		VectorIndexRebuild rebuild = VectorIndexRebuild.started(nextId++, sampleQueries, k);
+		rebuilds.put(rebuild.id(), rebuild);
+		log.info("*** Vector index rebuild {} queued (sampleQueries={}, k={})", rebuild.id(), sampleQueries, k);
+
+		worker.execute(() -> run(rebuild));
+		return rebuild;
+	}
+
+	@Override
+	public synchronized Optional<VectorIndexRebuild> getRebuild(Long id) {
+		return Optional.ofNullable(rebuilds.get(id));
+	}
+
+	private void run(VectorIndexRebuild rebuild) {
+		VectorIndexRebuild finished;
+		try {
+			VectorIndexReport report = vectorIndexManager.rebuildEmbeddingIndex(rebuild.sampleQueries(), rebuild.k());
+			log.info("*** Vector index rebuild {}: {} rebuilt, {} rows, {} ms, recall@{}={}", rebuild.id(),
+					report.indexName(), report.rowCount(), report.buildMillis(), rebuild.k(), report.recall());
+			finished = rebuild.succeeded(report);
+		} catch (RuntimeException e) {
+			log.error("*** Vector index rebuild {} failed: {}", rebuild.id(), e.getMessage(), e);
+			finished = rebuild.failed(e.getMessage());
+		}
+
+		synchronized (this) {
+			rebuilds.put(rebuild.id(), finished);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		// An interrupted CREATE INDEX CONCURRENTLY leaves an INVALID index that the
+		// next rebuild drops
+		worker.shutdownNow();
+	}
+}
@@ -0,0 +1,138 @@
+package com.knowgauge.core.service.testgeneration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.DocumentChunk;
+import com.knowgauge.core.port.testgeneration.TokenCounter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Splits the retrieved chunks of a test into one context slice per question
+ * batch.
+ *
+ * Chunks are first interleaved across documents in proportion to each
+ * document's share of the retrieved chunks (smooth weighted round-robin), then
+ * dealt to the slices in turn. Every slice therefore covers the documents in
+ * the same proportions, slices are disjoint, and no slice exceeds
+ * {@code batchSize * chunksPerQuestion} chunks or the context token budget of
+ * the generation model. Chunks that fit no slice any more are left out.
+ *
+ * With fewer chunks than batches, every slice still gets one chunk and chunks
+ * are reused.
+ */
+@Component
+@Slf4j
+public class BatchContextAllocator {
+
+	private final TestGenerationDefaultsProperties defaults;
+	private final TestGenerationContextProperties properties;
+	private final TokenCounter tokenCounter;
+
+	public BatchContextAllocator(TestGenerationDefaultsProperties defaults,
+			TestGenerationContextProperties properties, TokenCounter tokenCounter) {
+		this.defaults = defaults;
+		this.properties = properties;
+		this.tokenCounter = tokenCounter;
+	}
+
+	/**
+	 * @param chunks     retrieved chunks of the test
+	 * @param batchSizes question count of every batch, one slice per entry
+	 * @param model      generation model, selects the context token budget
+	 * @return one slice per batch, chunks ordered by document and ordinal
+	 */
+	public List<List<DocumentChunk>> allocate(List<DocumentChunk> chunks, List<Integer> batchSizes, String model) {
+		int count = batchSizes.size();
+		List<List<DocumentChunk>> slices = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			slices.add(new ArrayList<>());
+		}
+		if (count == 0 || chunks.isEmpty()) {
+			return slices;
+		}
+
+		if (chunks.size() < count) {
+			for (int i = 0; i < count; i++) {
+				slices.get(i).add(chunks.get(i % chunks.size()));
+			}
+			return slices;
+		}
+
+		int chunksPerQuestion = Math.max(1, defaults.getChunksPerQuestion());
+		int tokenBudget = properties.contextTokensFor(model);
+		int[] tokens = new int[count];
+
+		int next = 0;
+		for (DocumentChunk chunk : interleaveByDocument(chunks)) {
+			int chunkTokens = tokenCounter.countTokens(chunk.getChunkText(), model);
+			for (int tried = 0; tried < count; tried++) {
+				int i = (next + tried) % count;
+				List<DocumentChunk> slice = slices.get(i);
+				boolean roomForChunk = slice.size() < batchSizes.get(i) * chunksPerQuestion;
+				// A single oversized chunk still goes into an empty slice
+				boolean roomForTokens = slice.isEmpty() || tokens[i] + chunkTokens <= tokenBudget;
+				if (roomForChunk && roomForTokens) {
+					slice.add(chunk);
+					tokens[i] += chunkTokens;
+					next = i + 1;
+					break;
+				}
+			}
+		}
+
+		Comparator<DocumentChunk> documentOrder = Comparator
+				.comparing(DocumentChunk::getDocumentId, Comparator.nullsLast(Comparator.naturalOrder()))
+				.thenComparing(DocumentChunk::getOrdinal, Comparator.nullsLast(Comparator.naturalOrder()));
+		slices.forEach(slice -> slice.sort(documentOrder));
+
+		if (log.isDebugEnabled()) {
+			for (int i = 0; i < count; i++) {
+				log.debug("    Context allocation - Slice {}: {} chunks, {} tokens (budget {})", i + 1,
+						slices.get(i).size(), tokens[i], tokenBudget);
+			}
+		}
+		return slices;
+	}
+
+	/**
+	 * Smooth weighted round-robin over documents, weighted by their chunk count:
+	 * a document with twice the chunks shows up twice as often, evenly spread.
+	 */
+	static List<DocumentChunk> interleaveByDocument(List<DocumentChunk> chunks) {
+		Map<Long, Deque<DocumentChunk>> byDocument = new LinkedHashMap<>();
+		for (DocumentChunk chunk : chunks) {
+			byDocument.computeIfAbsent(chunk.getDocumentId(), k -> new ArrayDeque<>()).add(chunk);
+		}
+
+		List<Deque<DocumentChunk>> queues = new ArrayList<>(byDocument.values());
+		int[] weights = queues.stream().mapToInt(Deque::size).toArray();
+		int[] current = new int[queues.size()];
+		int total = chunks.size();
+
+		List<DocumentChunk> out = new ArrayList<>(total);
+		while (out.size() < total) {
+			int best = -1;
+			for (int d = 0; d < queues.size(); d++) {
+				if (queues.get(d).isEmpty()) {
+					continue;
+				}
+				current[d] += weights[d];
+				if (best < 0 || current[d] > current[best]) {
+					best = d;
+				}
+			}
+			current[best] -= total;
+			out.add(queues.get(best).poll());
+		}
+		return out;
+	}
+}
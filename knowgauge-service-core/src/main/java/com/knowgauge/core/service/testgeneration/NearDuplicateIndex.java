@@ -0,0 +1,418 @@
+package com.knowgauge.core.service.testgeneration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Test;
+import com.knowgauge.core.model.TestQuestion;
+import com.knowgauge.core.port.embedding.EmbeddingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near-duplicate detection of generated questions across batches of a test
+ * and, optionally, across tests of a tenant over the same documents.
+ *
+ * Each question text is reduced to a 64-bit SimHash over its words and word
+ * pairs (common function words left out); two questions are near-duplicates
+ * when their fingerprints differ in at most maxHammingDistance bits. A scope
+ * keeps at most maxEntriesPerScope fingerprints in a ring buffer, so a lookup
+ * is one XOR/popcount pass over a long[] and memory stays bounded.
+ *
+ * Questions of a test are added to its tenant/document set only by
+ * {@link Session#publish()}, once the test has been persisted.
+ *
+ * Optional semantic mode also catches paraphrases: the question texts of a
+ * batch are embedded in one call ({@link Session#prepare}) and a question is
+ * rejected when its cosine similarity to an accepted question of the test
+ * exceeds semanticThreshold. Accepted vectors are kept normalized in one flat
+ * float[], so the check is a dot product per accepted question.
+ */
+@Component
+@Slf4j
+public class NearDuplicateIndex {
+
+	// Questions with fewer words are left to the exact duplicate check
+	private static final int MIN_WORDS = 3;
+
+	private static final Set<String> STOP_WORDS = Set.of("a", "an", "the", "of", "to", "in", "on", "for", "and",
+			"or", "is", "are", "was", "were", "be", "by", "with", "as", "at", "from", "that", "this", "which", "what",
+			"following", "does", "do", "it", "its");
+
+	private final NearDuplicateProperties properties;
+	private final EmbeddingService embeddingService;
+
+	// Cross-test scopes by tenant/document set; guarded by itself
+	private final Map<String, Scope> sharedScopes;
+
+	public NearDuplicateIndex(NearDuplicateProperties properties, EmbeddingService embeddingService) {
+		this.properties = properties;
+		this.embeddingService = embeddingService;
+
+		int maxScopes = Math.max(1, properties.getMaxScopes());
+		this.sharedScopes = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Scope> eldest) {
+				return size() > maxScopes;
+			}
+		};
+	}
+
+	/**
+	 * Opens the index of one test generation run. Not thread-safe: use it from
+	 * the thread merging the batches.
+	 */
+	public Session open(Test test) {
+		Scope shared = null;
+		if (properties.isEnabled() && properties.isCrossTest()) {
+			String key = sharedScopeKey(test);
+			if (key != null) {
+				synchronized (sharedScopes) {
+					shared = sharedScopes.computeIfAbsent(key, k -> new Scope(properties.getMaxEntriesPerScope()));
+				}
+			}
+		}
+		return new Session(test, shared);
+	}
+
+	/**
+	 * Tenant and sorted document ids; null when the test has no documents.
+	 */
+	private static String sharedScopeKey(Test test) {
+		if (test.getDocumentIds() == null || test.getDocumentIds().isEmpty()) {
+			return null;
+		}
+		return test.getTenantId() + "|" + test.getDocumentIds().stream().filter(Objects::nonNull).distinct().sorted()
+				.map(String::valueOf).collect(Collectors.joining(","));
+	}
+
+	public final class Session {
+
+		private final Test test;
+		private final Scope testScope;
+		private final Scope shared;
+
+		// Embeddings of the batch being merged, by question
+		private final Map<TestQuestion, float[]> batchVectors = new IdentityHashMap<>();
+		private final VectorScope semanticScope;
+
+		private Session(Test test, Scope shared) {
+			this.test = test;
+			this.testScope = new Scope(properties.getMaxEntriesPerScope());
+			this.shared = shared;
+			this.semanticScope = isSemantic() ? new VectorScope(properties.getMaxEntriesPerScope()) : null;
+		}
+
+		private boolean isSemantic() {
+			return properties.isEnabled() && properties.isSemantic();
+		}
+
+		/**
+		 * Embeds the question texts of a finished batch in one call, before its
+		 * questions are passed to {@link #addIfNew}. No-op unless semantic mode is
+		 * on; if the call fails the batch is checked without embeddings.
+		 */
+		public void prepare(List<TestQuestion> questions) {
+			batchVectors.clear();
+			if (semanticScope == null || questions == null || questions.isEmpty()) {
+				return;
+			}
+
+			List<TestQuestion> embedded = new ArrayList<>(questions.size());
+			List<String> texts = new ArrayList<>(questions.size());
+			for (TestQuestion question : questions) {
+				if (question != null && question.getQuestionText() != null && !question.getQuestionText().isBlank()) {
+					embedded.add(question);
+					texts.add(question.getQuestionText());
+				}
+			}
+			if (texts.isEmpty()) {
+				return;
+			}
+
+			try {
+				List<float[]> vectors = embeddingService.embed(texts);
+				for (int i = 0; i < embedded.size() && i < vectors.size(); i++) {
+					float[] unit = normalize(vectors.get(i));
+					if (unit != null) {
+						batchVectors.put(embedded.get(i), unit);
+					}
+				}
+			} catch (RuntimeException e) {
+				log.warn("    Test generation {} - Semantic duplicate check skipped for {} questions: {}", test.getId(),
+						texts.size(), e.getMessage());
+			}
+		}
+
+		/**
+		 * Registers the question and returns true, or returns false when it is a
+		 * near-duplicate of a question registered before.
+		 */
+		public boolean addIfNew(TestQuestion question) {
+			if (!properties.isEnabled()) {
+				return true;
+			}
+
+			Long fingerprint = simHash(question.getQuestionText());
+			float[] vector = batchVectors.remove(question);
+
+			if (fingerprint != null) {
+				int maxDistance = properties.getMaxHammingDistance();
+				if (testScope.containsNear(fingerprint, maxDistance)) {
+					log.debug("    Test generation {} - Near-duplicate of a question of this test: {}", test.getId(),
+							question.getQuestionText());
+					return false;
+				}
+				if (shared != null && shared.containsNear(fingerprint, maxDistance)) {
+					log.debug("    Test generation {} - Near-duplicate of a question of an earlier test: {}",
+							test.getId(), question.getQuestionText());
+					return false;
+				}
+			}
+
+			if (vector != null && semanticScope.containsSimilar(vector, properties.getSemanticThreshold())) {
+				log.debug("    Test generation {} - Paraphrase of a question of this test: {}", test.getId(),
+						question.getQuestionText());
+				return false;
+			}
+
+			if (fingerprint != null) {
+				testScope.add(fingerprint);
+			}
+			if (vector != null) {
+				semanticScope.add(vector);
+			}
+			return true;
+		}
+
+		/**
+		 * Makes the questions of this test visible to later tests over the same
+		 * documents (cross-test mode only).
+		 */
+		public void publish() {
+			if (shared != null) {
+				shared.addAll(testScope);
+			}
+		}
+	}
+
+	// ---------------- SimHash ----------------
+
+	/**
+	 * 64-bit SimHash of the words and word pairs of the text; null when the text
+	 * has fewer than MIN_WORDS words.
+	 */
+	static Long simHash(String text) {
+		if (text == null) {
+			return null;
+		}
+
+		List<String> words = words(text);
+		if (words.size() < MIN_WORDS) {
+			return null;
+		}
+
+		int[] weights = new int[64];
+		for (int i = 0; i < words.size(); i++) {
+			addFeature(weights, hash(words.get(i)));
+			if (i > 0) {
+				addFeature(weights, hash(words.get(i - 1) + ' ' + words.get(i)));
+			}
+		}
+
+		long fingerprint = 0;
+		for (int bit = 0; bit < 64; bit++) {
+			if (weights[bit] > 0) {
+				fingerprint |= 1L << bit;
+			}
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Lower-cased letter/digit runs, function words left out.
+	 */
+	private static List<String> words(String text) {
+		List<String> words = new ArrayList<>();
+		StringBuilder word = new StringBuilder();
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				word.append(Character.toLowerCase(c));
+			} else if (!word.isEmpty()) {
+				String w = word.toString();
+				if (!STOP_WORDS.contains(w)) {
+					words.add(w);
+				}
+				word.setLength(0);
+			}
+		}
+		return words;
+	}
+
+	private static void addFeature(int[] weights, long hash) {
+		for (int bit = 0; bit < 64; bit++) {
+			weights[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+		}
+	}
+
+	/**
+	 * FNV-1a with a final avalanche step, so similar words get unrelated bits.
+	 */
+	private static long hash(String s) {
+		long h = 0xcbf29ce484222325L;
+		for (int i = 0; i < s.length(); i++) {
+			h ^= s.charAt(i);
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Copy of the vector scaled to unit length; null for empty or zero vectors.
+	 */
+	private static float[] normalize(float[] vector) {
+		if (vector == null || vector.length == 0) {
+			return null;
+		}
+		double norm = 0;
+		for (float v : vector) {
+			norm += (double) v * v;
+		}
+		if (norm == 0) {
+			return null;
+		}
+		float scale = (float) (1 / Math.sqrt(norm));
+		float[] unit = new float[vector.length];
+		for (int i = 0; i < vector.length; i++) {
+			unit[i] = vector[i] * scale;
+		}
+		return unit;
+	}
+
+	/**
+	 * Bounded set of fingerprints; the oldest is overwritten when full.
+	 */
+	private static final class Scope {
+
+		private final long[] fingerprints;
+		private int size;
+		private int next;
+
+		Scope(int maxEntries) {
+			this.fingerprints = new long[Math.max(1, maxEntries)];
+		}
+
+		synchronized boolean containsNear(long fingerprint, int maxDistance) {
+			for (int i = 0; i < size; i++) {
+				if (Long.bitCount(fingerprints[i] ^ fingerprint) <= maxDistance) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		synchronized void add(long fingerprint) {
+			fingerprints[next] = fingerprint;
+			next = (next + 1) % fingerprints.length;
+			size = Math.min(size + 1, fingerprints.length);
+		}
+
+		void addAll(Scope other) {
+			long[] snapshot;
+			synchronized (other) {
+				snapshot = new long[other.size];
+				for (int i = 0; i < other.size; i++) {
+					// oldest first, so the order of the ring buffer is kept
+					snapshot[i] = other.fingerprints[(other.next - other.size + i + other.fingerprints.length)
+							% other.fingerprints.length];
+				}
+			}
+			for (long fingerprint : snapshot) {
+				add(fingerprint);
+			}
+		}
+	}
+
+	/**
+	 * Bounded set of unit vectors of one test, stored row after row in one
+	 * float[] that grows up to maxEntries rows; the oldest row is overwritten
+	 * when full. Used by one thread only.
+	 */
+	private static final class VectorScope {
+
+		private final int maxEntries;
+		private float[] rows = new float[0];
+		private int dimension = -1;
+		private int size;
+		private int next;
+
+		VectorScope(int maxEntries) {
+			this.maxEntries = Math.max(1, maxEntries);
+		}
+
+		boolean containsSimilar(float[] unit, double threshold) {
+			if (unit.length != dimension) {
+				return false;
+			}
+			for (int row = 0; row < size; row++) {
+				if (dot(unit, rows, row * dimension, dimension) > threshold) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void add(float[] unit) {
+			if (dimension == -1) {
+				dimension = unit.length;
+			} else if (unit.length != dimension) {
+				return;
+			}
+
+			if (size < maxEntries && (size + 1) * dimension > rows.length) {
+				rows = Arrays.copyOf(rows, Math.min(maxEntries, Math.max(16, size * 2)) * dimension);
+			}
+			System.arraycopy(unit, 0, rows, next * dimension, dimension);
+			next = (next + 1) % maxEntries;
+			size = Math.min(size + 1, maxEntries);
+		}
+
+		/**
+		 * Four independent sums, so the additions do not wait on one another.
+		 */
+		private static float dot(float[] a, float[] rows, int offset, int length) {
+			float s0 = 0;
+			float s1 = 0;
+			float s2 = 0;
+			float s3 = 0;
+			int i = 0;
+			for (; i + 3 < length; i += 4) {
+				s0 += a[i] * rows[offset + i];
+				s1 += a[i + 1] * rows[offset + i + 1];
+				s2 += a[i + 2] * rows[offset + i + 2];
+				s3 += a[i + 3] * rows[offset + i + 3];
+			}
+			for (; i < length; i++) {
+				s0 += a[i] * rows[offset + i];
+			}
+			return (s0 + s1) + (s2 + s3);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.knowgauge.core.service.testgeneration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.near-duplicates")
+public class NearDuplicateProperties {
+
+	/**
+	 * Drop generated questions whose text is a near-duplicate of a question
+	 * already accepted for the test (false = exact duplicates only).
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Max differing bits of the 64-bit SimHash fingerprints of two questions
+	 * considered near-duplicates (0 = same fingerprint only).
+	 */
+	private int maxHammingDistance = 3;
+
+	/**
+	 * Also drop near-duplicates of questions of earlier tests of the tenant over
+	 * the same documents.
+	 */
+	private boolean crossTest = false;
+
+	/**
+	 * Also drop paraphrases: embed the question texts of every batch (one
+	 * embedding call per batch) and compare them with the accepted questions of
+	 * the test.
+	 */
+	private boolean semantic = false;
+
+	/**
+	 * Cosine similarity above which a question is a paraphrase of an accepted
+	 * one.
+	 */
+	private double semanticThreshold = 0.92;
+
+	/**
+	 * Max fingerprints (and embeddings) kept per test and per tenant/document set (oldest are
+	 * dropped first).
+	 */
+	private int maxEntriesPerScope = 1000;
+
+	/**
+	 * Max tenant/document sets kept for cross-test detection (least recently used
+	 * are dropped first).
+	 */
+	private int maxScopes = 256;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxHammingDistance() {
+		return maxHammingDistance;
+	}
+
+	public void setMaxHammingDistance(int maxHammingDistance) {
+		this.maxHammingDistance = maxHammingDistance;
+	}
+
+	public boolean isCrossTest() {
+		return crossTest;
+	}
+
+	public void setCrossTest(boolean crossTest) {
+		this.crossTest = crossTest;
+	}
+
+	public boolean isSemantic() {
+		return semantic;
+	}
+
+	public void setSemantic(boolean semantic) {
+		this.semantic = semantic;
+	}
+
+	public double getSemanticThreshold() {
+		return semanticThreshold;
+	}
+
+	public void setSemanticThreshold(double semanticThreshold) {
+		this.semanticThreshold = semanticThreshold;
+	}
+
+	public int getMaxEntriesPerScope() {
+		return maxEntriesPerScope;
+	}
+
+	public void setMaxEntriesPerScope(int maxEntriesPerScope) {
+		this.maxEntriesPerScope = maxEntriesPerScope;
+	}
+
+	public int getMaxScopes() {
+		return maxScopes;
+	}
+
+	public void setMaxScopes(int maxScopes) {
+		this.maxScopes = maxScopes;
+	}
+}
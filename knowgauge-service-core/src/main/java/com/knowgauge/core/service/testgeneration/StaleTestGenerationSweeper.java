@@ -0,0 +1,65 @@
+package com.knowgauge.core.service.testgeneration;
+
+import java.time.Instant;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Recovers tests left CREATED or GENERATING by an instance that went away.
+ *
+ * Submitted tests wait and run only in memory ({@link TestGenerationServiceImpl}),
+ * so after a restart or redeploy nothing would ever pick them up again. Every
+ * instance periodically writes a heartbeat (updatedAt) for the tests it has
+ * queued or running; a CREATED/GENERATING test without a heartbeat for
+ * staleAfterSeconds is marked FAILED, so its status and /progress stop
+ * reporting a run that no longer exists, and it can be generated again.
+ */
+@Component
+@Slf4j
+public class StaleTestGenerationSweeper {
+
+	private final TestGenerationTransactionalServiceImpl tx;
+	private final TestGenerationProgressTracker progressTracker;
+	private final TestGenerationRecoveryProperties properties;
+
+	public StaleTestGenerationSweeper(TestGenerationTransactionalServiceImpl tx,
+			TestGenerationProgressTracker progressTracker, TestGenerationRecoveryProperties properties) {
+		this.tx = tx;
+		this.progressTracker = progressTracker;
+		this.properties = properties;
+	}
+
+	@Scheduled(fixedDelayString = "${kg.testgen.recovery.sweep-interval-ms:60000}")
+	public void sweep() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+
+		try {
+			Set<Long> local = progressTracker.testIds();
+			if (!local.isEmpty()) {
+				tx.touchActiveTests(local);
+			}
+
+			Instant staleBefore = Instant.now().minusSeconds(properties.getStaleAfterSeconds());
+			for (Test stale : tx.findStaleActiveTests(staleBefore)) {
+				if (local.contains(stale.getId())) {
+					continue;
+				}
+				String message = "Test generation abandoned: no heartbeat since " + stale.getUpdatedAt()
+						+ " (status " + stale.getStatus() + ")";
+				if (tx.markStaleTestFailed(stale.getTenantId(), stale.getId(), message, staleBefore)) {
+					log.warn("    Test generation {} - {}", stale.getId(), message);
+				}
+			}
+		} catch (Exception e) {
+			log.warn("Stale test generation sweep failed: {}", e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.knowgauge.core.service.testgeneration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.concurrency")
+public class TestGenerationConcurrencyProperties {
+
+	/**
+	 * Generate question batches in parallel (false = one batch after another).
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Max batches of one test in flight at the same time.
+	 */
+	private int maxBatchesPerTest = 4;
+
+	/**
+	 * Max batches in flight across all tests of this instance (bounds the load on
+	 * the LLM provider / rate limits).
+	 */
+	private int maxBatchesGlobal = 16;
+
+	/**
+	 * Max submitted tests generated at the same time; further tests stay CREATED
+	 * until a slot frees up.
+	 */
+	private int maxConcurrentTests = 4;
+
+	/**
+	 * MULTIPLE_CORRECT tests: verify batch N while the next batches are being
+	 * generated. Takes precedence over the plain parallel mode; generation calls
+	 * are still bounded by maxBatchesPerTest (1 when disabled) and
+	 * maxBatchesGlobal.
+	 */
+	private boolean pipelinedVerification = true;
+
+	/**
+	 * Max batches of one test in verification at the same time in pipelined
+	 * mode.
+	 */
+	private int maxVerificationsInFlight = 2;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxBatchesPerTest() {
+		return maxBatchesPerTest;
+	}
+
+	public void setMaxBatchesPerTest(int maxBatchesPerTest) {
+		this.maxBatchesPerTest = maxBatchesPerTest;
+	}
+
+	public int getMaxBatchesGlobal() {
+		return maxBatchesGlobal;
+	}
+
+	public void setMaxBatchesGlobal(int maxBatchesGlobal) {
+		this.maxBatchesGlobal = maxBatchesGlobal;
+	}
+
+	public int getMaxConcurrentTests() {
+		return maxConcurrentTests;
+	}
+
+	public void setMaxConcurrentTests(int maxConcurrentTests) {
+		this.maxConcurrentTests = maxConcurrentTests;
+	}
+
+	public boolean isPipelinedVerification() {
+		return pipelinedVerification;
+	}
+
+	public void setPipelinedVerification(boolean pipelinedVerification) {
+		this.pipelinedVerification = pipelinedVerification;
+	}
+
+	public int getMaxVerificationsInFlight() {
+		return maxVerificationsInFlight;
+	}
+
+	public void setMaxVerificationsInFlight(int maxVerificationsInFlight) {
+		this.maxVerificationsInFlight = maxVerificationsInFlight;
+	}
+}
@@ -0,0 +1,138 @@
+package com.knowgauge.core.service.testgeneration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.context")
+public class TestGenerationContextProperties {
+
+	/**
+	 * Token budget of the chunk context of one generation prompt, for models
+	 * without an entry in {@link #modelContextTokens}.
+	 */
+	private int defaultContextTokens = 12_000;
+
+	/**
+	 * Token budget of the chunk context per generation model (exact model name).
+	 */
+	private Map<String, Integer> modelContextTokens = new HashMap<>();
+
+	/**
+	 * Context window (input + output tokens) for models without an entry in
+	 * {@link #modelContextWindowTokens}.
+	 */
+	private int defaultContextWindowTokens = 128_000;
+
+	/**
+	 * Context window (input + output tokens) per generation model.
+	 */
+	private Map<String, Integer> modelContextWindowTokens = new HashMap<>();
+
+	/**
+	 * Output tokens reserved per generation call when the test's generationParams
+	 * carry no maxOutputTokens. Should match the max output tokens the generation
+	 * chat model is configured with.
+	 */
+	private int defaultMaxOutputTokens = 1200;
+
+	/**
+	 * Output tokens one generated question takes (JSON incl. options and
+	 * explanation); decides how many questions fit into maxOutputTokens.
+	 */
+	private int outputTokensPerQuestion = 200;
+
+	/**
+	 * Output tokens of the JSON envelope around the questions.
+	 */
+	private int outputOverheadTokens = 50;
+
+	/**
+	 * Kept free in the context window for what the budget does not see (JSON-only
+	 * instruction, message framing).
+	 */
+	private int safetyMarginTokens = 256;
+
+	public int getDefaultContextTokens() {
+		return defaultContextTokens;
+	}
+
+	public void setDefaultContextTokens(int defaultContextTokens) {
+		this.defaultContextTokens = defaultContextTokens;
+	}
+
+	public Map<String, Integer> getModelContextTokens() {
+		return modelContextTokens;
+	}
+
+	public void setModelContextTokens(Map<String, Integer> modelContextTokens) {
+		this.modelContextTokens = modelContextTokens;
+	}
+
+	public int getDefaultContextWindowTokens() {
+		return defaultContextWindowTokens;
+	}
+
+	public void setDefaultContextWindowTokens(int defaultContextWindowTokens) {
+		this.defaultContextWindowTokens = defaultContextWindowTokens;
+	}
+
+	public Map<String, Integer> getModelContextWindowTokens() {
+		return modelContextWindowTokens;
+	}
+
+	public void setModelContextWindowTokens(Map<String, Integer> modelContextWindowTokens) {
+		this.modelContextWindowTokens = modelContextWindowTokens;
+	}
+
+	public int getDefaultMaxOutputTokens() {
+		return defaultMaxOutputTokens;
+	}
+
+	public void setDefaultMaxOutputTokens(int defaultMaxOutputTokens) {
+		this.defaultMaxOutputTokens = defaultMaxOutputTokens;
+	}
+
+	public int getOutputTokensPerQuestion() {
+		return outputTokensPerQuestion;
+	}
+
+	public void setOutputTokensPerQuestion(int outputTokensPerQuestion) {
+		this.outputTokensPerQuestion = outputTokensPerQuestion;
+	}
+
+	public int getOutputOverheadTokens() {
+		return outputOverheadTokens;
+	}
+
+	public void setOutputOverheadTokens(int outputOverheadTokens) {
+		this.outputOverheadTokens = outputOverheadTokens;
+	}
+
+	public int getSafetyMarginTokens() {
+		return safetyMarginTokens;
+	}
+
+	public void setSafetyMarginTokens(int safetyMarginTokens) {
+		this.safetyMarginTokens = safetyMarginTokens;
+	}
+
+	/**
+	 * Context window for the given model.
+	 */
+	public int contextWindowTokensFor(String model) {
+		Integer tokens = model == null ? null : modelContextWindowTokens.get(model);
+		return Math.max(1, tokens != null ? tokens : defaultContextWindowTokens);
+	}
+
+	/**
+	 * Context budget for the given model.
+	 */
+	public int contextTokensFor(String model) {
+		Integer tokens = model == null ? null : modelContextTokens.get(model);
+		return Math.max(1, tokens != null ? tokens : defaultContextTokens);
+	}
+}
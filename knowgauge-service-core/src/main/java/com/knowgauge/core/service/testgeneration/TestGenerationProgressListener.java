@@ -0,0 +1,13 @@
+package com.knowgauge.core.service.testgeneration;
+
+/**
+ * Receives per-batch progress while the questions of a test are generated.
+ */
+@FunctionalInterface
+public interface TestGenerationProgressListener {
+
+	TestGenerationProgressListener NO_OP = (batchesCompleted, questionsGenerated, questionsValidated) -> {
+	};
+
+	void onBatchCompleted(int batchesCompleted, int questionsGenerated, int questionsValidated);
+}
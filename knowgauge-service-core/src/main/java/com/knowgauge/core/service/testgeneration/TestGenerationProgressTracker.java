@@ -0,0 +1,110 @@
+package com.knowgauge.core.service.testgeneration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.TestGenerationProgress;
+import com.knowgauge.core.model.enums.TestStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory progress of the test generation runs of this instance, with
+ * subscribers (SSE streams) notified on every update.
+ *
+ * A run is tracked from submission until it finishes; afterwards (and for runs
+ * of other instances) the persisted test status is the source of truth.
+ */
+@Component
+@Slf4j
+public class TestGenerationProgressTracker {
+
+	private final Map<Long, Run> runs = new ConcurrentHashMap<>();
+
+	void queued(Long testId, int questionCount) {
+		runs.put(testId, new Run(new TestGenerationProgress(testId, TestStatus.CREATED, 0, 0, 0, questionCount, null)));
+	}
+
+	void started(Long testId) {
+		update(testId, p -> new TestGenerationProgress(testId, TestStatus.GENERATING, p.batchesCompleted(),
+				p.questionsGenerated(), p.questionsValidated(), p.questionCount(), null));
+	}
+
+	void batchCompleted(Long testId, int batchesCompleted, int questionsGenerated, int questionsValidated) {
+		update(testId, p -> new TestGenerationProgress(testId, TestStatus.GENERATING, batchesCompleted,
+				questionsGenerated, questionsValidated, p.questionCount(), null));
+	}
+
+	void finished(Long testId, TestStatus status, String errorMessage) {
+		update(testId, p -> new TestGenerationProgress(testId, status, p.batchesCompleted(), p.questionsGenerated(),
+				p.questionsValidated(), p.questionCount(), errorMessage));
+		runs.remove(testId);
+	}
+
+	/**
+	 * Tests queued or running on this instance.
+	 */
+	Set<Long> testIds() {
+		return Set.copyOf(runs.keySet());
+	}
+
+	/**
+	 * Progress of a run of this instance, empty once it finished.
+	 */
+	public Optional<TestGenerationProgress> get(Long testId) {
+		Run run = runs.get(testId);
+		return run == null ? Optional.empty() : Optional.of(run.progress);
+	}
+
+	/**
+	 * Registers a subscriber for the updates of a running test. Returns the
+	 * unsubscribe action, or empty when the test is not (or no longer) running on
+	 * this instance.
+	 */
+	public Optional<Runnable> subscribe(Long testId, Consumer<TestGenerationProgress> subscriber) {
+		Run run = runs.get(testId);
+		if (run == null) {
+			return Optional.empty();
+		}
+		run.subscribers.add(subscriber);
+		return Optional.of(() -> run.subscribers.remove(subscriber));
+	}
+
+	private void update(Long testId, UnaryOperator<TestGenerationProgress> change) {
+		Run run = runs.get(testId);
+		if (run == null) {
+			return;
+		}
+		TestGenerationProgress progress;
+		synchronized (run) {
+			progress = change.apply(run.progress);
+			run.progress = progress;
+		}
+		for (Consumer<TestGenerationProgress> subscriber : run.subscribers) {
+			try {
+				subscriber.accept(progress);
+			} catch (Exception e) {
+				// A broken subscriber (closed stream) must never fail the generation
+				run.subscribers.remove(subscriber);
+				log.debug("    Test generation {} - Progress subscriber removed: {}", testId, e.getMessage());
+			}
+		}
+	}
+
+	private static final class Run {
+		private volatile TestGenerationProgress progress;
+		private final List<Consumer<TestGenerationProgress>> subscribers = new CopyOnWriteArrayList<>();
+
+		private Run(TestGenerationProgress progress) {
+			this.progress = progress;
+		}
+	}
+}
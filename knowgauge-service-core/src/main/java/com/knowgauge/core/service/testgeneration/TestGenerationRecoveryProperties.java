@@ -0,0 +1,50 @@
+package com.knowgauge.core.service.testgeneration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.recovery")
+public class TestGenerationRecoveryProperties {
+
+	/**
+	 * Sweep CREATED/GENERATING tests that no instance is working on anymore.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * How often each instance sends the heartbeat of its tests and sweeps stale
+	 * ones (the first sweep runs at startup).
+	 */
+	private long sweepIntervalMs = 60000;
+
+	/**
+	 * A CREATED/GENERATING test without a heartbeat for this long is marked
+	 * FAILED. Must be well above the sweep interval.
+	 */
+	private long staleAfterSeconds = 600;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getSweepIntervalMs() {
+		return sweepIntervalMs;
+	}
+
+	public void setSweepIntervalMs(long sweepIntervalMs) {
+		this.sweepIntervalMs = sweepIntervalMs;
+	}
+
+	public long getStaleAfterSeconds() {
+		return staleAfterSeconds;
+	}
+
+	public void setStaleAfterSeconds(long staleAfterSeconds) {
+		this.staleAfterSeconds = staleAfterSeconds;
+	}
+}
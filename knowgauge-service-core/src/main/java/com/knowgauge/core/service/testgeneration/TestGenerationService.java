@@ -2,14 +2,33 @@ package com.knowgauge.core.service.testgeneration;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.knowgauge.core.model.Test;
+import com.knowgauge.core.model.TestGenerationProgress;
 import com.knowgauge.core.model.TestQuestion;
 import com.knowgauge.core.model.enums.TestStatus;
 
 public interface TestGenerationService {
 	public Test generate(Test test);
 
+	/**
+	 * Validates and persists the test, then generates its questions in the
+	 * background. Returns the persisted test (status CREATED) right away.
+	 */
+	Test submit(Test test);
+
+	/**
+	 * Current generation progress of a test of the current tenant.
+	 */
+	Optional<TestGenerationProgress> getProgress(Long testId);
+
+	/**
+	 * Subscribes to the progress updates of a test running on this instance.
+	 * Returns the unsubscribe action, empty when there is nothing to follow.
+	 */
+	Optional<Runnable> subscribeProgress(Long testId, Consumer<TestGenerationProgress> subscriber);
+
 	Optional<Test> getById(Long testId);
 
 	List<Test> getAll();
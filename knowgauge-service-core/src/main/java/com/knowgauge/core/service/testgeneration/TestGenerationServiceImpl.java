@@ -1,32 +1,46 @@
 package com.knowgauge.core.service.testgeneration;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
 
 import com.knowgauge.core.context.ExecutionContext;
 import com.knowgauge.core.exception.LlmResponseParsingException;
-import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.DocumentChunk;
 import com.knowgauge.core.model.Test;
+import com.knowgauge.core.model.TestGenerationProgress;
 import com.knowgauge.core.model.TestQuestion;
 import com.knowgauge.core.model.enums.AnswerCardinality;
 import com.knowgauge.core.model.enums.TestStatus;
 import com.knowgauge.core.port.repository.DocumentChunkRepository;
 import com.knowgauge.core.port.repository.TestQuestionRepository;
 import com.knowgauge.core.port.repository.TestRepository;
-import com.knowgauge.core.port.testgeneration.LlmIncorrectOptionsVerificationService;
 import com.knowgauge.core.port.testgeneration.LlmTestGenerationService;
 import com.knowgauge.core.service.retrieving.RetrievingService;
+import com.knowgauge.core.service.testgeneration.prompt.PromptTokenBudget;
 import com.knowgauge.core.service.testgeneration.prompt.TestGenerationPromptBuilder;
-import com.knowgauge.core.service.testgeneration.prompt.VerificationPromptBuilder;
 import com.knowgauge.core.service.testgeneration.validation.PostLlmFinalValidator;
 import com.knowgauge.core.service.testgeneration.validation.PreLlmPreflightValidator;
 import com.knowgauge.core.service.testgeneration.validation.TestDraftValidator;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -36,9 +50,9 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 	private final RetrievingService retrievingService;
 
 	private final TestGenerationPromptBuilder promptBuilder;
-	private final VerificationPromptBuilder verificationPromptBuilder;
 	private final LlmTestGenerationService llmTestGenerationService;
-	private final LlmIncorrectOptionsVerificationService llmIncorrectOptionsVerificationService;
+	private final VerificationCoalescer verificationCoalescer;
+	private final NearDuplicateIndex nearDuplicateIndex;
 	private final PostLlmFinalValidator postLlmFinalValidator;
 	private final PreLlmPreflightValidator preLlmPreflightValidator;
 	private final TestDraftValidator testDraftValidator;
@@ -48,20 +62,33 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 	private final DocumentChunkRepository documentChunkRepository;
 	private final ExecutionContext executionContext;
 	private final TestGenerationDefaultsProperties defaults;
+	private final TestGenerationConcurrencyProperties concurrency;
+	private final TestGenerationProgressTracker progressTracker;
+	private final BatchContextAllocator contextAllocator;
+	private final PromptTokenBudget promptTokenBudget;
+
+	// Shared by all tests of this instance, bounds the batches in flight globally
+	private final Semaphore globalBatchPermits;
+	private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+	// Submitted tests wait on a virtual thread for one of the generation slots
+	private final Semaphore generationSlots;
+	private final ExecutorService generationWorkers = Executors.newVirtualThreadPerTaskExecutor();
 
 	public TestGenerationServiceImpl(RetrievingService retrievingService, TestGenerationPromptBuilder promptBuilder,
-			VerificationPromptBuilder verificationPromptBuilder, LlmTestGenerationService llmTestGenerationService,
-			LlmIncorrectOptionsVerificationService llmIncorrectOptionsVerificationService,
-			PreLlmPreflightValidator preLlmPreflightValidator, PostLlmFinalValidator postLlmFinalValidator,
+			LlmTestGenerationService llmTestGenerationService, VerificationCoalescer verificationCoalescer,
+			NearDuplicateIndex nearDuplicateIndex, PreLlmPreflightValidator preLlmPreflightValidator, PostLlmFinalValidator postLlmFinalValidator,
 			TestDraftValidator testDraftValidator, TestGenerationTransactionalServiceImpl tx,
 			TestRepository testRepository, TestQuestionRepository testQuestionRepository,
 			DocumentChunkRepository documentChunkRepository, ExecutionContext executionContext,
-			TestGenerationDefaultsProperties defaults, VerificationPromptBuilder verificationPromptBuilder2) {
+			TestGenerationDefaultsProperties defaults,
+			TestGenerationConcurrencyProperties concurrency, TestGenerationProgressTracker progressTracker,
+			BatchContextAllocator contextAllocator, PromptTokenBudget promptTokenBudget) {
 		this.retrievingService = retrievingService;
 		this.promptBuilder = promptBuilder;
-		this.verificationPromptBuilder = verificationPromptBuilder2;
 		this.llmTestGenerationService = llmTestGenerationService;
-		this.llmIncorrectOptionsVerificationService = llmIncorrectOptionsVerificationService;
+		this.verificationCoalescer = verificationCoalescer;
+		this.nearDuplicateIndex = nearDuplicateIndex;
 		this.preLlmPreflightValidator = preLlmPreflightValidator;
 		this.postLlmFinalValidator = postLlmFinalValidator;
 		this.testDraftValidator = testDraftValidator;
@@ -71,11 +98,66 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 		this.documentChunkRepository = documentChunkRepository;
 		this.executionContext = executionContext;
 		this.defaults = defaults;
+		this.concurrency = concurrency;
+		this.progressTracker = progressTracker;
+		this.contextAllocator = contextAllocator;
+		this.promptTokenBudget = promptTokenBudget;
+		this.globalBatchPermits = new Semaphore(Math.max(1, concurrency.getMaxBatchesGlobal()), true);
+		this.generationSlots = new Semaphore(Math.max(1, concurrency.getMaxConcurrentTests()), true);
 	}
 
 	@Override
 	public Test generate(Test testDraft) {
 		Long tenantId = executionContext.tenantId();
+		Test test = validateAndPersist(tenantId, testDraft);
+		progressTracker.queued(test.getId(), test.getQuestionCount());
+		return run(tenantId, test);
+	}
+
+	@Override
+	public Test submit(Test testDraft) {
+		Long tenantId = executionContext.tenantId();
+		Test test = validateAndPersist(tenantId, testDraft);
+		progressTracker.queued(test.getId(), test.getQuestionCount());
+
+		try {
+			generationWorkers.submit(() -> runQueued(tenantId, test));
+		} catch (RejectedExecutionException ex) {
+			tx.markTestFailed(tenantId, test.getId(), "Test generation rejected: " + ex.getMessage());
+			progressTracker.finished(test.getId(), TestStatus.FAILED, ex.getMessage());
+			throw new IllegalStateException("Test generation could not be queued for test " + test.getId(), ex);
+		}
+		log.info("    Test generation {} - Queued for asynchronous generation", test.getId());
+		return test;
+	}
+
+	/**
+	 * Runs a submitted test once a generation slot is free. Failures are already
+	 * persisted (test FAILED) by {@link #run}, so they are only logged here.
+	 */
+	private void runQueued(Long tenantId, Test test) {
+		try {
+			generationSlots.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			tx.markTestFailed(tenantId, test.getId(), "Test generation interrupted before start");
+			progressTracker.finished(test.getId(), TestStatus.FAILED, "Test generation interrupted before start");
+			return;
+		}
+		try {
+			run(tenantId, test);
+		} catch (Exception ex) {
+			log.error("    Test generation {} - Asynchronous generation failed: {}", test.getId(), ex.getMessage(), ex);
+		} finally {
+			generationSlots.release();
+		}
+	}
+
+	/**
+	 * Applies defaults, validates and expands the draft and persists it (status
+	 * CREATED). Validation errors surface to the caller before anything runs.
+	 */
+	private Test validateAndPersist(Long tenantId, Test testDraft) {
 		applyDefaults(testDraft);
 		testDraft.setTenantId(tenantId);
 		log.info("*** Test generation - Started for tenantId={}, topicIds={}, documentIds={}. questionCount={}",
@@ -90,28 +172,43 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 		List<Long> documentIds = testDraft.getDocumentIds();
 		log.info("    Test generation - Expanded document IDs: [{}],", documentIds);
 
-		// 1) Persist test and mark it GENERATING
+		// 1) Persist test
 		Test test = tx.persistTest(tenantId, testDraft);
+		test.setTopicIds(topicIds);
+		test.setDocumentIds(documentIds);
 		test.setMinMultipleCorrectQuestionsCount(
 				computeMinMultipleCorrectQuestionsCount(test.getQuestionCount(), test.getAnswerCardinality()));
 		log.info("    Test generation {} - Test persisted", test.getId());
+		return test;
+	}
 
+	private Test run(Long tenantId, Test test) {
 		try {
 
+			// 1.5) Mark test GENERATING
+			tx.markTestGenerating(tenantId, test.getId());
+			progressTracker.started(test.getId());
+
 			// 2) Retrieve and load chunks
-			ChunksContext chunksContext = retrieveAndLoadChunks(tenantId, test, documentIds, topicIds);
+			ChunksContext chunksContext = retrieveAndLoadChunks(tenantId, test, test.getDocumentIds(),
+					test.getTopicIds());
 
 			// 3-9) Generate and validate questions in batches
+			NearDuplicateIndex.Session nearDuplicates = nearDuplicateIndex.open(test);
 			List<TestQuestion> allValidatedQuestions = generateAllTestQuestionBatches(tenantId, test,
-					chunksContext.chunks(), chunksContext.embeddings());
+					chunksContext.chunks(), chunksContext.candidates(), nearDuplicates,
+					(batches, generated, validated) -> progressTracker.batchCompleted(test.getId(), batches,
+							generated, validated));
 
 			// 10) Persist all validated questions at once
-			tx.persistTestQuestions(tenantId, test.getId(), allValidatedQuestions, chunksContext.embeddings());
+			tx.persistTestQuestions(tenantId, test.getId(), allValidatedQuestions, chunksContext.candidates());
 			log.info("    Test generation {} - Persisted {} validated questions", test.getId(),
 					allValidatedQuestions.size());
+			nearDuplicates.publish();
 
 			// 11) Mark test GENERATED
 			Test ready = tx.markTestGenerated(tenantId, test.getId());
+			progressTracker.finished(test.getId(), TestStatus.GENERATED, null);
 			log.info("    Test generation {} - Test marked GENERATED.", test.getId());
 
 			log.info("*** Test generation {} - Completed", ready.getId());
@@ -122,6 +219,7 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 
 			// Mark test FAILED
 			tx.markTestFailed(tenantId, test.getId(), ex.getMessage());
+			progressTracker.finished(test.getId(), TestStatus.FAILED, ex.getMessage());
 			log.info("    Test generation {} - Test marked FAILED, with message: {}.", test.getId(), ex.getMessage());
 
 			throw new RuntimeException("Test generation failed for test " + test.getId(), ex);
@@ -129,31 +227,32 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 	}
 
 	/**
-	 * Retrieves embeddings and loads corresponding document chunks for test
+	 * Retrieves candidates and loads corresponding document chunks for test
 	 * generation.
 	 *
 	 * @param tenantId    the tenant ID
 	 * @param test        the test being generated
 	 * @param documentIds the document IDs to retrieve from
 	 * @param topicIds    the topic IDs for error messages
-	 * @return context containing chunks and embeddings
+	 * @return context containing chunks and candidates
 	 */
 	private ChunksContext retrieveAndLoadChunks(Long tenantId, Test test, List<Long> documentIds, List<Long> topicIds) {
-		List<ChunkEmbedding> embeddings = retrievingService.retrieveTop(tenantId, documentIds,
-				recommendedChunkLimit(test), test.getCoverageMode(), Boolean.TRUE.equals(test.getAvoidRepeats()));
-		if (embeddings == null || embeddings.isEmpty()) {
+		List<ChunkCandidate> candidates = retrievingService.retrieveTop(tenantId, documentIds,
+				recommendedChunkLimit(test), test.getCoverageMode(), Boolean.TRUE.equals(test.getAvoidRepeats()),
+				test.getFocusQuery());
+		if (candidates == null || candidates.isEmpty()) {
 			throw new IllegalStateException("No relevant context chunks found (tenantId=" + tenantId + ", topicIds="
 					+ topicIds + ", documentIds=" + documentIds + ").");
 		}
-		log.info("    Test generation {} - Retrieved {} embeddings from vector store", test.getId(), embeddings.size());
+		log.info("    Test generation {} - Retrieved {} candidates from vector store", test.getId(), candidates.size());
 
-		List<Long> chunkIds = embeddings.stream().map(ChunkEmbedding::getChunkId).toList();
+		List<Long> chunkIds = candidates.stream().map(ChunkCandidate::chunkId).toList();
 		log.info("    Test generation {} - Chunk IDs that will be used for test generation: [{}]", test.getId(),
 				chunkIds);
 
 		List<DocumentChunk> chunks = documentChunkRepository.findByTenantIdAndIdIn(tenantId, chunkIds);
 		if (chunks == null || chunks.isEmpty()) {
-			throw new IllegalStateException("No chunks could be loaded for retrieved embeddings (tenantId=" + tenantId
+			throw new IllegalStateException("No chunks could be loaded for retrieved candidates (tenantId=" + tenantId
 					+ ", chunkIds=" + chunkIds.size() + ").");
 		}
 
@@ -161,7 +260,7 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 		log.info("    Test generation {} - Used chunks [{}] persisted for test {}", test.getId(), chunkIds,
 				test.getId());
 
-		return new ChunksContext(chunks, embeddings);
+		return new ChunksContext(chunks, candidates);
 	}
 
 	/**
@@ -170,25 +269,56 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 	 * @param tenantId   the tenant ID
 	 * @param test       the test being generated
 	 * @param chunks     the document chunks for context
-	 * @param embeddings the chunk embeddings
+	 * @param candidates     the chunk candidates
+	 * @param nearDuplicates questions accepted so far, for duplicate detection
+	 * @param listener       notified after every batch
 	 * @return list of all validated questions
 	 */
 	private List<TestQuestion> generateAllTestQuestionBatches(Long tenantId, Test test, List<DocumentChunk> chunks,
-			List<ChunkEmbedding> embeddings) {
-		int batchCount = defaults.getQuestionGenerationBatchSize();
+			List<ChunkCandidate> candidates, NearDuplicateIndex.Session nearDuplicates,
+			TestGenerationProgressListener listener) {
+		// Pipelined first: it runs parallel batches too when concurrency is enabled
+		if (concurrency.isPipelinedVerification() && test.getAnswerCardinality() == AnswerCardinality.MULTIPLE_CORRECT) {
+			return generateAllTestQuestionBatchesPipelined(test, chunks, candidates, nearDuplicates, listener);
+		}
+		if (concurrency.isEnabled() && concurrency.getMaxBatchesPerTest() > 1) {
+			return generateAllTestQuestionBatchesConcurrently(tenantId, test, chunks, candidates, nearDuplicates,
+					listener);
+		}
+
+		int batchCount = promptTokenBudget.fittingBatchSize(test, defaults.getQuestionGenerationBatchSize());
 		int totalQuestions = test.getQuestionCount();
 		int generatedCount = 0;
+		int llmGeneratedCount = 0;
 		int batchIndex = 0;
 		List<TestQuestion> allValidatedQuestions = new ArrayList<>();
+		Set<String> seenKeys = new HashSet<>();
 		int consecutiveZeroProgressBatches = 0;
 		int maxConsecutiveZeroProgress = getMaxConsecutiveZeroProgress();
 
+		// One context slice per planned batch; extra batches (after rejected
+		// questions) cycle through the slices again
+		List<List<DocumentChunk>> slices = contextAllocator.allocate(chunks,
+				plannedBatchSizes(totalQuestions, batchCount), test.getGenerationModel());
+
 		while (generatedCount < totalQuestions) {
 			int batchSize = Math.min(batchCount, totalQuestions - generatedCount);
-			List<TestQuestion> batchQuestions = generateTestQuestionBatch(++batchIndex, tenantId, test, chunks,
-					embeddings, batchSize, generatedCount);
+			List<DocumentChunk> slice = slices.get(batchIndex % slices.size());
+			BatchResult batch = generateTestQuestionBatch(++batchIndex, tenantId, test, slice, candidates, batchSize,
+					generatedCount);
+
+			nearDuplicates.prepare(batch.questions());
+			int added = 0;
+			for (TestQuestion question : batch.questions()) {
+				if (!isNewQuestion(test, question, seenKeys, nearDuplicates)) {
+					continue;
+				}
+				question.setQuestionIndex(allValidatedQuestions.size());
+				allValidatedQuestions.add(question);
+				added++;
+			}
 
-			if (batchQuestions.isEmpty()) {
+			if (added == 0) {
 				consecutiveZeroProgressBatches++;
 				checkZeroProgressThreshold(test, batchIndex, consecutiveZeroProgressBatches, maxConsecutiveZeroProgress,
 						generatedCount, totalQuestions);
@@ -196,8 +326,9 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 				consecutiveZeroProgressBatches = 0; // Reset on success
 			}
 
-			allValidatedQuestions.addAll(batchQuestions);
-			generatedCount += batchQuestions.size();
+			generatedCount += added;
+			llmGeneratedCount += batch.generated();
+			listener.onBatchCompleted(batchIndex, llmGeneratedCount, generatedCount);
 			log.info("    Test generation {} - Batch No. {} - Progress: {}/{} questions generated", test.getId(),
 					batchIndex, generatedCount, totalQuestions);
 		}
@@ -205,6 +336,260 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 		return allValidatedQuestions;
 	}
 
+	/**
+	 * Concurrent variant of {@link #generateAllTestQuestionBatches}.
+	 *
+	 * The missing questions are split into batches that are all dispatched at once
+	 * on virtual threads, at most maxBatchesPerTest of this test and
+	 * maxBatchesGlobal of all tests running at the same time. Each batch of a round
+	 * gets a disjoint slice of the chunks (see {@link BatchContextAllocator}), so
+	 * batches do not compete for the same facts. Results are merged in batch order, deduplicated across batches
+	 * (exact and near-duplicates, see {@link NearDuplicateIndex}) and renumbered sequentially. Rounds repeat until the question count is reached;
+	 * a round without any new question counts as one zero-progress batch.
+	 */
+	private List<TestQuestion> generateAllTestQuestionBatchesConcurrently(Long tenantId, Test test,
+			List<DocumentChunk> chunks, List<ChunkCandidate> candidates, NearDuplicateIndex.Session nearDuplicates,
+			TestGenerationProgressListener listener) {
+		int batchCount = promptTokenBudget.fittingBatchSize(test, defaults.getQuestionGenerationBatchSize());
+		int totalQuestions = test.getQuestionCount();
+		Semaphore testBatchPermits = new Semaphore(Math.max(1, concurrency.getMaxBatchesPerTest()));
+		List<TestQuestion> allValidatedQuestions = new ArrayList<>();
+		Set<String> seenKeys = new HashSet<>();
+		int batchIndex = 0;
+		int batchesCompleted = 0;
+		int llmGeneratedCount = 0;
+		int consecutiveZeroProgressRounds = 0;
+		int maxConsecutiveZeroProgress = getMaxConsecutiveZeroProgress();
+
+		while (allValidatedQuestions.size() < totalQuestions) {
+			int missing = totalQuestions - allValidatedQuestions.size();
+			List<Integer> batchSizes = plannedBatchSizes(missing, batchCount);
+			int roundBatches = batchSizes.size();
+			List<List<DocumentChunk>> slices = contextAllocator.allocate(chunks, batchSizes, test.getGenerationModel());
+			log.info("    Test generation {} - Dispatching {} batches for {} missing questions", test.getId(),
+					roundBatches, missing);
+
+			List<Future<BatchResult>> futures = new ArrayList<>(roundBatches);
+			for (int i = 0; i < roundBatches; i++) {
+				int index = ++batchIndex;
+				int batchSize = batchSizes.get(i);
+				List<DocumentChunk> slice = slices.get(i);
+				futures.add(batchExecutor.submit(() -> withPermits(testBatchPermits,
+						() -> generateTestQuestionBatch(index, tenantId, test, slice, candidates, batchSize, 0))));
+			}
+
+			int added = 0;
+			for (int i = 0; i < futures.size(); i++) {
+				BatchResult batch = await(futures, i);
+				nearDuplicates.prepare(batch.questions());
+				for (TestQuestion question : batch.questions()) {
+					if (allValidatedQuestions.size() >= totalQuestions) {
+						break;
+					}
+					if (!isNewQuestion(test, question, seenKeys, nearDuplicates)) {
+						continue;
+					}
+					question.setQuestionIndex(allValidatedQuestions.size());
+					allValidatedQuestions.add(question);
+					added++;
+				}
+				llmGeneratedCount += batch.generated();
+				listener.onBatchCompleted(++batchesCompleted, llmGeneratedCount, allValidatedQuestions.size());
+			}
+			log.info("    Test generation {} - Batches up to No. {} - Progress: {}/{} questions generated",
+					test.getId(), batchIndex, allValidatedQuestions.size(), totalQuestions);
+
+			if (added == 0) {
+				consecutiveZeroProgressRounds++;
+				checkZeroProgressThreshold(test, batchIndex, consecutiveZeroProgressRounds, maxConsecutiveZeroProgress,
+						allValidatedQuestions.size(), totalQuestions);
+			} else {
+				consecutiveZeroProgressRounds = 0;
+			}
+		}
+
+		return allValidatedQuestions;
+	}
+
+	/**
+	 * Pipelined variant of {@link #generateAllTestQuestionBatches} for
+	 * MULTIPLE_CORRECT tests, takes precedence over the concurrent variant.
+	 *
+	 * Every batch runs on a virtual thread: its generation call holds a test
+	 * permit (maxBatchesPerTest when concurrency is enabled, otherwise one) and a
+	 * global batch permit, its verification call and post-validation one of
+	 * maxVerificationsInFlight verification permits, so verification of a batch
+	 * overlaps with the generation of the next ones. Next batches are sized by
+	 * the questions still missing, counting the questions requested by batches
+	 * that are not finished yet. Finished batches are merged in batch order,
+	 * deduplicated and renumbered, like in the concurrent variant.
+	 */
+	private List<TestQuestion> generateAllTestQuestionBatchesPipelined(Test test, List<DocumentChunk> chunks,
+			List<ChunkCandidate> candidates, NearDuplicateIndex.Session nearDuplicates,
+			TestGenerationProgressListener listener) {
+		int batchCount = promptTokenBudget.fittingBatchSize(test, defaults.getQuestionGenerationBatchSize());
+		int totalQuestions = test.getQuestionCount();
+		int generationSlots = concurrency.isEnabled() ? Math.max(1, concurrency.getMaxBatchesPerTest()) : 1;
+		int maxInFlight = Math.max(1, concurrency.getMaxVerificationsInFlight());
+		Semaphore testBatchPermits = new Semaphore(generationSlots);
+		Semaphore verificationPermits = new Semaphore(maxInFlight);
+		List<TestQuestion> allValidatedQuestions = new ArrayList<>();
+		Set<String> seenKeys = new HashSet<>();
+		Deque<PendingBatch> pending = new ArrayDeque<>();
+		int requestedPending = 0;
+		int batchIndex = 0;
+		int llmGeneratedCount = 0;
+		int consecutiveZeroProgressBatches = 0;
+		int maxConsecutiveZeroProgress = getMaxConsecutiveZeroProgress();
+
+		List<List<DocumentChunk>> slices = contextAllocator.allocate(chunks,
+				plannedBatchSizes(totalQuestions, batchCount), test.getGenerationModel());
+
+		try {
+			while (allValidatedQuestions.size() < totalQuestions) {
+				// Generate while verifications are free and questions are still missing
+				while (pending.size() < generationSlots + maxInFlight
+						&& allValidatedQuestions.size() + requestedPending < totalQuestions) {
+					int batchSize = Math.min(batchCount,
+							totalQuestions - allValidatedQuestions.size() - requestedPending);
+					int index = ++batchIndex;
+					List<DocumentChunk> slice = slices.get((index - 1) % slices.size());
+					pending.add(new PendingBatch(index, batchSize, batchExecutor.submit(() -> {
+						List<TestQuestion> generated = withPermits(testBatchPermits,
+								() -> generateQuestions(index, test, slice, batchSize));
+						return withPermit(verificationPermits,
+								() -> finishBatch(index, test, candidates, generated, 0));
+					})));
+					requestedPending += batchSize;
+				}
+
+				PendingBatch oldest = pending.poll();
+				requestedPending -= oldest.requested();
+				BatchResult batch = await(oldest.result(), pending);
+				nearDuplicates.prepare(batch.questions());
+
+				int added = 0;
+				for (TestQuestion question : batch.questions()) {
+					if (allValidatedQuestions.size() >= totalQuestions) {
+						break;
+					}
+					if (!isNewQuestion(test, question, seenKeys, nearDuplicates)) {
+						continue;
+					}
+					question.setQuestionIndex(allValidatedQuestions.size());
+					allValidatedQuestions.add(question);
+					added++;
+				}
+				llmGeneratedCount += batch.generated();
+				listener.onBatchCompleted(oldest.batchIndex(), llmGeneratedCount, allValidatedQuestions.size());
+				log.info("    Test generation {} - Batch No. {} - Progress: {}/{} questions generated", test.getId(),
+						oldest.batchIndex(), allValidatedQuestions.size(), totalQuestions);
+
+				if (added == 0) {
+					consecutiveZeroProgressBatches++;
+					checkZeroProgressThreshold(test, oldest.batchIndex(), consecutiveZeroProgressBatches,
+							maxConsecutiveZeroProgress, allValidatedQuestions.size(), totalQuestions);
+				} else {
+					consecutiveZeroProgressBatches = 0;
+				}
+			}
+		} finally {
+			// Batches still verifying once the count is reached (or after a failure) are
+			// not needed anymore
+			pending.forEach(p -> p.result().cancel(true));
+		}
+
+		return allValidatedQuestions;
+	}
+
+	/**
+	 * Registers a question of a finished batch; false when it duplicates a
+	 * question already accepted for the test (same key, or near-duplicate text).
+	 */
+	private boolean isNewQuestion(Test test, TestQuestion question, Set<String> seenKeys,
+			NearDuplicateIndex.Session nearDuplicates) {
+		if (!seenKeys.add(postLlmFinalValidator.dedupeKey(question))) {
+			log.debug("    Test generation {} - Dropped duplicate question across batches: {}", test.getId(),
+					question.getQuestionText());
+			return false;
+		}
+		return nearDuplicates.addIfNew(question);
+	}
+
+	private static List<Integer> plannedBatchSizes(int questions, int batchSize) {
+		List<Integer> sizes = new ArrayList<>();
+		for (int remaining = questions; remaining > 0; remaining -= batchSize) {
+			sizes.add(Math.min(batchSize, remaining));
+		}
+		return sizes;
+	}
+
+	private <T> T withPermits(Semaphore testBatchPermits, Supplier<T> batch)
+			throws InterruptedException {
+		testBatchPermits.acquire();
+		try {
+			globalBatchPermits.acquire();
+			try {
+				return batch.get();
+			} finally {
+				globalBatchPermits.release();
+			}
+		} finally {
+			testBatchPermits.release();
+		}
+	}
+
+	private static <T> T withPermit(Semaphore permits, Supplier<T> work) throws InterruptedException {
+		permits.acquire();
+		try {
+			return work.get();
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Waits for the i-th batch. On failure the remaining batches are cancelled and
+	 * the cause is rethrown as is.
+	 */
+	private static BatchResult await(List<Future<BatchResult>> futures, int i) {
+		try {
+			return futures.get(i).get();
+		} catch (InterruptedException e) {
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for question batch", e);
+		} catch (ExecutionException e) {
+			futures.forEach(f -> f.cancel(true));
+			Throwable cause = e.getCause();
+			throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Waits for one pipelined batch. On failure the other pending batches are
+	 * cancelled and the cause is rethrown as is.
+	 */
+	private static BatchResult await(Future<BatchResult> future, Collection<PendingBatch> others) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			others.forEach(p -> p.result().cancel(true));
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for question batch", e);
+		} catch (ExecutionException e) {
+			others.forEach(p -> p.result().cancel(true));
+			Throwable cause = e.getCause();
+			throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause.getMessage(), cause);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		generationWorkers.shutdownNow();
+		batchExecutor.shutdownNow();
+	}
+
 	/**
 	 * Checks if zero-progress threshold has been exceeded and throws exception if
 	 * so.
@@ -232,15 +617,43 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 	}
 
 	/**
-	 * Record to encapsulate chunks and embeddings context.
+	 * Record to encapsulate chunks and candidates context.
 	 */
-	private record ChunksContext(List<DocumentChunk> chunks, List<ChunkEmbedding> embeddings) {
+	private record ChunksContext(List<DocumentChunk> chunks, List<ChunkCandidate> candidates) {
 	}
 
-	private List<TestQuestion> generateTestQuestionBatch(int batchIndex, Long tenantId, Test test,
-			List<DocumentChunk> chunks, List<ChunkEmbedding> embeddings, int batchSize, int generatedCount) {
-		int currentBatchSize = batchSize;
-		int maxRetries = batchSize - 1; // Maximum retries equals batch size minus 1 (down to 1 question)
+	/**
+	 * Questions kept from one batch, and how many the LLM returned for it.
+	 */
+	private record BatchResult(int generated, List<TestQuestion> questions) {
+	}
+
+	/**
+	 * Generated batch waiting for verification and post-validation.
+	 */
+	private record PendingBatch(int batchIndex, int requested, Future<BatchResult> result) {
+	}
+
+	private BatchResult generateTestQuestionBatch(int batchIndex, Long tenantId, Test test,
+			List<DocumentChunk> chunks, List<ChunkCandidate> candidates, int batchSize, int generatedCount) {
+		List<TestQuestion> generatedTestQuestions = generateQuestions(batchIndex, test, chunks, batchSize);
+		return finishBatch(batchIndex, test, candidates, generatedTestQuestions, generatedCount);
+	}
+
+	/**
+	 * Steps 3-4 of a batch: builds the prompt and calls the LLM. Retries with a
+	 * smaller batch while the output exceeds max output tokens.
+	 */
+	private List<TestQuestion> generateQuestions(int batchIndex, Test test, List<DocumentChunk> chunks,
+			int batchSize) {
+		// Start with a batch whose expected output fits into maxOutputTokens, so the
+		// LENGTH retry below stays a safety net
+		int currentBatchSize = promptTokenBudget.fittingBatchSize(test, batchSize);
+		if (currentBatchSize < batchSize) {
+			log.info("    Test generation {} - Batch No. {} - Batch size reduced from {} to {} to fit max output tokens",
+					test.getId(), batchIndex, batchSize, currentBatchSize);
+		}
+		int maxRetries = currentBatchSize - 1; // Maximum retries equals batch size minus 1 (down to 1 question)
 		int retryCount = 0;
 
 		while (retryCount <= maxRetries) {
@@ -255,24 +668,7 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 				List<TestQuestion> generatedTestQuestions = llmTestGenerationService.generate(prompt, batchTest);
 				log.info("    Test generation {} - Batch No. {} - Generated {} questions in batch.", test.getId(),
 						batchIndex, generatedTestQuestions.size());
-
-				// 5-8) Process multi-correct questions if needed
-				List<TestQuestion> questionsForPostValidation = processMultiCorrectQuestions(generatedTestQuestions,
-						test, embeddings, generatedCount, batchIndex);
-
-				// 9) Post-LLM validation (full)
-				List<TestQuestion> validatedTestQuestions = postLlmFinalValidator
-						.validateAndNormalize(questionsForPostValidation, test, embeddings, generatedCount);
-				log.info("    Test generation {} - Batch No. {} - Post-validated and normalized {} questions in batch.",
-						test.getId(), batchIndex, validatedTestQuestions.size());
-
-				if (validatedTestQuestions.isEmpty()) {
-					log.warn(
-							"    Test generation {} - Batch No. {} - Validation returned 0 questions (generated: {}, pre-validated: {}, post-validated: 0). All questions were filtered out by validation rules.",
-							test.getId(), batchIndex, generatedTestQuestions.size(), questionsForPostValidation.size());
-				}
-
-				return validatedTestQuestions;
+				return generatedTestQuestions;
 
 			} catch (LlmResponseParsingException ex) {
 				if (ex.getReason() == LlmResponseParsingException.Reason.LENGTH) {
@@ -300,19 +696,44 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 				"Failed to generate batch " + batchIndex + " for test " + test.getId() + " after all retries");
 	}
 
+	/**
+	 * Steps 5-9 of a batch: multi-correct verification and post-LLM validation of
+	 * the generated questions.
+	 */
+	private BatchResult finishBatch(int batchIndex, Test test, List<ChunkCandidate> candidates,
+			List<TestQuestion> generatedTestQuestions, int generatedCount) {
+		// 5-8) Process multi-correct questions if needed
+		List<TestQuestion> questionsForPostValidation = processMultiCorrectQuestions(generatedTestQuestions, test,
+				candidates, generatedCount, batchIndex);
+
+		// 9) Post-LLM validation (full)
+		List<TestQuestion> validatedTestQuestions = postLlmFinalValidator
+				.validateAndNormalize(questionsForPostValidation, test, candidates, generatedCount);
+		log.info("    Test generation {} - Batch No. {} - Post-validated and normalized {} questions in batch.",
+				test.getId(), batchIndex, validatedTestQuestions.size());
+
+		if (validatedTestQuestions.isEmpty()) {
+			log.warn(
+					"    Test generation {} - Batch No. {} - Validation returned 0 questions (generated: {}, pre-validated: {}, post-validated: 0). All questions were filtered out by validation rules.",
+					test.getId(), batchIndex, generatedTestQuestions.size(), questionsForPostValidation.size());
+		}
+
+		return new BatchResult(generatedTestQuestions.size(), validatedTestQuestions);
+	}
+
 	/**
 	 * Processes generated questions - for MULTIPLE_CORRECT tests, splits,
 	 * validates, verifies, and merges questions.
 	 *
 	 * @param generatedQuestions the questions generated by LLM
 	 * @param test               the test being generated
-	 * @param embeddings         the chunk embeddings
+	 * @param candidates         the chunk candidates
 	 * @param generatedCount     the count of questions generated so far
 	 * @param batchIndex         the current batch index for logging
 	 * @return questions ready for post-validation
 	 */
 	private List<TestQuestion> processMultiCorrectQuestions(List<TestQuestion> generatedQuestions, Test test,
-			List<ChunkEmbedding> embeddings, int generatedCount, int batchIndex) {
+			List<ChunkCandidate> candidates, int generatedCount, int batchIndex) {
 		if (test.getAnswerCardinality() != AnswerCardinality.MULTIPLE_CORRECT) {
 			return generatedQuestions;
 		}
@@ -329,18 +750,13 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 		// 6) Pre-LLM validation (multi-correct only) to filter unsafe questions before
 		// verification
 		List<TestQuestion> preValidatedMultiCorrectQuestions = preLlmPreflightValidator
-				.validateAndNormalize(multiCorrectQuestions, test, embeddings, generatedCount);
+				.validateAndNormalize(multiCorrectQuestions, test, candidates, generatedCount);
 		log.info("    Test generation {} - Batch No. {} - Pre-validated {} multi-correct questions.", test.getId(),
 				batchIndex, preValidatedMultiCorrectQuestions.size());
 
-		// 6.5) Build prompt for pre-validated questions
-		String prompt = verificationPromptBuilder.buildPrompt(preValidatedMultiCorrectQuestions, test);
-		log.debug("    Test generation {} - Batch No. {} - Built verification prompt for batch of {} questions: {}",
-				test.getId(), batchIndex, preValidatedMultiCorrectQuestions.size(), prompt);
-
-		// 7) Verify and replace unsafe incorrect options for MULTIPLE_CORRECT questions
-		int replacedCount = llmIncorrectOptionsVerificationService.verifyAndReplaceUnsafeOptions(prompt, test,
-				preValidatedMultiCorrectQuestions);
+		// 6.5-7) Verify and replace unsafe incorrect options for MULTIPLE_CORRECT
+		// questions (one call may cover the questions of several batches / tests)
+		int replacedCount = verificationCoalescer.verify(test, preValidatedMultiCorrectQuestions);
 		if (replacedCount > 0) {
 			log.info("    Test generation {} - Batch No. {} - Verified and replaced {} unsafe incorrect options.",
 					test.getId(), batchIndex, replacedCount);
@@ -386,7 +802,8 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 
 	private Test createBatchTestCopy(Test test, int batchSize) {
 		Test batchTest = Test.builder().tenantId(test.getTenantId()).id(test.getId()).difficulty(test.getDifficulty())
-				.avoidRepeats(test.getAvoidRepeats()).coverageMode(test.getCoverageMode()).questionCount(batchSize)
+				.avoidRepeats(test.getAvoidRepeats()).coverageMode(test.getCoverageMode())
+				.focusQuery(test.getFocusQuery()).questionCount(batchSize)
 				.answerCardinality(test.getAnswerCardinality())
 				.minMultipleCorrectQuestionsCount(
 						computeMinMultipleCorrectQuestionsCount(batchSize, test.getAnswerCardinality()))
@@ -449,6 +866,38 @@ public class TestGenerationServiceImpl implements TestGenerationService {
 		return testRepository.findByTenantIdAndId(tenantId, testId);
 	}
 
+	@Override
+	public Optional<TestGenerationProgress> getProgress(Long testId) {
+		Long tenantId = executionContext.tenantId();
+		Optional<Test> test = testRepository.findByTenantIdAndId(tenantId, testId);
+		if (test.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(progressTracker.get(testId).orElseGet(() -> persistedProgress(test.get())));
+	}
+
+	@Override
+	public Optional<Runnable> subscribeProgress(Long testId, Consumer<TestGenerationProgress> subscriber) {
+		Long tenantId = executionContext.tenantId();
+		if (testRepository.findByTenantIdAndId(tenantId, testId).isEmpty()) {
+			return Optional.empty();
+		}
+		return progressTracker.subscribe(testId, subscriber);
+	}
+
+	/**
+	 * Progress of a test that is not running on this instance, from its persisted
+	 * state. Batch counts are unknown there.
+	 */
+	private TestGenerationProgress persistedProgress(Test test) {
+		int questionCount = test.getQuestionCount() != null ? test.getQuestionCount() : 0;
+		int validated = test.getStatus() == TestStatus.GENERATED
+				? testQuestionRepository.findByTestId(test.getId()).size()
+				: 0;
+		return new TestGenerationProgress(test.getId(), test.getStatus(), 0, validated, validated, questionCount,
+				test.getGenerationErrorMessage());
+	}
+
 	@Override
 	public List<Test> getAll() {
 		Long tenantId = executionContext.tenantId();
@@ -1,6 +1,7 @@
 package com.knowgauge.core.service.testgeneration;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,7 +10,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.TestQuestion;
 import com.knowgauge.core.model.enums.TestStatus;
@@ -49,14 +50,14 @@ public class TestGenerationTransactionalServiceImpl {
 
 	@Transactional
 	public void persistTestQuestions(Long tenantId, Long testId, List<TestQuestion> questions,
-			List<ChunkEmbedding> embeddings) {
+			List<ChunkCandidate> candidates) {
 
 		// 1) Determine default source chunk ids for this test run (if LLM didn't
 		// provide per-question citations)
 		// Option A: put ALL used chunkIds on each question (simple + consistent)
 		// Later you can evolve to per-question sourceChunkIdsJson if your generator
 		// produces it.
-		List<Long> defaultSourceChunkIds = embeddings.stream().map(ChunkEmbedding::getChunkId).distinct()
+		List<Long> defaultSourceChunkIds = candidates.stream().map(ChunkCandidate::chunkId).distinct()
 				.collect(Collectors.toList());
 
 		// 2) Prepare questions for persistence
@@ -75,6 +76,12 @@ public class TestGenerationTransactionalServiceImpl {
 		testQuestionRepository.saveAll(questions);
 	}
 
+	@Transactional
+	public void markTestGenerating(Long tenantId, Long testId) {
+	    int updated = testRepository.markGenerating(tenantId, testId, Instant.now());
+	    if (updated == 0) throw new IllegalArgumentException("Test not found: " + testId);
+	}
+
 	@Transactional
 	public Test markTestGenerated(Long tenantId, Long testId) {
 	    int updated = testRepository.markGenerated(tenantId, testId, Instant.now());
@@ -88,6 +95,24 @@ public class TestGenerationTransactionalServiceImpl {
 	    if (updated == 0) throw new IllegalArgumentException("Test not found: " + testId);
 	}
 	
+	@Transactional
+	public void touchActiveTests(Collection<Long> testIds) {
+		testRepository.touchActive(testIds, Instant.now());
+	}
+
+	@Transactional(readOnly = true)
+	public List<Test> findStaleActiveTests(Instant staleBefore) {
+		return testRepository.findStaleActive(staleBefore);
+	}
+
+	/**
+	 * @return false when the test got a heartbeat or finished in the meantime
+	 */
+	@Transactional
+	public boolean markStaleTestFailed(Long tenantId, Long testId, String errorMessage, Instant staleBefore) {
+		return testRepository.markFailedIfStale(tenantId, testId, errorMessage, Instant.now(), staleBefore) > 0;
+	}
+
 	@Transactional
 	public void setUsedChunks(Long tenantId, Long testId, List<Long> chunkIds) {
 	    testRepository.setUsedChunks(tenantId, testId, chunkIds);
@@ -0,0 +1,273 @@
+package com.knowgauge.core.service.testgeneration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Test;
+import com.knowgauge.core.model.TestQuestion;
+import com.knowgauge.core.port.testgeneration.LlmIncorrectOptionsVerificationService;
+import com.knowgauge.core.service.testgeneration.prompt.PromptTokenBudget;
+import com.knowgauge.core.service.testgeneration.prompt.VerificationPromptBuilder;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects multi-correct questions that need incorrect-option verification and
+ * sends them in as few LLM calls as possible.
+ *
+ * Requests of the same tenant with the same coalescing key (same verification
+ * model configuration, see
+ * {@link LlmIncorrectOptionsVerificationService#coalescingKey}) share calls.
+ * A request is sent right away when no call of its key is in flight, so a lone
+ * caller never waits. While a call is in flight, new requests join an open
+ * call that is sent when the in-flight call completes, when it holds
+ * maxQuestionsPerCall questions or maxQuestionTokens tokens, or maxWaitMillis
+ * after its first request, whichever comes first.
+ *
+ * Each call is sent on a virtual thread with one prompt over all questions.
+ * Replacements are applied in place to the question objects, so every caller
+ * finds its own questions updated; callers block until their call has
+ * completed. If a call over several tests fails, it is retried once per test,
+ * so one bad response only fails the requests of its own test.
+ */
+@Component
+@Slf4j
+public class VerificationCoalescer {
+
+	private final LlmIncorrectOptionsVerificationService verificationService;
+	private final VerificationPromptBuilder promptBuilder;
+	private final PromptTokenBudget promptTokenBudget;
+	private final VerificationCoalescingProperties properties;
+
+	// Open (not yet sent) calls by coalescing key; guarded by this
+	private final Map<String, PendingCall> open = new HashMap<>();
+
+	// Sent, not yet completed calls by coalescing key; guarded by this
+	private final Map<String, Integer> inFlight = new HashMap<>();
+
+	private final ScheduledExecutorService flushTimer = Executors.newSingleThreadScheduledExecutor();
+	private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+	public VerificationCoalescer(LlmIncorrectOptionsVerificationService verificationService,
+			VerificationPromptBuilder promptBuilder, PromptTokenBudget promptTokenBudget,
+			VerificationCoalescingProperties properties) {
+		this.verificationService = verificationService;
+		this.promptBuilder = promptBuilder;
+		this.promptTokenBudget = promptTokenBudget;
+		this.properties = properties;
+	}
+
+	/**
+	 * Verifies and replaces unsafe incorrect options of the given questions.
+	 * Returns the number of options replaced in these questions.
+	 */
+	public int verify(Test test, List<TestQuestion> questions) {
+		if (questions == null || questions.isEmpty()) {
+			return 0;
+		}
+		if (!properties.isEnabled()) {
+			String prompt = promptBuilder.buildPrompt(questions, test);
+			return verificationService.verifyAndReplaceUnsafeOptions(prompt, test, questions);
+		}
+
+		Request request = new Request(test, questions, questionTokens(test, questions), new CompletableFuture<>());
+		// Questions of different tenants never share a call
+		String key = test.getTenantId() + "|" + verificationService.coalescingKey(test);
+
+		synchronized (this) {
+			PendingCall call = open.get(key);
+			if (call != null && !call.fits(request)) {
+				send(key, call);
+				call = null;
+			}
+			if (call == null) {
+				call = new PendingCall();
+				open.put(key, call);
+				if (inFlight.containsKey(key)) {
+					PendingCall scheduled = call;
+					flushTimer.schedule(() -> flush(key, scheduled), Math.max(0, properties.getMaxWaitMillis()),
+							TimeUnit.MILLISECONDS);
+				}
+			}
+			call.add(request);
+			if (call.isFull() || !inFlight.containsKey(key)) {
+				send(key, call);
+			}
+		}
+
+		try {
+			return request.replaced().get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for option verification", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			throw cause instanceof RuntimeException re ? re : new IllegalStateException(cause.getMessage(), cause);
+		}
+	}
+
+	private synchronized void flush(String key, PendingCall call) {
+		if (open.get(key) == call) {
+			send(key, call);
+		}
+	}
+
+	/**
+	 * Closes the call and hands it to a sender. Must hold the lock.
+	 */
+	private void send(String key, PendingCall call) {
+		open.remove(key, call);
+		inFlight.merge(key, 1, Integer::sum);
+		senders.submit(() -> {
+			try {
+				execute(call.requests());
+			} finally {
+				completed(key);
+			}
+		});
+	}
+
+	/**
+	 * Sends the call that collected requests while this one was in flight.
+	 */
+	private synchronized void completed(String key) {
+		inFlight.computeIfPresent(key, (k, calls) -> calls > 1 ? calls - 1 : null);
+		PendingCall next = open.get(key);
+		if (next != null) {
+			send(key, next);
+		}
+	}
+
+	private void execute(List<Request> requests) {
+		try {
+			verifyTogether(requests);
+		} catch (RuntimeException e) {
+			Map<Long, List<Request>> byTest = new LinkedHashMap<>();
+			requests.forEach(r -> byTest.computeIfAbsent(r.test().getId(), id -> new ArrayList<>()).add(r));
+			if (byTest.size() == 1) {
+				requests.forEach(r -> r.replaced().completeExceptionally(e));
+				return;
+			}
+
+			log.warn("    Verification call over {} tests failed ({}), retrying per test", byTest.size(),
+					e.getMessage());
+			for (List<Request> group : byTest.values()) {
+				try {
+					verifyTogether(group);
+				} catch (RuntimeException groupFailure) {
+					group.forEach(r -> r.replaced().completeExceptionally(groupFailure));
+				}
+			}
+		}
+	}
+
+	/**
+	 * One call over the questions of all requests, with the model settings of the
+	 * first request's test. Completes the requests on success only.
+	 */
+	private void verifyTogether(List<Request> requests) {
+		Test test = requests.get(0).test();
+		List<TestQuestion> all = new ArrayList<>();
+		requests.forEach(r -> all.addAll(r.questions()));
+
+		List<List<String>> before = all.stream().map(VerificationCoalescer::options).toList();
+
+		String prompt = promptBuilder.buildPrompt(all, test);
+		log.debug("    Test generation {} - Built verification prompt for {} questions of {} requests: {}",
+				test.getId(), all.size(), requests.size(), prompt);
+		int replaced = verificationService.verifyAndReplaceUnsafeOptions(prompt, test, all);
+		log.info("    Test generation {} - Verified {} multi-correct questions of {} requests in one call, {} options replaced",
+				test.getId(), all.size(), requests.size(), replaced);
+
+		// Replacements were applied in place; count them per request
+		int offset = 0;
+		for (Request request : requests) {
+			int count = 0;
+			for (int i = 0; i < request.questions().size(); i++) {
+				count += changedOptions(before.get(offset + i), options(request.questions().get(i)));
+			}
+			offset += request.questions().size();
+			request.replaced().complete(count);
+		}
+	}
+
+	private int questionTokens(Test test, List<TestQuestion> questions) {
+		int tokens = 0;
+		for (TestQuestion q : questions) {
+			tokens += promptTokenBudget.countTokens(String.join("\n", Objects.toString(q.getQuestionText(), ""),
+					String.join("\n", options(q))), test.getGenerationModel());
+		}
+		return tokens;
+	}
+
+	private static List<String> options(TestQuestion q) {
+		return List.of(Objects.toString(q.getOptionA(), ""), Objects.toString(q.getOptionB(), ""),
+				Objects.toString(q.getOptionC(), ""), Objects.toString(q.getOptionD(), ""));
+	}
+
+	private static int changedOptions(List<String> before, List<String> after) {
+		int changed = 0;
+		for (int i = 0; i < before.size(); i++) {
+			if (!before.get(i).equals(after.get(i))) {
+				changed++;
+			}
+		}
+		return changed;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		flushTimer.shutdownNow();
+		senders.shutdownNow();
+	}
+
+	private record Request(Test test, List<TestQuestion> questions, int tokens, CompletableFuture<Integer> replaced) {
+	}
+
+	/**
+	 * Call still accepting requests. Not thread-safe, used under the coalescer
+	 * lock.
+	 */
+	private final class PendingCall {
+
+		private final List<Request> requests = new ArrayList<>();
+		private int questions;
+		private int tokens;
+
+		/**
+		 * An empty call accepts any request, even one above the limits on its own.
+		 */
+		boolean fits(Request request) {
+			return requests.isEmpty()
+					|| (questions + request.questions().size() <= properties.getMaxQuestionsPerCall()
+							&& tokens + request.tokens() <= properties.getMaxQuestionTokens());
+		}
+
+		void add(Request request) {
+			requests.add(request);
+			questions += request.questions().size();
+			tokens += request.tokens();
+		}
+
+		boolean isFull() {
+			return questions >= properties.getMaxQuestionsPerCall() || tokens >= properties.getMaxQuestionTokens();
+		}
+
+		List<Request> requests() {
+			return requests;
+		}
+	}
+}
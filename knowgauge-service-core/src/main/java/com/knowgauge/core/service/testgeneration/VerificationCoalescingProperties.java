@@ -0,0 +1,64 @@
+package com.knowgauge.core.service.testgeneration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.verification.coalescing")
+public class VerificationCoalescingProperties {
+
+	/**
+	 * Verify multi-correct questions of several batches (and tests) in one LLM
+	 * call (false = one verification call per batch).
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * How long the first questions of a call wait for more questions to join
+	 * while another call of the same model is in flight. Without a call in
+	 * flight, questions are sent right away.
+	 */
+	private long maxWaitMillis = 200;
+
+	/**
+	 * Max questions per verification call (bounds the output of the call).
+	 */
+	private int maxQuestionsPerCall = 5;
+
+	/**
+	 * Max tokens of the questions (text and distractors) per verification call.
+	 */
+	private int maxQuestionTokens = 4000;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public long getMaxWaitMillis() {
+		return maxWaitMillis;
+	}
+
+	public void setMaxWaitMillis(long maxWaitMillis) {
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	public int getMaxQuestionsPerCall() {
+		return maxQuestionsPerCall;
+	}
+
+	public void setMaxQuestionsPerCall(int maxQuestionsPerCall) {
+		this.maxQuestionsPerCall = maxQuestionsPerCall;
+	}
+
+	public int getMaxQuestionTokens() {
+		return maxQuestionTokens;
+	}
+
+	public void setMaxQuestionTokens(int maxQuestionTokens) {
+		this.maxQuestionTokens = maxQuestionTokens;
+	}
+}
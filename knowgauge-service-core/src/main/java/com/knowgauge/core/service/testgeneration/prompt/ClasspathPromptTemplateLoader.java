@@ -1,45 +1,48 @@
 package com.knowgauge.core.service.testgeneration.prompt;
 
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Loads templates from the classpath once and keeps them compiled (see
+ * {@link ReloadableClasspathResource} for hot reload).
+ */
 @Component
 public class ClasspathPromptTemplateLoader implements PromptTemplateLoader {
 
 	private final String basePath;
+	private final boolean hotReload;
+
+	private final Map<String, ReloadableClasspathResource<CompiledPromptTemplate>> compiled = new ConcurrentHashMap<>();
+	private final Map<String, ReloadableClasspathResource<String>> raw = new ConcurrentHashMap<>();
 
 	public ClasspathPromptTemplateLoader(
-			@Value("${kg.testgen.prompt.templates.classpathBase}") String basePath) {
+			@Value("${kg.testgen.prompt.templates.classpathBase}") String basePath,
+			@Value("${kg.testgen.prompt.templates.hot-reload:false}") boolean hotReload) {
 		this.basePath = basePath.endsWith("/") ? basePath : basePath + "/";
+		this.hotReload = hotReload;
 	}
 
 	@Override
 	public String loadTemplate(String templateId) {
+		return raw.computeIfAbsent(templateId, id -> resource(id, template -> template)).get();
+	}
 
-		String resourcePath = basePath + templateId + ".txt";
-
-		InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
-
-		if (is == null) {
-			throw new IllegalStateException("Prompt template not found on classpath: " + resourcePath);
-		}
-
-		try (is) {
-			return new String(is.readAllBytes(), StandardCharsets.UTF_8);
-		} catch (Exception e) {
-			throw new IllegalStateException("Failed to read template: " + resourcePath, e);
-		}
+	@Override
+	public CompiledPromptTemplate loadCompiledTemplate(String templateId) {
+		return compiled.computeIfAbsent(templateId, id -> resource(id, CompiledPromptTemplate::compile)).get();
 	}
 
 	@Override
 	public boolean exists(String templateId) {
-		String resourcePath = basePath + templateId + ".txt";
-
-		InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
+		return resource(templateId, template -> template).exists();
+	}
 
-		return is != null;
+	private <T> ReloadableClasspathResource<T> resource(String templateId, Function<String, T> parser) {
+		return new ReloadableClasspathResource<>(basePath + templateId + ".txt", "Prompt template", hotReload, parser);
 	}
 }
@@ -0,0 +1,84 @@
+package com.knowgauge.core.service.testgeneration.prompt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Prompt template parsed once into literal and {{placeholder}} segments.
+ *
+ * Rendering resolves every placeholder once, sizes the output exactly and
+ * writes it in a single pass, so a context-sized prompt is built without the
+ * intermediate copies of one String.replace per variable. Placeholders without
+ * a variable are kept as they are; values are never scanned for placeholders.
+ *
+ * Immutable and thread-safe.
+ */
+public final class CompiledPromptTemplate {
+
+	private static final String OPEN = "{{";
+	private static final String CLOSE = "}}";
+
+	// literals.length == placeholders.length + 1
+	private final String[] literals;
+	private final String[] placeholders;
+	private final int literalLength;
+
+	private CompiledPromptTemplate(String[] literals, String[] placeholders) {
+		this.literals = literals;
+		this.placeholders = placeholders;
+		int length = 0;
+		for (String literal : literals) {
+			length += literal.length();
+		}
+		this.literalLength = length;
+	}
+
+	public static CompiledPromptTemplate compile(String template) {
+		Objects.requireNonNull(template, "template must not be null");
+
+		List<String> literals = new ArrayList<>();
+		List<String> placeholders = new ArrayList<>();
+
+		int from = 0;
+		while (true) {
+			int open = template.indexOf(OPEN, from);
+			int close = open < 0 ? -1 : template.indexOf(CLOSE, open + OPEN.length());
+			if (close < 0) {
+				literals.add(template.substring(from));
+				break;
+			}
+			literals.add(template.substring(from, open));
+			placeholders.add(template.substring(open + OPEN.length(), close));
+			from = close + CLOSE.length();
+		}
+
+		return new CompiledPromptTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+	}
+
+	public String render(Map<String, Object> variables) {
+		if (placeholders.length == 0) {
+			return literals[0];
+		}
+
+		String[] values = new String[placeholders.length];
+		int length = literalLength;
+		for (int i = 0; i < placeholders.length; i++) {
+			String key = placeholders[i];
+			values[i] = variables != null && variables.containsKey(key) ? stringify(variables.get(key))
+					: OPEN + key + CLOSE;
+			length += values[i].length();
+		}
+
+		StringBuilder out = new StringBuilder(length);
+		for (int i = 0; i < placeholders.length; i++) {
+			out.append(literals[i]).append(values[i]);
+		}
+		return out.append(literals[placeholders.length]).toString();
+	}
+
+	private static String stringify(Object value) {
+		return value == null ? "" : String.valueOf(value);
+	}
+}
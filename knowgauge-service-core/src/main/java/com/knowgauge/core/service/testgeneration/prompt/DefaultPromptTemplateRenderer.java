@@ -13,6 +13,10 @@ import org.springframework.stereotype.Component;
  * Variables: topic=Java context=JVM manages memory...
  *
  * Result: "Topic: Java\nContext:\nJVM manages memory..."
+ *
+ * Rendering is single-pass (see {@link CompiledPromptTemplate}); callers that
+ * render the same template repeatedly should pass the compiled template from
+ * {@link PromptTemplateLoader#loadCompiledTemplate(String)}.
  */
 @Component
 public class DefaultPromptTemplateRenderer implements PromptTemplateRenderer {
@@ -26,36 +30,14 @@ public class DefaultPromptTemplateRenderer implements PromptTemplateRenderer {
 			return template;
 		}
 
-		String result = template;
-
-		for (Map.Entry<String, Object> entry : variables.entrySet()) {
-
-			String key = entry.getKey();
-
-			if (key == null || key.isBlank()) {
-				continue;
-			}
-
-			String placeholder = "{{" + key + "}}";
-
-			String value = stringify(entry.getValue());
-
-			result = result.replace(placeholder, value);
-		}
-
-		return result;
+		return CompiledPromptTemplate.compile(template).render(variables);
 	}
 
-	private String stringify(Object value) {
-
-		if (value == null) {
-			return "";
-		}
+	@Override
+	public String render(CompiledPromptTemplate template, Map<String, Object> variables) {
 
-		if (value instanceof String s) {
-			return s;
-		}
+		Objects.requireNonNull(template, "template must not be null");
 
-		return String.valueOf(value);
+		return template.render(variables);
 	}
 }
@@ -6,9 +6,13 @@ public interface PromptTemplateLoader {
      */
     String loadTemplate(String templateId);
 
+    /**
+     * @return the template parsed for rendering, cached by the loader
+     */
+    CompiledPromptTemplate loadCompiledTemplate(String templateId);
+
     /**
      * Optional convenience: whether a template exists.
      */
     boolean exists(String templateId);
 }
-
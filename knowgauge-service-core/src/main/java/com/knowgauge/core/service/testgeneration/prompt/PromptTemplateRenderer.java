@@ -4,4 +4,6 @@ import java.util.Map;
 
 public interface PromptTemplateRenderer {
     String render(String template, Map<String, Object> variables);
+
+    String render(CompiledPromptTemplate template, Map<String, Object> variables);
 }
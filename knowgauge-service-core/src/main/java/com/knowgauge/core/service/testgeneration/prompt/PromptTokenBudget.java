@@ -0,0 +1,69 @@
+package com.knowgauge.core.service.testgeneration.prompt;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Test;
+import com.knowgauge.core.port.testgeneration.TokenCounter;
+import com.knowgauge.core.service.testgeneration.TestGenerationContextProperties;
+
+/**
+ * Token budget of one generation prompt, counted locally with the tokenizer of
+ * the generation model.
+ *
+ * The output reservation is the model's maxOutputTokens (generationParams, else
+ * kg.testgen.context.default-max-output-tokens); the input may use the rest of the context window
+ * minus a safety margin. The batch size is chosen so that the expected output
+ * of the batch fits into the reservation, instead of finding out through a
+ * LENGTH-truncated response.
+ */
+@Component
+public class PromptTokenBudget {
+
+	private final TokenCounter tokenCounter;
+	private final TestGenerationContextProperties properties;
+
+	public PromptTokenBudget(TokenCounter tokenCounter, TestGenerationContextProperties properties) {
+		this.tokenCounter = tokenCounter;
+		this.properties = properties;
+	}
+
+	public int countTokens(String text, String model) {
+		return tokenCounter.countTokens(text, model);
+	}
+
+	/**
+	 * Largest batch size up to {@code requested} whose output fits into the
+	 * reserved output tokens (at least 1).
+	 */
+	public int fittingBatchSize(Test test, int requested) {
+		int perQuestion = Math.max(1, properties.getOutputTokensPerQuestion());
+		int fitting = (maxOutputTokens(test) - properties.getOutputOverheadTokens()) / perQuestion;
+		return Math.max(1, Math.min(requested, fitting));
+	}
+
+	/**
+	 * Tokens the whole prompt (template, schema and context) may take.
+	 */
+	public int inputTokens(Test test) {
+		return properties.contextWindowTokensFor(test.getGenerationModel()) - maxOutputTokens(test)
+				- properties.getSafetyMarginTokens();
+	}
+
+	/**
+	 * Upper bound of the chunk context alone, on top of the input limit.
+	 */
+	public int contextTokens(Test test) {
+		return properties.contextTokensFor(test.getGenerationModel());
+	}
+
+	public int maxOutputTokens(Test test) {
+		Map<String, Object> params = test.getGenerationParams();
+		Object raw = params != null ? params.get("maxOutputTokens") : null;
+		if (raw instanceof Number number) {
+			return number.intValue();
+		}
+		return raw != null ? Integer.parseInt(String.valueOf(raw)) : properties.getDefaultMaxOutputTokens();
+	}
+}
@@ -0,0 +1,90 @@
+package com.knowgauge.core.service.testgeneration.prompt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * UTF-8 classpath resource that is read and parsed once.
+ *
+ * With hot reload the resource's last-modified time is checked on every access
+ * and the content is read and parsed again when it changed (useful with
+ * exploded classpath directories during prompt work; a resource inside a jar
+ * keeps the jar's time).
+ */
+public final class ReloadableClasspathResource<T> {
+
+	private final String resourcePath;
+	private final String description;
+	private final boolean hotReload;
+	private final Function<String, T> parser;
+
+	private volatile Loaded<T> loaded;
+
+	/**
+	 * @param description used in error messages, e.g. "Prompt template"
+	 */
+	public ReloadableClasspathResource(String resourcePath, String description, boolean hotReload,
+			Function<String, T> parser) {
+		this.resourcePath = resourcePath;
+		this.description = description;
+		this.hotReload = hotReload;
+		this.parser = parser;
+	}
+
+	public T get() {
+		Loaded<T> current = loaded;
+		if (current != null && !hotReload) {
+			return current.value();
+		}
+
+		URL url = getClass().getClassLoader().getResource(resourcePath);
+		if (url == null) {
+			throw new IllegalStateException(description + " not found on classpath: " + resourcePath);
+		}
+
+		long lastModified = hotReload ? lastModified(url) : 0L;
+		if (current != null && current.lastModified() == lastModified) {
+			return current.value();
+		}
+
+		synchronized (this) {
+			current = loaded;
+			if (current != null && current.lastModified() == lastModified) {
+				return current.value();
+			}
+			try (InputStream is = url.openStream()) {
+				T value = parser.apply(new String(is.readAllBytes(), StandardCharsets.UTF_8));
+				loaded = new Loaded<>(value, lastModified);
+				return value;
+			} catch (IOException e) {
+				throw new IllegalStateException("Failed to read " + description.toLowerCase(Locale.ROOT) + ": " + resourcePath,
+						e);
+			}
+		}
+	}
+
+	public boolean exists() {
+		return loaded != null || getClass().getClassLoader().getResource(resourcePath) != null;
+	}
+
+	private static long lastModified(URL url) {
+		try {
+			URLConnection connection = url.openConnection();
+			connection.setUseCaches(false);
+			long lastModified = connection.getLastModified();
+			// Close the stream the connection may have opened (jar / file)
+			connection.getInputStream().close();
+			return lastModified;
+		} catch (IOException e) {
+			return -1L;
+		}
+	}
+
+	private record Loaded<T>(T value, long lastModified) {
+	}
+}
@@ -1,10 +1,10 @@
 package com.knowgauge.core.service.testgeneration.prompt;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,20 +15,28 @@ import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.enums.AnswerCardinality;
 import com.knowgauge.core.service.testgeneration.schema.SchemaProvider;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class TestGenerationPromptBuilder {
+	private static final String CHUNK_SEPARATOR = "\n\n---\n\n";
+
 	private final PromptTemplateLoader templateLoader;
 	private final PromptTemplateRenderer templateRenderer;
 	private final SchemaProvider schemaProvider;
+	private final PromptTokenBudget tokenBudget;
 	private final String defaultTemplateId;
 
 	public TestGenerationPromptBuilder(PromptTemplateLoader templateLoader, PromptTemplateRenderer templateRenderer,
 			@Qualifier("testGenerationOutputSchemaProvider") SchemaProvider schemaProvider,
+			PromptTokenBudget tokenBudget,
 			@Value("${kg.testgen.defaults.prompt-template-id}") String defaultTemplateId) {
 		super();
 		this.templateLoader = templateLoader;
 		this.templateRenderer = templateRenderer;
 		this.schemaProvider = schemaProvider;
+		this.tokenBudget = tokenBudget;
 		this.defaultTemplateId = defaultTemplateId;
 	}
 
@@ -37,7 +45,7 @@ public class TestGenerationPromptBuilder {
 		Objects.requireNonNull(chunks, "Chunks must not be null.");
 
 		String templateId = resolveTemplateId(test);
-		String template = templateLoader.loadTemplate(templateId);
+		CompiledPromptTemplate template = templateLoader.loadCompiledTemplate(templateId);
 
 		Map<String, Object> vars = new LinkedHashMap<>();
 
@@ -50,9 +58,14 @@ public class TestGenerationPromptBuilder {
 		// --- The generating model (more below) ---
 		vars.put("model", safe(test.getGenerationModel()));
 
-		// --- Grounding context from retrieved chunks ---
-		vars.put("context", buildContextBlock(chunks));
+		// --- Grounding context from retrieved chunks, packed into the token budget
+		// left after the rest of the prompt ---
 		vars.put("outputSchema", schemaProvider.getOutputSchemaJson());
+		vars.put("context", "");
+		String model = test.getGenerationModel();
+		int promptTokens = tokenBudget.countTokens(templateRenderer.render(template, vars), model);
+		int contextBudget = Math.min(tokenBudget.contextTokens(test), tokenBudget.inputTokens(test) - promptTokens);
+		vars.put("context", buildContextBlock(chunks, model, contextBudget, test));
 
 		return templateRenderer.render(template, vars);
 	}
@@ -70,11 +83,32 @@ public class TestGenerationPromptBuilder {
 		return templateId;
 	}
 
-	private String buildContextBlock(List<DocumentChunk> chunks) {
+	private String buildContextBlock(List<DocumentChunk> chunks, String model, int contextBudget, Test test) {
 		// Keep it deterministic and readable for the LLM:
 		// - preserve order as provided (assume already ranked)
 		// - include chunk metadata if you have it (doc/page/section)
-		return chunks.stream().map(this::formatChunk).collect(Collectors.joining("\n\n---\n\n"));
+		// - skip chunks that no longer fit the budget, smaller ones further down may
+		int separatorTokens = tokenBudget.countTokens(CHUNK_SEPARATOR, model);
+		List<String> packed = new ArrayList<>(chunks.size());
+		int used = 0;
+		for (DocumentChunk chunk : chunks) {
+			String formatted = formatChunk(chunk);
+			int tokens = tokenBudget.countTokens(formatted, model) + (packed.isEmpty() ? 0 : separatorTokens);
+			if (used + tokens <= contextBudget) {
+				packed.add(formatted);
+				used += tokens;
+			}
+		}
+
+		if (packed.isEmpty() && !chunks.isEmpty()) {
+			throw new IllegalStateException("No context chunk fits the prompt budget of " + contextBudget
+					+ " tokens (model=" + model + ", testId=" + test.getId() + ").");
+		}
+		if (packed.size() < chunks.size()) {
+			log.info("    Test generation {} - Prompt context: {}/{} chunks packed into {}/{} tokens", test.getId(),
+					packed.size(), chunks.size(), used, contextBudget);
+		}
+		return String.join(CHUNK_SEPARATOR, packed);
 	}
 
 	private String formatChunk(DocumentChunk e) {
@@ -43,7 +43,7 @@ public class VerificationPromptBuilder {
 		Objects.requireNonNull(test, "Test must not be null.");
 		Objects.requireNonNull(questions, "Chunks must not be null.");
 
-		String template = templateLoader.loadTemplate(defaultTemplateId);
+		CompiledPromptTemplate template = templateLoader.loadCompiledTemplate(defaultTemplateId);
 
 		Map<String, Object> vars = new LinkedHashMap<>();
 
@@ -1,28 +1,26 @@
 package com.knowgauge.core.service.testgeneration.schema;
 
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import com.knowgauge.core.service.testgeneration.prompt.ReloadableClasspathResource;
 
+/**
+ * Output schema read from the classpath once (optionally hot reloaded).
+ */
 public class ClasspathSchemaProvider implements SchemaProvider {
 
-	private final String resourcePath;
+	private final ReloadableClasspathResource<String> schema;
 
 	public ClasspathSchemaProvider(String basePath, String outputSchemaFile) {
+		this(basePath, outputSchemaFile, false);
+	}
+
+	public ClasspathSchemaProvider(String basePath, String outputSchemaFile, boolean hotReload) {
 		String normalizedBasePath = basePath.endsWith("/") ? basePath : basePath + "/";
-		this.resourcePath = normalizedBasePath + outputSchemaFile;
+		this.schema = new ReloadableClasspathResource<>(normalizedBasePath + outputSchemaFile, "Output schema",
+				hotReload, json -> json);
 	}
 
 	@Override
 	public String getOutputSchemaJson() {
-		InputStream is = getClass().getClassLoader().getResourceAsStream(resourcePath);
-		if (is == null) {
-			throw new IllegalStateException("Output schema not found on classpath: " + resourcePath);
-		}
-
-		try (is) {
-			return new String(is.readAllBytes(), StandardCharsets.UTF_8);
-		} catch (Exception e) {
-			throw new IllegalStateException("Failed to read output schema: " + resourcePath, e);
-		}
+		return schema.get();
 	}
 }
@@ -10,14 +10,16 @@ public class SchemaProvidersConfig {
 	@Bean(name = "testGenerationOutputSchemaProvider")
 	public SchemaProvider testGenerationOutputSchemaProvider(
 			@Value("${kg.testgen.prompt.templates.classpathBase:prompttemplates/}") String basePath,
-			@Value("${kg.testgen.prompt.templates.output-schema-file:mcq-output-template.json}") String outputSchemaFile) {
-		return new TestGenerationOutputSchemaProvider(basePath, outputSchemaFile);
+			@Value("${kg.testgen.prompt.templates.output-schema-file:mcq-output-template.json}") String outputSchemaFile,
+			@Value("${kg.testgen.prompt.templates.hot-reload:false}") boolean hotReload) {
+		return new TestGenerationOutputSchemaProvider(basePath, outputSchemaFile, hotReload);
 	}
 
 	@Bean(name = "verificationOutputSchemaProvider")
 	public SchemaProvider verificationOutputSchemaProvider(
 			@Value("${kg.testgen.verification.prompt.templates.classpathBase:prompttemplates/}") String basePath,
-			@Value("${kg.testgen.verification.prompt.templates.output-schema-file:verification-output-template.json}") String outputSchemaFile) {
-		return new VerificationOutputSchemaProvider(basePath, outputSchemaFile);
+			@Value("${kg.testgen.verification.prompt.templates.output-schema-file:verification-output-template.json}") String outputSchemaFile,
+			@Value("${kg.testgen.prompt.templates.hot-reload:false}") boolean hotReload) {
+		return new VerificationOutputSchemaProvider(basePath, outputSchemaFile, hotReload);
 	}
 }
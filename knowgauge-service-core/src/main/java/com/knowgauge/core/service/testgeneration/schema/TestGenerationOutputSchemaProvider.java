@@ -5,4 +5,8 @@ public class TestGenerationOutputSchemaProvider extends ClasspathSchemaProvider
 	public TestGenerationOutputSchemaProvider(String basePath, String outputSchemaFile) {
 		super(basePath, outputSchemaFile);
 	}
+
+	public TestGenerationOutputSchemaProvider(String basePath, String outputSchemaFile, boolean hotReload) {
+		super(basePath, outputSchemaFile, hotReload);
+	}
 }
@@ -5,4 +5,8 @@ public class VerificationOutputSchemaProvider extends ClasspathSchemaProvider {
 	public VerificationOutputSchemaProvider(String basePath, String outputSchemaFile) {
 		super(basePath, outputSchemaFile);
 	}
+
+	public VerificationOutputSchemaProvider(String basePath, String outputSchemaFile, boolean hotReload) {
+		super(basePath, outputSchemaFile, hotReload);
+	}
 }
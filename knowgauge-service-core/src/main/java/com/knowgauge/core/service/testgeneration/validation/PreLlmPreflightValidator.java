@@ -4,7 +4,7 @@ import java.util.List;
 
 import org.springframework.stereotype.Component;
 
-import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.TestQuestion;
 
@@ -18,8 +18,8 @@ public class PreLlmPreflightValidator {
 	}
 
 	public List<TestQuestion> validateAndNormalize(List<TestQuestion> questions, Test test,
-			List<ChunkEmbedding> embeddings, int generatedCount) {
-		return validator.validateAndNormalize(questions, test, embeddings, generatedCount,
+			List<ChunkCandidate> candidates, int generatedCount) {
+		return validator.validateAndNormalize(questions, test, candidates, generatedCount,
 				TestQuestionValidator.preLlmStrategies());
 	}
 }
@@ -12,6 +12,7 @@ import com.knowgauge.core.model.Document;
 import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.Topic;
 import com.knowgauge.core.model.enums.DocumentStatus;
+import com.knowgauge.core.model.enums.TestCoverageMode;
 import com.knowgauge.core.service.content.DocumentService;
 import com.knowgauge.core.service.content.TopicService;
 
@@ -49,6 +50,7 @@ public class TestDraftValidator {
 
         validateAtLeastOneSourceSelected(topicIds, explicitDocumentIds);
         validateQuestionCount(testDraft);
+        validateFocusQuery(testDraft);
 
         List<Topic> topics = validateTopicsExistAndBelongToTenant(tenantId, topicIds);
 
@@ -116,6 +118,13 @@ public class TestDraftValidator {
         }
     }
 
+    private void validateFocusQuery(Test test) {
+        if (test.getCoverageMode() == TestCoverageMode.FOCUSED
+                && (test.getFocusQuery() == null || test.getFocusQuery().isBlank())) {
+            throw new IllegalArgumentException("Test.focusQuery is required for FOCUSED coverage mode");
+        }
+    }
+
     private List<Topic> validateTopicsExistAndBelongToTenant(Long tenantId, List<Long> topicIds) {
 
         List<Topic> topics = new ArrayList<>();
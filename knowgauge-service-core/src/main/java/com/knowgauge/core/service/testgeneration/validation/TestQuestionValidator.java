@@ -2,20 +2,24 @@ package com.knowgauge.core.service.testgeneration.validation;
 
 import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
-import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.TestQuestion;
 import com.knowgauge.core.model.enums.AnswerCardinality;
@@ -34,7 +38,13 @@ import lombok.extern.slf4j.Slf4j;
  * Normalize questionIndex to sequential values - Enforce test.questionCount
  * limit - Optional enforcement of multi-correct quota for the validated batch
  *
- * Thread-safe and stateless.
+ * Each strategy list is compiled once into a fixed chain of stages; the
+ * grounding chunk ids are built once per test and candidate list and reused by
+ * the pre- and post-validation of all its batches. Text normalization skips
+ * NFKC for ASCII text and returns already normalized strings unchanged.
+ *
+ * Thread-safe; the only state is the compiled chains and the grounding id
+ * cache.
  */
 @Slf4j
 @Component
@@ -51,6 +61,13 @@ public class TestQuestionValidator {
 	private static final Pattern COUNT_REVEALING = Pattern
 			.compile("(?i)\\b(which|select|choose)\\s+(two|three|four|\\d+)\\b");
 
+	// Numbering prefixes the LLM sometimes puts in front of the question text
+	private static final Pattern Q_NUMBER_PREFIX = Pattern.compile("^(Q\\d+\\s*[:.)]\\s*)");
+	private static final Pattern QUESTION_PREFIX = Pattern.compile("^(Question\\s*[:.)]\\s*)");
+
+	// Grounding ids of the tests currently being generated
+	private static final int MAX_GROUNDING_ENTRIES = 64;
+
 	// Heuristic: detect "mega options" that bundle multiple facts into one option.
 	private static final int BUNDLE_COMMA_THRESHOLD = 3; // >= 2 commas/semicolons => likely bundle
 	private static final int BUNDLE_WORD_THRESHOLD = 14; // long option + conjunction => suspicious
@@ -64,6 +81,28 @@ public class TestQuestionValidator {
 		POST_SHUFFLE_SANITY, MULTI_CORRECT_QUOTA
 	}
 
+	private static final List<ValidationStrategy> PRE_LLM_STRATEGIES = List.of(ValidationStrategy.NORMALIZE_FIELDS,
+			ValidationStrategy.STRUCTURE, ValidationStrategy.GROUNDING, ValidationStrategy.BUNDLED_OPTIONS,
+			ValidationStrategy.COUNT_REVEALING, ValidationStrategy.DEDUPE);
+
+	private static final List<ValidationStrategy> POST_LLM_STRATEGIES = List.of(ValidationStrategy.NORMALIZE_FIELDS,
+			ValidationStrategy.STRUCTURE, ValidationStrategy.GROUNDING, ValidationStrategy.BUNDLED_OPTIONS,
+			ValidationStrategy.COUNT_REVEALING, ValidationStrategy.DEDUPE, ValidationStrategy.SHUFFLE_AND_REMAP,
+			ValidationStrategy.POST_SHUFFLE_SANITY, ValidationStrategy.MULTI_CORRECT_QUOTA);
+
+	// Compiled stage chains by strategy list
+	private final Map<List<ValidationStrategy>, Pipeline> pipelines = new ConcurrentHashMap<>();
+
+	// Grounding chunk ids by test id; guarded by itself
+	private final Map<Long, GroundingIds> groundingIds = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, GroundingIds> eldest) {
+			return size() > MAX_GROUNDING_ENTRIES;
+		}
+	};
+
 	public TestQuestionValidator() {
 		this(true, false, false);
 	}
@@ -75,46 +114,34 @@ public class TestQuestionValidator {
 	}
 
 	public static List<ValidationStrategy> preLlmStrategies() {
-		return List.of(ValidationStrategy.NORMALIZE_FIELDS, ValidationStrategy.STRUCTURE, ValidationStrategy.GROUNDING,
-				ValidationStrategy.BUNDLED_OPTIONS, ValidationStrategy.COUNT_REVEALING, ValidationStrategy.DEDUPE);
+		return PRE_LLM_STRATEGIES;
 	}
 
 	public static List<ValidationStrategy> postLlmStrategies() {
-		return List.of(ValidationStrategy.NORMALIZE_FIELDS, ValidationStrategy.STRUCTURE, ValidationStrategy.GROUNDING,
-				ValidationStrategy.BUNDLED_OPTIONS, ValidationStrategy.COUNT_REVEALING, ValidationStrategy.DEDUPE,
-				ValidationStrategy.SHUFFLE_AND_REMAP, ValidationStrategy.POST_SHUFFLE_SANITY,
-				ValidationStrategy.MULTI_CORRECT_QUOTA);
+		return POST_LLM_STRATEGIES;
 	}
 
 	public List<TestQuestion> validateAndNormalize(List<TestQuestion> questions, Test test,
-			List<ChunkEmbedding> embeddings, int generatedCount, List<ValidationStrategy> strategies) {
+			List<ChunkCandidate> candidates, int generatedCount, List<ValidationStrategy> strategies) {
 		if (test == null || questions == null || questions.isEmpty()) {
 			log.warn("No questions to validate (null/empty).");
 			return List.of();
 		}
 
-		EnumSet<ValidationStrategy> effectiveStrategies = resolveStrategies(strategies);
-		boolean doNormalize = effectiveStrategies.contains(ValidationStrategy.NORMALIZE_FIELDS);
-		boolean doStructure = effectiveStrategies.contains(ValidationStrategy.STRUCTURE);
-		boolean doGrounding = effectiveStrategies.contains(ValidationStrategy.GROUNDING);
-		boolean doBundled = effectiveStrategies.contains(ValidationStrategy.BUNDLED_OPTIONS);
-		boolean doCountReveal = effectiveStrategies.contains(ValidationStrategy.COUNT_REVEALING);
-		boolean doDedupe = effectiveStrategies.contains(ValidationStrategy.DEDUPE);
-		boolean doShuffle = effectiveStrategies.contains(ValidationStrategy.SHUFFLE_AND_REMAP);
-		boolean doPostShuffle = effectiveStrategies.contains(ValidationStrategy.POST_SHUFFLE_SANITY);
+		Pipeline pipeline = pipeline(strategies);
 
 		int limit = (test != null && test.getQuestionCount() != null && test.getQuestionCount() > 0)
 				? test.getQuestionCount()
 				: Integer.MAX_VALUE;
 
-		Set<Long> availableChunkIds = buildAvailableChunkIds(embeddings);
+		Set<Long> availableChunkIds = pipeline.grounding() ? availableChunkIds(test, candidates) : Set.of();
+		Batch batch = new Batch(availableChunkIds, new HashSet<>(), new StringBuilder());
 
 		List<TestQuestion> out = new ArrayList<>();
-		Set<String> seen = new HashSet<>();
 
 		int nextIndex = generatedCount;
 
-		for (int i = 0; i < questions.size(); i++) {
+		questions: for (int i = 0; i < questions.size(); i++) {
 
 			TestQuestion q = questions.get(i);
 			if (q == null) {
@@ -122,116 +149,170 @@ public class TestQuestionValidator {
 				continue;
 			}
 
-			if (doNormalize) {
-				normalizeFields(q);
+			for (Stage stage : pipeline.stages()) {
+				if (!stage.apply(q, i, batch)) {
+					// every stage logs its own rejection reason
+					continue questions;
+				}
 			}
 
-			String qPreview = preview(q.getQuestionText());
+			q.setQuestionIndex(nextIndex++);
+			out.add(q);
 
-			// structure
-			if (doStructure) {
-				if (!isValidStructure(q, i)) {
-					// isValidStructure logs the reason
-					continue;
-				}
+			if (out.size() >= limit) {
+				break;
+			}
+		}
+
+		// Enforce multi-correct quota (optional)
+		if (pipeline.multiCorrectQuota() && AnswerCardinality.MULTIPLE_CORRECT.equals(test.getAnswerCardinality())) {
+			Integer minMultipleCorrectQuestionsCount = test.getMinMultipleCorrectQuestionsCount();
+			if (!enforceMultiCorrectQuota(out, minMultipleCorrectQuestionsCount)) {
+				log.warn(
+						"Rejected validated batch: reason='multi-correct quota not met', requiredMultiCorrect={}, returnedCount={}",
+						minMultipleCorrectQuestionsCount, out.size());
+				return List.of();
 			}
+		}
+
+		return out;
+	}
+
+	// ---------------- compiled pipeline ----------------
+
+	/**
+	 * One step of the validation chain. Returns false (after logging why) when
+	 * the question is rejected.
+	 */
+	@FunctionalInterface
+	private interface Stage {
+		boolean apply(TestQuestion q, int index, Batch batch);
+	}
+
+	/**
+	 * Stages in execution order plus the batch-level checks.
+	 */
+	private record Pipeline(List<Stage> stages, boolean grounding, boolean multiCorrectQuota) {
+	}
+
+	/**
+	 * State of one validateAndNormalize call.
+	 */
+	private record Batch(Set<Long> availableChunkIds, Set<String> seen, StringBuilder buffer) {
+	}
+
+	private record GroundingIds(List<ChunkCandidate> candidates, Set<Long> ids) {
+	}
+
+	private Pipeline pipeline(List<ValidationStrategy> strategies) {
+		List<ValidationStrategy> key = (strategies == null || strategies.isEmpty()) ? POST_LLM_STRATEGIES
+				: strategies;
+		Pipeline pipeline = pipelines.get(key);
+		if (pipeline == null) {
+			pipeline = pipelines.computeIfAbsent(List.copyOf(key), this::compile);
+		}
+		return pipeline;
+	}
+
+	/**
+	 * Stages always run in the order below, whatever the order of the strategy
+	 * list.
+	 */
+	private Pipeline compile(List<ValidationStrategy> strategies) {
+		EnumSet<ValidationStrategy> effective = EnumSet.copyOf(strategies);
+		List<Stage> stages = new ArrayList<>();
 
-			// grounding
-			if (doGrounding) {
-				if (!validateGrounding(q, availableChunkIds, i)) {
+		if (effective.contains(ValidationStrategy.NORMALIZE_FIELDS)) {
+			stages.add((q, i, batch) -> {
+				normalizeFields(q, batch.buffer());
+				return true;
+			});
+		}
+
+		// structure
+		if (effective.contains(ValidationStrategy.STRUCTURE)) {
+			stages.add((q, i, batch) -> isValidStructure(q, i));
+		}
+
+		// grounding
+		if (effective.contains(ValidationStrategy.GROUNDING)) {
+			stages.add((q, i, batch) -> {
+				if (!validateGrounding(q, batch.availableChunkIds(), i)) {
 					log.warn("Rejected question at index {}: reason='grounding validation failed', question='{}'", i,
-							qPreview);
-					continue;
+							preview(q.getQuestionText()));
+					return false;
 				}
-			}
+				return true;
+			});
+		}
 
-			// mega/bundled options
-			if (doBundled) {
+		// mega/bundled options
+		if (effective.contains(ValidationStrategy.BUNDLED_OPTIONS)) {
+			stages.add((q, i, batch) -> {
 				String bundlingReason = bundledReason(q);
 				if (bundlingReason != null) {
-					log.warn("Rejected question at index {}: reason='{}', question='{}'", i, bundlingReason, qPreview);
-					continue;
+					log.warn("Rejected question at index {}: reason='{}', question='{}'", i, bundlingReason,
+							preview(q.getQuestionText()));
+					return false;
 				}
-			}
+				return true;
+			});
+		}
 
-			// count-revealing wording for multi-correct
-			if (doCountReveal) {
+		// count-revealing wording for multi-correct
+		if (effective.contains(ValidationStrategy.COUNT_REVEALING)) {
+			stages.add((q, i, batch) -> {
 				if (isCountRevealingAndMultiCorrect(q)) {
 					log.warn(
 							"Rejected question at index {}: reason='count-revealing wording in multi-correct question', question='{}'",
-							i, qPreview);
-					continue;
+							i, preview(q.getQuestionText()));
+					return false;
 				}
-			}
+				return true;
+			});
+		}
 
-			// dedupe (order-independent options)
-			if (doDedupe) {
-				String key = dedupeKeyOrderIndependent(q);
-				if (!seen.add(key)) {
+		// dedupe (order-independent options)
+		if (effective.contains(ValidationStrategy.DEDUPE)) {
+			stages.add((q, i, batch) -> {
+				if (!batch.seen().add(dedupeKeyOrderIndependent(q))) {
 					log.warn("Rejected question at index {}: reason='duplicate question in batch', question='{}'", i,
-							qPreview);
-					continue;
+							preview(q.getQuestionText()));
+					return false;
 				}
-			}
+				return true;
+			});
+		}
 
-			// shuffle + remap correct options
-			if (doShuffle) {
+		// shuffle + remap correct options
+		if (effective.contains(ValidationStrategy.SHUFFLE_AND_REMAP)) {
+			stages.add((q, i, batch) -> {
 				shuffleOptionsAndRemapCorrectOptions(q);
 				normalizeCorrectOptions(q);
-			}
-
-			// post-shuffle sanity check
-			if (doPostShuffle) {
-				if (!postShuffleSanity(q, i)) {
-					// postShuffleSanity logs the reason
-					continue;
-				}
-			}
-
-			q.setQuestionIndex(nextIndex++);
-			out.add(q);
-
-			if (out.size() >= limit) {
-				break;
-			}
+				return true;
+			});
 		}
 
-		// Enforce multi-correct quota (optional)
-		if (effectiveStrategies.contains(ValidationStrategy.MULTI_CORRECT_QUOTA)
-				&& AnswerCardinality.MULTIPLE_CORRECT.equals(test.getAnswerCardinality())) {
-			Integer minMultipleCorrectQuestionsCount = test.getMinMultipleCorrectQuestionsCount();
-			if (!enforceMultiCorrectQuota(out, minMultipleCorrectQuestionsCount)) {
-				log.warn(
-						"Rejected validated batch: reason='multi-correct quota not met', requiredMultiCorrect={}, returnedCount={}",
-						minMultipleCorrectQuestionsCount, out.size());
-				return List.of();
-			}
+		// post-shuffle sanity check
+		if (effective.contains(ValidationStrategy.POST_SHUFFLE_SANITY)) {
+			stages.add((q, i, batch) -> postShuffleSanity(q, i));
 		}
 
-		return out;
-	}
-
-	private EnumSet<ValidationStrategy> resolveStrategies(List<ValidationStrategy> strategies) {
-		EnumSet<ValidationStrategy> effective = EnumSet.noneOf(ValidationStrategy.class);
-		if (strategies == null || strategies.isEmpty()) {
-			effective.addAll(postLlmStrategies());
-			return effective;
-		}
-		effective.addAll(strategies);
-		return effective;
+		return new Pipeline(List.copyOf(stages), effective.contains(ValidationStrategy.GROUNDING),
+				effective.contains(ValidationStrategy.MULTI_CORRECT_QUOTA));
 	}
 
 	// ---------------- normalization ----------------
 
-	private void normalizeFields(TestQuestion q) {
-		q.setQuestionText(normalizeText(q.getQuestionText()));
+	private void normalizeFields(TestQuestion q, StringBuilder buffer) {
+		q.setQuestionText(normalizeText(q.getQuestionText(), buffer));
 
-		q.setOptionA(normalizeText(q.getOptionA()));
-		q.setOptionB(normalizeText(q.getOptionB()));
-		q.setOptionC(normalizeText(q.getOptionC()));
-		q.setOptionD(normalizeText(q.getOptionD()));
+		q.setOptionA(normalizeText(q.getOptionA(), buffer));
+		q.setOptionB(normalizeText(q.getOptionB(), buffer));
+		q.setOptionC(normalizeText(q.getOptionC(), buffer));
+		q.setOptionD(normalizeText(q.getOptionD(), buffer));
 
-		q.setExplanation(normalizeText(q.getExplanation()));
+		q.setExplanation(normalizeText(q.getExplanation(), buffer));
 
 		normalizeCorrectOptions(q);
 	}
@@ -253,8 +334,6 @@ public class TestQuestionValidator {
 
 	private boolean isValidStructure(TestQuestion q, int index) {
 
-		String qPreview = preview(q.getQuestionText());
-
 		if (isBlank(q.getQuestionText())) {
 			log.warn("Rejected question at index {}: reason='blank question text'", index);
 			return false;
@@ -263,20 +342,20 @@ public class TestQuestionValidator {
 		int qLen = q.getQuestionText().length();
 		if (qLen < MIN_QUESTION_LEN || qLen > MAX_QUESTION_LEN) {
 			log.warn("Rejected question at index {}: reason='question length out of bounds (len={})', question='{}'",
-					index, qLen, qPreview);
+					index, qLen, preview(q.getQuestionText()));
 			return false;
 		}
 
 		if (isBlank(q.getOptionA()) || isBlank(q.getOptionB())) {
 			log.warn("Rejected question at index {}: reason='missing mandatory options A/B', question='{}'", index,
-					qPreview);
+					preview(q.getQuestionText()));
 			return false;
 		}
 
 		if (requireAllFourOptions) {
 			if (isBlank(q.getOptionC()) || isBlank(q.getOptionD())) {
 				log.warn("Rejected question at index {}: reason='missing required options C/D', question='{}'", index,
-						qPreview);
+						preview(q.getQuestionText()));
 				return false;
 			}
 		}
@@ -284,46 +363,46 @@ public class TestQuestionValidator {
 		if (tooLong(q.getOptionA(), MAX_OPTION_LEN) || tooLong(q.getOptionB(), MAX_OPTION_LEN)
 				|| tooLong(q.getOptionC(), MAX_OPTION_LEN) || tooLong(q.getOptionD(), MAX_OPTION_LEN)) {
 			log.warn("Rejected question at index {}: reason='option too long (max={})', question='{}'", index,
-					MAX_OPTION_LEN, qPreview);
+					MAX_OPTION_LEN, preview(q.getQuestionText()));
 			return false;
 		}
 
 		if (q.getCorrectOptions() == null || q.getCorrectOptions().isEmpty()) {
 			log.warn("Rejected question at index {}: reason='no correct options provided', question='{}'", index,
-					qPreview);
+					preview(q.getQuestionText()));
 			return false;
 		}
 
 		for (AnswerOption correctOption : q.getCorrectOptions()) {
 			if (correctOption == null || isBlank(optionText(q, correctOption))) {
 				log.warn("Rejected question at index {}: reason='correct option points to blank text', question='{}'",
-						index, qPreview);
+						index, preview(q.getQuestionText()));
 				return false;
 			}
 		}
 
 		if (requireExplanation) {
 			if (isBlank(q.getExplanation())) {
-				log.warn("Rejected question at index {}: reason='missing explanation', question='{}'", index, qPreview);
+				log.warn("Rejected question at index {}: reason='missing explanation', question='{}'", index, preview(q.getQuestionText()));
 				return false;
 			}
 		}
 
 		if (!isBlank(q.getExplanation()) && q.getExplanation().length() > MAX_EXPLANATION_LEN) {
 			log.warn("Rejected question at index {}: reason='explanation too long (len={}, max={})', question='{}'",
-					index, q.getExplanation().length(), MAX_EXPLANATION_LEN, qPreview);
+					index, q.getExplanation().length(), MAX_EXPLANATION_LEN, preview(q.getQuestionText()));
 			return false;
 		}
 
 		if (hasDuplicateOptions(q)) {
 			log.warn("Rejected question at index {}: reason='duplicate options detected', question='{}'", index,
-					qPreview);
+					preview(q.getQuestionText()));
 			return false;
 		}
 
 		if (hasAllOrNoneOption(q)) {
 			log.warn("Rejected question at index {}: reason='contains All/None of the above option', question='{}'",
-					index, qPreview);
+					index, preview(q.getQuestionText()));
 			return false;
 		}
 
@@ -331,20 +410,18 @@ public class TestQuestionValidator {
 	}
 
 	private boolean postShuffleSanity(TestQuestion q, int index) {
-		String qPreview = preview(q.getQuestionText());
-
 		if (requireAllFourOptions) {
 			if (isBlank(q.getOptionA()) || isBlank(q.getOptionB()) || isBlank(q.getOptionC())
 					|| isBlank(q.getOptionD())) {
 				log.warn("Rejected question at index {}: reason='post-shuffle missing options', question='{}'", index,
-						qPreview);
+						preview(q.getQuestionText()));
 				return false;
 			}
 		}
 
 		if (q.getCorrectOptions() == null || q.getCorrectOptions().isEmpty()) {
 			log.warn("Rejected question at index {}: reason='post-shuffle missing correct options', question='{}'",
-					index, qPreview);
+					index, preview(q.getQuestionText()));
 			return false;
 		}
 
@@ -352,28 +429,28 @@ public class TestQuestionValidator {
 			if (correctOption == null || isBlank(optionText(q, correctOption))) {
 				log.warn(
 						"Rejected question at index {}: reason='post-shuffle correct option points to blank text', question='{}'",
-						index, qPreview);
+						index, preview(q.getQuestionText()));
 				return false;
 			}
 		}
 
 		if (hasDuplicateOptions(q)) {
 			log.warn("Rejected question at index {}: reason='post-shuffle duplicate options detected', question='{}'",
-					index, qPreview);
+					index, preview(q.getQuestionText()));
 			return false;
 		}
 
 		String bundlingReason = bundledReason(q);
 		if (bundlingReason != null) {
 			log.warn("Rejected question at index {}: reason='post-shuffle {}', question='{}'", index, bundlingReason,
-					qPreview);
+					preview(q.getQuestionText()));
 			return false;
 		}
 
 		if (isCountRevealingAndMultiCorrect(q)) {
 			log.warn(
 					"Rejected question at index {}: reason='post-shuffle count-revealing wording in multi-correct question', question='{}'",
-					index, qPreview);
+					index, preview(q.getQuestionText()));
 			return false;
 		}
 
@@ -395,11 +472,12 @@ public class TestQuestionValidator {
 			return true;
 		}
 
-		List<Long> cleaned = q.getSourceChunkIdsJson().stream().filter(Objects::nonNull).distinct()
-				.collect(Collectors.toList());
-
-		if (!availableChunkIds.isEmpty()) {
-			cleaned = cleaned.stream().filter(availableChunkIds::contains).toList();
+		List<Long> sourceChunkIds = q.getSourceChunkIdsJson();
+		List<Long> cleaned = new ArrayList<>(sourceChunkIds.size());
+		for (Long id : sourceChunkIds) {
+			if (id != null && !cleaned.contains(id) && (availableChunkIds.isEmpty() || availableChunkIds.contains(id))) {
+				cleaned.add(id);
+			}
 		}
 
 		q.setSourceChunkIdsJson(cleaned);
@@ -426,11 +504,15 @@ public class TestQuestionValidator {
 		if (questions.isEmpty())
 			return requiredMultiCorrect == 0;
 
-		List<TestQuestion> multi = questions.stream()
-				.filter(q -> q.getCorrectOptions() != null && q.getCorrectOptions().size() >= 2).toList();
+		int multi = 0;
+		for (TestQuestion q : questions) {
+			if (q.getCorrectOptions() != null && q.getCorrectOptions().size() >= 2) {
+				multi++;
+			}
+		}
 
-		if (multi.size() < requiredMultiCorrect) {
-			log.warn("Multi-correct quota not met: required={}, found={}", requiredMultiCorrect, multi.size());
+		if (multi < requiredMultiCorrect) {
+			log.warn("Multi-correct quota not met: required={}, found={}", requiredMultiCorrect, multi);
 			return false;
 		}
 
@@ -439,26 +521,57 @@ public class TestQuestionValidator {
 
 	// ---------------- duplicates ----------------
 
+	/**
+	 * Key used for duplicate detection, for callers deduplicating across
+	 * batches.
+	 */
+	public String dedupeKey(TestQuestion q) {
+		return dedupeKeyOrderIndependent(q);
+	}
+
 	/**
 	 * Dedupe independent of option order.
 	 */
 	private String dedupeKeyOrderIndependent(TestQuestion q) {
 
-		String qKey = normKey(q.getQuestionText());
-
-		List<String> opts = List.of(q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD()).stream()
-				.filter(s -> !isBlank(s)).map(this::normKey).sorted().toList();
+		String[] opts = new String[4];
+		int count = optionKeys(q, opts);
+		Arrays.sort(opts, 0, count);
 
-		return qKey + "||" + String.join("|", opts);
+		StringBuilder key = new StringBuilder(normKey(q.getQuestionText())).append("||");
+		for (int i = 0; i < count; i++) {
+			if (i > 0)
+				key.append('|');
+			key.append(opts[i]);
+		}
+		return key.toString();
 	}
 
 	private boolean hasDuplicateOptions(TestQuestion q) {
 
-		List<String> opts = List.of(q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD());
+		String[] opts = new String[4];
+		int count = optionKeys(q, opts);
 
-		List<String> normalized = opts.stream().filter(s -> !isBlank(s)).map(this::normKey).toList();
+		for (int i = 0; i < count; i++) {
+			for (int j = i + 1; j < count; j++) {
+				if (opts[i].equals(opts[j]))
+					return true;
+			}
+		}
+		return false;
+	}
 
-		return normalized.size() != new HashSet<>(normalized).size();
+	/**
+	 * Writes the normalized keys of the non-blank options A-D into keys and
+	 * returns how many there are.
+	 */
+	private int optionKeys(TestQuestion q, String[] keys) {
+		int count = 0;
+		for (String option : new String[] { q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD() }) {
+			if (!isBlank(option))
+				keys[count++] = normKey(option);
+		}
+		return count;
 	}
 
 	// ---------------- bundled options detection ----------------
@@ -479,17 +592,25 @@ public class TestQuestionValidator {
 		if (isBlank(option))
 			return false;
 
-		String t = option.trim();
-
 		int separators = 0;
-		for (int i = 0; i < t.length(); i++) {
-			char c = t.charAt(i);
+		for (int i = 0; i < option.length(); i++) {
+			char c = option.charAt(i);
 			if (c == ',' || c == ';')
 				separators++;
 		}
+		if (separators < BUNDLE_COMMA_THRESHOLD)
+			return false;
+
+		String t = option.trim();
+
+		// words = whitespace runs + 1 (t is trimmed)
+		int words = 1;
+		for (int i = 1; i < t.length(); i++) {
+			if (isWhitespace(t.charAt(i)) && !isWhitespace(t.charAt(i - 1)))
+				words++;
+		}
 
-		int words = t.split("\\s+").length;
-		if (separators >= BUNDLE_COMMA_THRESHOLD && words >= BUNDLE_WORD_THRESHOLD) {
+		if (words >= BUNDLE_WORD_THRESHOLD) {
 			String lower = t.toLowerCase(Locale.ROOT);
 			if (lower.contains(" and ") || lower.contains(" or ") || lower.contains(" as well as "))
 				return true;
@@ -532,7 +653,7 @@ public class TestQuestionValidator {
 		}
 
 		Set<String> originalCorrectTexts = originalCorrectOptions.stream().map(option -> optionText(q, option))
-				.filter(Objects::nonNull).map(this::normalizeText).collect(Collectors.toSet());
+				.filter(Objects::nonNull).map(TestQuestionValidator::normalizeText).collect(Collectors.toSet());
 
 		if (originalCorrectTexts.isEmpty()) {
 			return;
@@ -573,19 +694,86 @@ public class TestQuestionValidator {
 
 	// ---------------- text normalization ----------------
 
-	private String normalizeText(String s) {
+	private static String normalizeText(String s) {
+		return normalizeText(s, null);
+	}
+
+	/**
+	 * NFKC, trim, collapse whitespace and strip "Q1:" / "Question:" prefixes.
+	 * Returns s itself when nothing changes; buffer (may be null) is reused for
+	 * the rewritten text.
+	 */
+	private static String normalizeText(String s, StringBuilder buffer) {
 
 		if (s == null)
 			return null;
 
-		String t = Normalizer.normalize(s, Normalizer.Form.NFKC);
+		// NFKC leaves ASCII unchanged
+		String t = isAscii(s) ? s : Normalizer.normalize(s, Normalizer.Form.NFKC);
+
+		t = collapseWhitespace(t, buffer);
+
+		if (t.startsWith("Q")) {
+			t = Q_NUMBER_PREFIX.matcher(t).replaceFirst("");
+			t = QUESTION_PREFIX.matcher(t).replaceFirst("");
+			t = t.trim();
+		}
+
+		return t;
+	}
 
-		t = t.trim().replaceAll("\\s+", " ");
+	/**
+	 * Same result as s.trim().replaceAll("\\s+", " ") without regex, and without
+	 * copying when s is already clean.
+	 */
+	private static String collapseWhitespace(String s, StringBuilder buffer) {
+		int start = 0;
+		int end = s.length();
+		while (start < end && s.charAt(start) <= ' ')
+			start++;
+		while (end > start && s.charAt(end - 1) <= ' ')
+			end--;
+
+		boolean clean = start == 0 && end == s.length();
+		for (int i = start; clean && i < end; i++) {
+			char c = s.charAt(i);
+			// s[start] is never whitespace, so i - 1 is in range
+			if (isWhitespace(c) && (c != ' ' || isWhitespace(s.charAt(i - 1))))
+				clean = false;
+		}
+		if (clean)
+			return s;
+
+		StringBuilder sb = buffer != null ? buffer : new StringBuilder(end - start);
+		sb.setLength(0);
+		boolean inWhitespace = false;
+		for (int i = start; i < end; i++) {
+			char c = s.charAt(i);
+			if (isWhitespace(c)) {
+				if (!inWhitespace)
+					sb.append(' ');
+				inWhitespace = true;
+			} else {
+				sb.append(c);
+				inWhitespace = false;
+			}
+		}
+		return sb.toString();
+	}
 
-		t = t.replaceAll("^(Q\\d+\\s*[:.)]\\s*)", "");
-		t = t.replaceAll("^(Question\\s*[:.)]\\s*)", "");
+	/**
+	 * Characters matched by the regex class \\s.
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+	}
 
-		return t.trim();
+	private static boolean isAscii(String s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) >= 0x80)
+				return false;
+		}
+		return true;
 	}
 
 	private String normKey(String s) {
@@ -594,7 +782,14 @@ public class TestQuestionValidator {
 	}
 
 	private boolean isBlank(String s) {
-		return s == null || s.trim().isEmpty();
+		if (s == null)
+			return true;
+		// same as s.trim().isEmpty()
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) > ' ')
+				return false;
+		}
+		return true;
 	}
 
 	private boolean tooLong(String s, int max) {
@@ -604,30 +799,49 @@ public class TestQuestionValidator {
 	private String preview(String s) {
 		if (s == null)
 			return "null";
-		String t = s.replaceAll("\\s+", " ").trim();
+		String t = collapseWhitespace(s, null);
 		return t.length() > 140 ? t.substring(0, 140) + "..." : t;
 	}
 
 	// ---------------- chunk ids helper ----------------
 
-	private Set<Long> buildAvailableChunkIds(List<ChunkEmbedding> embeddings) {
+	/**
+	 * Chunk ids of the candidates, built once per test: every batch of a test
+	 * validates against the same candidate list.
+	 */
+	private Set<Long> availableChunkIds(Test test, List<ChunkCandidate> candidates) {
+		if (test.getId() == null) {
+			return buildAvailableChunkIds(candidates);
+		}
+
+		synchronized (groundingIds) {
+			GroundingIds cached = groundingIds.get(test.getId());
+			if (cached != null && cached.candidates() == candidates) {
+				return cached.ids();
+			}
+		}
+
+		Set<Long> ids = buildAvailableChunkIds(candidates);
+		synchronized (groundingIds) {
+			groundingIds.put(test.getId(), new GroundingIds(candidates, ids));
+		}
+		return ids;
+	}
 
-		if (embeddings == null || embeddings.isEmpty()) {
+	private Set<Long> buildAvailableChunkIds(List<ChunkCandidate> candidates) {
+
+		if (candidates == null || candidates.isEmpty()) {
 			return Set.of();
 		}
 
 		Set<Long> ids = new HashSet<>();
 
-		for (ChunkEmbedding e : embeddings) {
-			try {
-				var m = e.getClass().getMethod("getChunkId");
-				Object v = m.invoke(e);
-				if (v instanceof Long l)
-					ids.add(l);
-			} catch (Exception ignored) {
+		for (ChunkCandidate c : candidates) {
+			if (c.chunkId() != null) {
+				ids.add(c.chunkId());
 			}
 		}
 
-		return ids;
+		return Set.copyOf(ids);
 	}
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package com.knowgauge.infra.documentparsing.pdfbox.service;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.io.RandomAccessRead;
@@ -35,6 +36,22 @@ public class PdfPageExtractionService implements DocumentParser {
 		}
 	}
 
+	@Override
+	public int streamPages(InputStream pdfStream, Consumer<String> pageConsumer) throws Exception {
+		try (RandomAccessRead rar = new RandomAccessReadBuffer(pdfStream); PDDocument document = Loader.loadPDF(rar)) {
+			PDFTextStripper stripper = new PDFTextStripper();
+
+			int pageCount = document.getNumberOfPages();
+			for (int page = 1; page <= pageCount; page++) {
+				stripper.setStartPage(page);
+				stripper.setEndPage(page);
+
+				pageConsumer.accept(normalize(stripper.getText(document)));
+			}
+			return pageCount;
+		}
+	}
+
 	private static String normalize(String text) {
 		return text.replace("\r\n", "\n").replace("\r", "\n").replaceAll("[ \t]+", " ").trim();
 	}
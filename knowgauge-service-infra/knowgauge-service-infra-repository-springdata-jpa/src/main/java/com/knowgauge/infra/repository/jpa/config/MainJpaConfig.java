@@ -6,6 +6,7 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -35,7 +36,9 @@ public class MainJpaConfig {
 
 	@Bean(name = "entityManagerFactory")
 	@Primary
-	public LocalContainerEntityManagerFactoryBean entityManagerFactory(@Qualifier("dataSource") DataSource dataSource) {
+	public LocalContainerEntityManagerFactoryBean entityManagerFactory(@Qualifier("dataSource") DataSource dataSource,
+			@Value("${kg.jpa.jdbc.batch-size:50}") int jdbcBatchSize,
+			@Value("${kg.jpa.jdbc.order-inserts:true}") boolean orderInserts) {
 
 		LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
 		emf.setDataSource(dataSource);
@@ -43,6 +46,11 @@ public class MainJpaConfig {
 		emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
 
 		Map<String, Object> props = new HashMap<>();
+		// JDBC batching only applies to entities with sequence ids (document_chunks,
+		// test_questions); IDENTITY inserts are always executed one by one
+		props.put("hibernate.jdbc.batch_size", jdbcBatchSize);
+		props.put("hibernate.order_inserts", orderInserts);
+		props.put("hibernate.order_updates", orderInserts);
 		emf.setJpaPropertyMap(props);
 
 		return emf;
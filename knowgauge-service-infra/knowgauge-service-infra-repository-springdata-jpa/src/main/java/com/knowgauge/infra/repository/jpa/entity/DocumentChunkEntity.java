@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -19,7 +20,16 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class DocumentChunkEntity extends AuditableEntity {
+public class DocumentChunkEntity extends AuditedEntity {
+
+    /**
+     * Pooled sequence id (the column's identity sequence, incremented by 50 in
+     * V3) instead of IDENTITY, so chunk inserts can be JDBC-batched.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_chunks_id_seq")
+    @SequenceGenerator(name = "document_chunks_id_seq", sequenceName = "document_chunks_id_seq", allocationSize = 50)
+    private Long id;
 
     @Column(name = "tenant_id", nullable = false)
     private Long tenantId;
@@ -0,0 +1,59 @@
+package com.knowgauge.infra.repository.jpa.entity;
+
+import java.time.Instant;
+
+import com.knowgauge.core.model.enums.IngestionJobStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+@Entity
+@Table(name = "ingestion_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class IngestionJobEntity extends AuditableEntity {
+
+	@Column(name = "tenant_id", nullable = false)
+	private Long tenantId;
+
+	@Column(name = "document_id", nullable = false)
+	private Long documentId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private IngestionJobStatus status;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private IngestionStage stage;
+
+	@Column(name = "processed_items", nullable = false)
+	private Integer processedItems;
+
+	@Column(name = "total_items", nullable = false)
+	private Integer totalItems;
+
+	@Column(nullable = false)
+	private Integer attempts;
+
+	@Column(name = "started_at")
+	private Instant startedAt;
+
+	@Column(name = "finished_at")
+	private Instant finishedAt;
+
+	@Column(name = "error_message", columnDefinition = "TEXT")
+	private String errorMessage;
+}
@@ -0,0 +1,41 @@
+package com.knowgauge.infra.repository.jpa.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Cached raw LLM response. Written with a native upsert, keyed by the request
+ * hash, so not audited.
+ */
+@Entity
+@Table(name = "llm_response_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmResponseCacheEntity {
+
+	@Id
+	@Column(name = "cache_key", nullable = false, length = 64)
+	private String cacheKey;
+
+	@Column(nullable = false)
+	private String model;
+
+	@Column(nullable = false, columnDefinition = "TEXT")
+	private String response;
+
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
+
+	@Column(name = "expires_at", nullable = false)
+	private Instant expiresAt;
+}
@@ -1,25 +0,0 @@
-package com.knowgauge.infra.repository.jpa.entity;
-
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.MappedSuperclass;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-import lombok.experimental.SuperBuilder;
-
-@Getter
-@Setter
-@MappedSuperclass
-@SuperBuilder
-@NoArgsConstructor
-@AllArgsConstructor
-public abstract class PersistedEntity{
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    protected Long id;
-}
-
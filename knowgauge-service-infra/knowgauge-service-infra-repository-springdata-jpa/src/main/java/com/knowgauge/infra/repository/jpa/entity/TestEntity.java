@@ -77,6 +77,9 @@ public class TestEntity extends AuditableEntity {
 	@Column(name = "coverage_mode", nullable = false)
 	private TestCoverageMode coverageMode = TestCoverageMode.BALANCED_PER_DOC_CHUNKS;
 
+	@Column(name = "focus_query", columnDefinition = "text")
+	private String focusQuery;
+
 	@Enumerated(EnumType.STRING)
 	@Column(nullable = false)
 	private Language language;
@@ -11,10 +11,14 @@ import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -29,7 +33,14 @@ import lombok.experimental.SuperBuilder;
 @NoArgsConstructor
 @AllArgsConstructor
 @SuperBuilder
-public class TestQuestionEntity extends AuditableEntity {
+public class TestQuestionEntity extends AuditedEntity {
+
+	// Batched inserts, same scheme as DocumentChunkEntity
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_questions_id_seq")
+	@SequenceGenerator(name = "test_questions_id_seq", sequenceName = "test_questions_id_seq", allocationSize = 50)
+	private Long id;
+
 	@Column(name = "tenant_id", nullable = false)
 	private Long tenantId;
 
@@ -0,0 +1,12 @@
+package com.knowgauge.infra.repository.jpa.mapper;
+
+import org.mapstruct.Mapper;
+
+import com.knowgauge.core.model.IngestionJob;
+import com.knowgauge.infra.repository.jpa.entity.IngestionJobEntity;
+
+@Mapper(componentModel = "spring")
+public interface IngestionJobEntityMapper {
+    IngestionJob toDomain(IngestionJobEntity entity);
+    IngestionJobEntity toEntity(IngestionJob domain);
+}
@@ -7,6 +7,9 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.knowgauge.infra.repository.jpa.entity.DocumentChunkEntity;
@@ -51,4 +54,36 @@ public interface DocumentChunkJpaRepository extends JpaRepository<DocumentChunkE
 	// -------------------------------------------------
 
 	void deleteByTenantIdAndDocumentIdAndDocumentVersion(Long tenantId, Long documentId, Integer documentVersion);
+
+	// -------------------------------------------------
+	// Incremental re-ingestion (diff by checksum + ordinal)
+	// -------------------------------------------------
+
+	@Query("""
+			    select c.id, c.ordinal, c.checksum, c.startPage, c.endPage, c.charStart, c.charEnd
+			      from DocumentChunkEntity c
+			     where c.tenantId = :tenantId
+			       and c.documentId = :documentId
+			       and c.documentVersion = :documentVersion
+			     order by c.ordinal
+			""")
+	List<Object[]> findSummaries(@Param("tenantId") Long tenantId, @Param("documentId") Long documentId,
+			@Param("documentVersion") Integer documentVersion);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update DocumentChunkEntity c
+			       set c.ordinal = :ordinal
+			     where c.tenantId = :tenantId
+			       and c.id = :id
+			""")
+	int updateOrdinal(@Param("tenantId") Long tenantId, @Param("id") Long id, @Param("ordinal") Integer ordinal);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    delete from DocumentChunkEntity c
+			     where c.tenantId = :tenantId
+			       and c.id in :ids
+			""")
+	int deleteByTenantIdAndIdIn(@Param("tenantId") Long tenantId, @Param("ids") Collection<Long> ids);
 }
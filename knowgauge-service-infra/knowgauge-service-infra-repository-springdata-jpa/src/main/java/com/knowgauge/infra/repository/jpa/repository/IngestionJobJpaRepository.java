@@ -0,0 +1,99 @@
+package com.knowgauge.infra.repository.jpa.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.knowgauge.core.model.enums.IngestionJobStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+import com.knowgauge.infra.repository.jpa.entity.IngestionJobEntity;
+
+@Repository
+public interface IngestionJobJpaRepository extends JpaRepository<IngestionJobEntity, Long> {
+
+	Optional<IngestionJobEntity> findByTenantIdAndId(Long tenantId, Long id);
+
+	Optional<IngestionJobEntity> findFirstByDocumentIdAndStatusInOrderByIdDesc(Long documentId,
+			Collection<IngestionJobStatus> statuses);
+
+	List<IngestionJobEntity> findByStatusAndUpdatedAtBefore(IngestionJobStatus status, Instant updatedBefore);
+
+	// SKIP LOCKED lets concurrent pollers each take a different row instead of
+	// blocking on the same one.
+	@Query(value = """
+			select *
+			  from ingestion_jobs
+			 where status = 'QUEUED'
+			 order by id
+			 limit 1
+			   for update skip locked
+			""", nativeQuery = true)
+	Optional<IngestionJobEntity> lockNextQueued();
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update IngestionJobEntity j
+			       set j.stage = :stage,
+			           j.processedItems = :processedItems,
+			           j.totalItems = :totalItems,
+			           j.updatedAt = CURRENT_TIMESTAMP
+			     where j.id = :jobId
+			""")
+	int updateProgress(@Param("jobId") Long jobId, @Param("stage") IngestionStage stage,
+			@Param("processedItems") Integer processedItems, @Param("totalItems") Integer totalItems);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update IngestionJobEntity j
+			       set j.status = com.knowgauge.core.model.enums.IngestionJobStatus.SUCCEEDED,
+			           j.finishedAt = :finishedAt,
+			           j.errorMessage = null,
+			           j.updatedAt = CURRENT_TIMESTAMP
+			     where j.id = :jobId
+			       and j.status = com.knowgauge.core.model.enums.IngestionJobStatus.RUNNING
+			""")
+	int markSucceeded(@Param("jobId") Long jobId, @Param("finishedAt") Instant finishedAt);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update IngestionJobEntity j
+			       set j.status = com.knowgauge.core.model.enums.IngestionJobStatus.FAILED,
+			           j.errorMessage = :errorMessage,
+			           j.finishedAt = :finishedAt,
+			           j.updatedAt = CURRENT_TIMESTAMP
+			     where j.id = :jobId
+			       and j.status = com.knowgauge.core.model.enums.IngestionJobStatus.RUNNING
+			""")
+	int markFailed(@Param("jobId") Long jobId, @Param("errorMessage") String errorMessage,
+			@Param("finishedAt") Instant finishedAt);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update IngestionJobEntity j
+			       set j.status = com.knowgauge.core.model.enums.IngestionJobStatus.FAILED,
+			           j.errorMessage = :errorMessage,
+			           j.finishedAt = :finishedAt,
+			           j.updatedAt = CURRENT_TIMESTAMP
+			     where j.id = :jobId
+			       and j.status = com.knowgauge.core.model.enums.IngestionJobStatus.RUNNING
+			       and j.updatedAt < :staleBefore
+			""")
+	int markFailedIfStale(@Param("jobId") Long jobId, @Param("errorMessage") String errorMessage,
+			@Param("finishedAt") Instant finishedAt, @Param("staleBefore") Instant staleBefore);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update IngestionJobEntity j
+			       set j.updatedAt = CURRENT_TIMESTAMP
+			     where j.id = :jobId
+			       and j.status = com.knowgauge.core.model.enums.IngestionJobStatus.RUNNING
+			""")
+	int heartbeat(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,54 @@
+package com.knowgauge.infra.repository.jpa.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.knowgauge.infra.repository.jpa.entity.LlmResponseCacheEntity;
+
+@Repository
+public interface LlmResponseCacheJpaRepository extends JpaRepository<LlmResponseCacheEntity, String> {
+
+	@Query("""
+			select c.response
+			  from LlmResponseCacheEntity c
+			 where c.cacheKey = :cacheKey
+			   and c.expiresAt > :now
+			""")
+	Optional<String> findResponse(@Param("cacheKey") String cacheKey, @Param("now") Instant now);
+
+	@Modifying
+	@Query(value = """
+			insert into llm_response_cache (cache_key, model, response, created_at, expires_at)
+			values (:cacheKey, :model, :response, :createdAt, :expiresAt)
+			on conflict (cache_key) do update
+			   set model = excluded.model,
+			       response = excluded.response,
+			       created_at = excluded.created_at,
+			       expires_at = excluded.expires_at
+			""", nativeQuery = true)
+	int upsert(@Param("cacheKey") String cacheKey, @Param("model") String model, @Param("response") String response,
+			@Param("createdAt") Instant createdAt, @Param("expiresAt") Instant expiresAt);
+
+	@Modifying
+	@Query("delete from LlmResponseCacheEntity c where c.expiresAt <= :now")
+	int deleteExpired(@Param("now") Instant now);
+
+	// Keeps the newest maxEntries rows
+	@Modifying
+	@Query(value = """
+			delete from llm_response_cache
+			 where cache_key in (
+			       select cache_key
+			         from llm_response_cache
+			        order by created_at desc
+			       offset :maxEntries
+			 )
+			""", nativeQuery = true)
+	int deleteBeyond(@Param("maxEntries") int maxEntries);
+}
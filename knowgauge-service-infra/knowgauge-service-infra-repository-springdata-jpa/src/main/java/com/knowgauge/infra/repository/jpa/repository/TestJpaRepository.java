@@ -1,6 +1,7 @@
 package com.knowgauge.infra.repository.jpa.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +22,22 @@ public interface TestJpaRepository extends JpaRepository<TestEntity, Long> {
 
 	List<TestEntity> findByTenantIdAndStatus(Long tenantId, TestStatus status);
 
+	List<TestEntity> findByStatusInAndUpdatedAtBefore(Collection<TestStatus> statuses, Instant updatedBefore);
+
 	void deleteByTenantIdAndId(Long tenantId, Long testId);
 
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update TestEntity t
+			       set t.status = com.knowgauge.core.model.enums.TestStatus.GENERATING,
+			           t.generationStartedAt = :startedAt,
+			           t.updatedAt = :startedAt
+			     where t.tenantId = :tenantId
+			       and t.id = :testId
+			""")
+	int markGenerating(@Param("tenantId") Long tenantId, @Param("testId") Long testId,
+			@Param("startedAt") Instant startedAt);
+
 	@Modifying(clearAutomatically = true, flushAutomatically = true)
 	@Query("""
 			    update TestEntity t
@@ -46,4 +61,44 @@ public interface TestJpaRepository extends JpaRepository<TestEntity, Long> {
 	int markFailed(@Param("tenantId") Long tenantId, @Param("testId") Long testId,
 			@Param("errorMessage") String errorMessage, @Param("failedAt") Instant failedAt);
 
-}
\ No newline at end of file
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update TestEntity t
+			       set t.updatedAt = :now
+			     where t.id in :testIds
+			       and t.status in (com.knowgauge.core.model.enums.TestStatus.CREATED,
+			                        com.knowgauge.core.model.enums.TestStatus.GENERATING)
+			""")
+	int touchActive(@Param("testIds") Collection<Long> testIds, @Param("now") Instant now);
+
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    update TestEntity t
+			       set t.status = com.knowgauge.core.model.enums.TestStatus.FAILED,
+			           t.generationErrorMessage = :errorMessage,
+			           t.generationFailedAt = :failedAt,
+			           t.updatedAt = :failedAt
+			     where t.tenantId = :tenantId
+			       and t.id = :testId
+			       and t.status in (com.knowgauge.core.model.enums.TestStatus.CREATED,
+			                        com.knowgauge.core.model.enums.TestStatus.GENERATING)
+			       and t.updatedAt < :staleBefore
+			""")
+	int markFailedIfStale(@Param("tenantId") Long tenantId, @Param("testId") Long testId,
+			@Param("errorMessage") String errorMessage, @Param("failedAt") Instant failedAt,
+			@Param("staleBefore") Instant staleBefore);
+
+	/**
+	 * Index range scan on (chunk_id, used_at) per candidate chunk.
+	 */
+	@Query(value = """
+			    select distinct u.chunk_id
+			      from test_used_chunks u
+			      join tests t on t.id = u.test_id
+			     where u.chunk_id in (:chunkIds)
+			       and u.used_at >= :usedSince
+			       and t.tenant_id = :tenantId
+			""", nativeQuery = true)
+	List<Long> findChunkIdsUsedSince(@Param("tenantId") Long tenantId, @Param("chunkIds") Collection<Long> chunkIds,
+			@Param("usedSince") Instant usedSince);
+}
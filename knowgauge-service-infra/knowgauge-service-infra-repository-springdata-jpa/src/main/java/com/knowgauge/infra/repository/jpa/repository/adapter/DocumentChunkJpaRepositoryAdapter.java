@@ -2,6 +2,7 @@ package com.knowgauge.infra.repository.jpa.repository.adapter;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -19,6 +20,8 @@ import jakarta.persistence.PersistenceContext;
 
 @Repository
 public class DocumentChunkJpaRepositoryAdapter implements DocumentChunkRepository {
+	private static final int IN_LIST_PARTITION_SIZE = 1000;
+
 	@PersistenceContext
 	private EntityManager em;
 
@@ -85,6 +88,35 @@ public class DocumentChunkJpaRepositoryAdapter implements DocumentChunkRepositor
 		return jpaRepository.findByTenantIdAndIdIn(tenantId, chunkIds).stream().map(mapper::toDomain).toList();
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<DocumentChunk> findSummariesByTenantIdAndDocumentIdAndDocumentVersion(Long tenantId,
+			Long documentId, Integer documentVersion) {
+		return jpaRepository.findSummaries(tenantId, documentId, documentVersion).stream()
+				.<DocumentChunk>map(row -> DocumentChunk.builder().id((Long) row[0]).tenantId(tenantId).documentId(documentId)
+						.documentVersion(documentVersion).ordinal((Integer) row[1]).checksum((String) row[2])
+						.startPage((Integer) row[3]).endPage((Integer) row[4]).charStart((Integer) row[5])
+						.charEnd((Integer) row[6]).build())
+				.toList();
+	}
+
+	@Override
+	public void updateOrdinals(Long tenantId, Map<Long, Integer> ordinalsById) {
+		ordinalsById.forEach((id, ordinal) -> jpaRepository.updateOrdinal(tenantId, id, ordinal));
+	}
+
+	@Override
+	public long deleteByTenantIdAndIdIn(Long tenantId, Collection<Long> ids) {
+		List<Long> all = List.copyOf(ids);
+		long deleted = 0;
+		// Keep IN lists well below the JDBC bind parameter limit
+		for (int from = 0; from < all.size(); from += IN_LIST_PARTITION_SIZE) {
+			deleted += jpaRepository.deleteByTenantIdAndIdIn(tenantId,
+					all.subList(from, Math.min(all.size(), from + IN_LIST_PARTITION_SIZE)));
+		}
+		return deleted;
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public Optional<DocumentChunk> findByTenantIdAndChecksum(Long tenantId, String checksum) {
@@ -0,0 +1,88 @@
+package com.knowgauge.infra.repository.jpa.repository.adapter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+
+import com.knowgauge.core.model.IngestionJob;
+import com.knowgauge.core.model.enums.IngestionJobStatus;
+import com.knowgauge.core.model.enums.IngestionStage;
+import com.knowgauge.core.port.repository.IngestionJobRepository;
+import com.knowgauge.infra.repository.jpa.mapper.IngestionJobEntityMapper;
+import com.knowgauge.infra.repository.jpa.repository.IngestionJobJpaRepository;
+
+@Repository
+public class IngestionJobJpaRepositoryAdapter implements IngestionJobRepository {
+
+	private final IngestionJobJpaRepository jpaRepository;
+	private final IngestionJobEntityMapper mapper;
+
+	public IngestionJobJpaRepositoryAdapter(IngestionJobJpaRepository jpaRepository,
+			IngestionJobEntityMapper mapper) {
+		this.jpaRepository = jpaRepository;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public IngestionJob save(IngestionJob job) {
+		return mapper.toDomain(jpaRepository.save(mapper.toEntity(job)));
+	}
+
+	@Override
+	public Optional<IngestionJob> findByTenantIdAndId(Long tenantId, Long jobId) {
+		return jpaRepository.findByTenantIdAndId(tenantId, jobId).map(mapper::toDomain);
+	}
+
+	@Override
+	public Optional<IngestionJob> findFirstByDocumentIdAndStatusIn(Long documentId,
+			Collection<IngestionJobStatus> statuses) {
+		return jpaRepository.findFirstByDocumentIdAndStatusInOrderByIdDesc(documentId, statuses)
+				.map(mapper::toDomain);
+	}
+
+	@Override
+	public Optional<IngestionJob> claimNextQueued(Instant startedAt) {
+		return jpaRepository.lockNextQueued().map(entity -> {
+			entity.setStatus(IngestionJobStatus.RUNNING);
+			entity.setStartedAt(startedAt);
+			entity.setFinishedAt(null);
+			entity.setErrorMessage(null);
+			entity.setAttempts(entity.getAttempts() + 1);
+			return mapper.toDomain(jpaRepository.saveAndFlush(entity));
+		});
+	}
+
+	@Override
+	public int updateProgress(Long jobId, IngestionStage stage, Integer processedItems, Integer totalItems) {
+		return jpaRepository.updateProgress(jobId, stage, processedItems, totalItems);
+	}
+
+	@Override
+	public int markSucceeded(Long jobId, Instant finishedAt) {
+		return jpaRepository.markSucceeded(jobId, finishedAt);
+	}
+
+	@Override
+	public int markFailed(Long jobId, String errorMessage, Instant finishedAt) {
+		return jpaRepository.markFailed(jobId, errorMessage, finishedAt);
+	}
+
+	@Override
+	public int markFailedIfStale(Long jobId, String errorMessage, Instant finishedAt, Instant staleBefore) {
+		return jpaRepository.markFailedIfStale(jobId, errorMessage, finishedAt, staleBefore);
+	}
+
+	@Override
+	public int heartbeat(Long jobId) {
+		return jpaRepository.heartbeat(jobId);
+	}
+
+	@Override
+	public List<IngestionJob> findStaleRunning(Instant staleBefore) {
+		return jpaRepository.findByStatusAndUpdatedAtBefore(IngestionJobStatus.RUNNING, staleBefore).stream()
+				.map(mapper::toDomain).toList();
+	}
+}
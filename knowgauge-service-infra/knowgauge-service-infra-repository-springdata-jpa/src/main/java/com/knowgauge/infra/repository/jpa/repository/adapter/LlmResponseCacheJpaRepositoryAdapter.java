@@ -0,0 +1,44 @@
+package com.knowgauge.infra.repository.jpa.repository.adapter;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.knowgauge.core.port.repository.LlmResponseCacheRepository;
+import com.knowgauge.infra.repository.jpa.repository.LlmResponseCacheJpaRepository;
+
+@Repository
+public class LlmResponseCacheJpaRepositoryAdapter implements LlmResponseCacheRepository {
+
+	private final LlmResponseCacheJpaRepository jpaRepository;
+
+	public LlmResponseCacheJpaRepositoryAdapter(LlmResponseCacheJpaRepository jpaRepository) {
+		this.jpaRepository = jpaRepository;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<String> findResponse(String cacheKey, Instant now) {
+		return jpaRepository.findResponse(cacheKey, now);
+	}
+
+	@Override
+	@Transactional
+	public void saveResponse(String cacheKey, String model, String response, Instant expiresAt) {
+		jpaRepository.upsert(cacheKey, model, response, Instant.now(), expiresAt);
+	}
+
+	@Override
+	@Transactional
+	public void deleteResponse(String cacheKey) {
+		jpaRepository.deleteById(cacheKey);
+	}
+
+	@Override
+	@Transactional
+	public int evict(Instant now, int maxEntries) {
+		return jpaRepository.deleteExpired(now) + jpaRepository.deleteBeyond(Math.max(0, maxEntries));
+	}
+}
@@ -1,8 +1,12 @@
 package com.knowgauge.infra.repository.jpa.repository.adapter;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +22,8 @@ import com.knowgauge.infra.repository.jpa.repository.TestJpaRepository;
 @Repository
 public class TestJpaRepositoryAdapter implements TestRepository {
 
+	private static final int IN_LIST_PARTITION_SIZE = 1000;
+
 	private final TestJpaRepository jpaRepository;
 	private final DocumentChunkJpaRepository documentChunkJpaRepository;
 	private final TestEntityMapper mapper;
@@ -69,6 +75,22 @@ public class TestJpaRepositoryAdapter implements TestRepository {
 	    // no save() necessary if test is managed in the same persistence context
 	}
 
+	@Override
+	public Set<Long> findChunkIdsUsedSince(Long tenantId, Collection<Long> chunkIds, Instant usedSince) {
+		Set<Long> used = new HashSet<>();
+		List<Long> all = new ArrayList<>(new HashSet<>(chunkIds));
+		for (int from = 0; from < all.size(); from += IN_LIST_PARTITION_SIZE) {
+			List<Long> part = all.subList(from, Math.min(all.size(), from + IN_LIST_PARTITION_SIZE));
+			used.addAll(jpaRepository.findChunkIdsUsedSince(tenantId, part, usedSince));
+		}
+		return used;
+	}
+
+	@Override
+	public int markGenerating(Long tenantId, Long testId, Instant startedAt) {
+		return jpaRepository.markGenerating(tenantId, testId, startedAt);
+	}
+
 	@Override
 	public int markGenerated(Long tenantId, Long testId, Instant finishedAt) {
 		return jpaRepository.markGenerated(tenantId, testId, finishedAt);
@@ -78,4 +100,31 @@ public class TestJpaRepositoryAdapter implements TestRepository {
 	public int markFailed(Long tenantId, Long testId, String errorMessage, Instant failedAt) {
 		return jpaRepository.markFailed(tenantId, testId, errorMessage, failedAt);
 	}
+
+	@Override
+	public int touchActive(Collection<Long> testIds, Instant now) {
+		if (testIds.isEmpty()) {
+			return 0;
+		}
+		List<Long> all = List.copyOf(testIds);
+		int touched = 0;
+		for (int from = 0; from < all.size(); from += IN_LIST_PARTITION_SIZE) {
+			touched += jpaRepository.touchActive(all.subList(from, Math.min(all.size(), from + IN_LIST_PARTITION_SIZE)),
+					now);
+		}
+		return touched;
+	}
+
+	@Override
+	public List<Test> findStaleActive(Instant staleBefore) {
+		return jpaRepository
+				.findByStatusInAndUpdatedAtBefore(List.of(TestStatus.CREATED, TestStatus.GENERATING), staleBefore)
+				.stream().map(mapper::toDomain).toList();
+	}
+
+	@Override
+	public int markFailedIfStale(Long tenantId, Long testId, String errorMessage, Instant failedAt,
+			Instant staleBefore) {
+		return jpaRepository.markFailedIfStale(tenantId, testId, errorMessage, failedAt, staleBefore);
+	}
 }
@@ -0,0 +1,56 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.cache;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-instance LRU with per-entry expiry.
+ */
+public class InMemoryLlmResponseCacheStore implements LlmResponseCacheStore {
+
+	private final Map<String, Entry> lru;
+
+	public InMemoryLlmResponseCacheStore(int maxEntries) {
+		int limit = Math.max(1, maxEntries);
+		this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > limit;
+			}
+		};
+	}
+
+	@Override
+	public synchronized Optional<String> get(String key, Instant now) {
+		Entry entry = lru.get(key);
+		if (entry == null) {
+			return Optional.empty();
+		}
+		if (!entry.expiresAt().isAfter(now)) {
+			lru.remove(key);
+			return Optional.empty();
+		}
+		return Optional.of(entry.response());
+	}
+
+	@Override
+	public synchronized void put(String key, String model, String response, Instant expiresAt) {
+		lru.put(key, new Entry(response, expiresAt));
+	}
+
+	@Override
+	public synchronized void remove(String key) {
+		lru.remove(key);
+	}
+
+	public synchronized int size() {
+		return lru.size();
+	}
+
+	private record Entry(String response, Instant expiresAt) {
+	}
+}
@@ -0,0 +1,154 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.Test;
+import com.knowgauge.core.port.repository.LlmResponseCacheRepository;
+import com.knowgauge.core.util.HashingHelper;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.config.LlmResponseCacheProperties;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiChatModelRegistry.ChatModelSettings;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of deterministic LLM calls (temperature at or below
+ * {@code kg.testgen.llm-cache.max-temperature}), so retries and regeneration
+ * over the same chunks do not pay for the same answer twice.
+ *
+ * The key is a SHA-256 of tenant, call type, model, parameters and prompt; the
+ * raw response text is stored. A response is only written after it was mapped
+ * successfully, and a cached response that no longer maps is dropped and
+ * fetched again.
+ *
+ * Metrics: {@code kg.testgen.llm.cache.requests} (tags call, result=hit|miss)
+ * and {@code kg.testgen.llm.cache.size} for the MEMORY store.
+ */
+@Component
+@Slf4j
+public class LlmResponseCache {
+
+	private static final String REQUESTS_METER = "kg.testgen.llm.cache.requests";
+
+	private final LlmResponseCacheProperties properties;
+	private final LlmResponseCacheStore store;
+	private final MeterRegistry meterRegistry;
+
+	public LlmResponseCache(LlmResponseCacheProperties properties, LlmResponseCacheRepository repository,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+
+		if (properties.getStore() == LlmResponseCacheProperties.Store.DATABASE) {
+			this.store = new RepositoryLlmResponseCacheStore(repository, properties.getMaxEntries(),
+					properties.getEvictEveryWrites());
+		} else {
+			InMemoryLlmResponseCacheStore memoryStore = new InMemoryLlmResponseCacheStore(properties.getMaxEntries());
+			Gauge.builder("kg.testgen.llm.cache.size", memoryStore, InMemoryLlmResponseCacheStore::size)
+					.register(meterRegistry);
+			this.store = memoryStore;
+		}
+	}
+
+	/**
+	 * Maps the cached response for the request, or calls the LLM, maps the
+	 * response and caches it. Requests that are not cacheable go straight to the
+	 * LLM.
+	 *
+	 * @param callType e.g. "generation", "verification"; part of the key and the
+	 *                 metric tags
+	 */
+	public <T> T getOrCall(Test test, String callType, ChatModelSettings settings, String prompt,
+			Supplier<ChatResponse> call, Function<ChatResponse, T> mapper) {
+		if (!isCacheable(settings, prompt)) {
+			return mapper.apply(call.get());
+		}
+
+		String key = key(test.getTenantId(), callType, settings, prompt);
+
+		Optional<String> cached = lookup(key);
+		if (cached.isPresent()) {
+			try {
+				T result = mapper.apply(toResponse(cached.get(), settings.modelName()));
+				count(callType, "hit");
+				log.info("    Test generation {} - {} response served from cache", test.getId(), callType);
+				return result;
+			} catch (RuntimeException e) {
+				log.warn("Test {} - cached {} response could not be mapped, calling the LLM again: {}", test.getId(),
+						callType, e.getMessage());
+				remove(key);
+			}
+		}
+
+		count(callType, "miss");
+		ChatResponse response = call.get();
+		T result = mapper.apply(response);
+
+		String text = response != null && response.aiMessage() != null ? response.aiMessage().text() : null;
+		if (text != null && !text.isBlank()) {
+			save(key, settings.modelName(), text);
+		}
+		return result;
+	}
+
+	private boolean isCacheable(ChatModelSettings settings, String prompt) {
+		return properties.isEnabled() && prompt != null && !prompt.isBlank() && settings.temperature() != null
+				&& settings.temperature() <= properties.getMaxTemperature();
+	}
+
+	/**
+	 * Store failures never fail the LLM call; the cache is only an optimization.
+	 */
+	private Optional<String> lookup(String key) {
+		try {
+			return store.get(key, Instant.now());
+		} catch (RuntimeException e) {
+			log.warn("LLM response cache lookup failed: {}", e.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	private void save(String key, String model, String text) {
+		try {
+			store.put(key, model, text, Instant.now().plus(Duration.ofMinutes(Math.max(1, properties.getTtlMinutes()))));
+		} catch (RuntimeException e) {
+			log.warn("LLM response cache write failed: {}", e.getMessage());
+		}
+	}
+
+	private void remove(String key) {
+		try {
+			store.remove(key);
+		} catch (RuntimeException e) {
+			log.warn("LLM response cache eviction failed: {}", e.getMessage());
+		}
+	}
+
+	private void count(String callType, String result) {
+		Counter.builder(REQUESTS_METER).tag("call", callType).tag("result", result).register(meterRegistry)
+				.increment();
+	}
+
+	private static ChatResponse toResponse(String text, String modelName) {
+		return ChatResponse.builder().aiMessage(AiMessage.from(text)).modelName(modelName)
+				.finishReason(FinishReason.STOP).build();
+	}
+
+	static String key(Long tenantId, String callType, ChatModelSettings settings, String prompt) {
+		// NUL separated, so no field can run into the next one
+		return HashingHelper.sha256Hex(tenantId + "\0" + callType + "\0" + settings.modelName() + "\0"
+				+ settings.temperature() + "\0" + settings.maxTokens() + "\0" + settings.strictJsonSchema() + "\0"
+				+ prompt);
+	}
+}
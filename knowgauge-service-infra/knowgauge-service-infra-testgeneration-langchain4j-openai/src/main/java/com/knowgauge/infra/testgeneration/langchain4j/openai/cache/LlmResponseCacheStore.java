@@ -0,0 +1,16 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.cache;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Backing store of {@link LlmResponseCache}: raw response text by request hash.
+ */
+public interface LlmResponseCacheStore {
+
+	Optional<String> get(String key, Instant now);
+
+	void put(String key, String model, String response, Instant expiresAt);
+
+	void remove(String key);
+}
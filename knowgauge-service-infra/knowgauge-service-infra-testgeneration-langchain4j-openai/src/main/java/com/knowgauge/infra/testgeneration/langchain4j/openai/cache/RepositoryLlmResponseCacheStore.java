@@ -0,0 +1,51 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.cache;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.knowgauge.core.port.repository.LlmResponseCacheRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Store backed by the llm_response_cache table, shared by all instances.
+ * Expired and excess rows are deleted every {@code evictEveryWrites} writes
+ * rather than on each write.
+ */
+@Slf4j
+public class RepositoryLlmResponseCacheStore implements LlmResponseCacheStore {
+
+	private final LlmResponseCacheRepository repository;
+	private final int maxEntries;
+	private final int evictEveryWrites;
+
+	private final AtomicInteger writes = new AtomicInteger();
+
+	public RepositoryLlmResponseCacheStore(LlmResponseCacheRepository repository, int maxEntries,
+			int evictEveryWrites) {
+		this.repository = repository;
+		this.maxEntries = Math.max(1, maxEntries);
+		this.evictEveryWrites = Math.max(1, evictEveryWrites);
+	}
+
+	@Override
+	public Optional<String> get(String key, Instant now) {
+		return repository.findResponse(key, now);
+	}
+
+	@Override
+	public void put(String key, String model, String response, Instant expiresAt) {
+		repository.saveResponse(key, model, response, expiresAt);
+
+		if (writes.incrementAndGet() % evictEveryWrites == 0) {
+			int deleted = repository.evict(Instant.now(), maxEntries);
+			log.info("*** LLM response cache - {} expired/excess rows deleted", deleted);
+		}
+	}
+
+	@Override
+	public void remove(String key) {
+		repository.deleteResponse(key);
+	}
+}
@@ -0,0 +1,99 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.llm-cache")
+public class LlmResponseCacheProperties {
+
+	public enum Store {
+		/**
+		 * Per-instance LRU, lost on restart.
+		 */
+		MEMORY,
+		/**
+		 * llm_response_cache table of the main DB, shared by all instances.
+		 */
+		DATABASE
+	}
+
+	/**
+	 * Serve repeated deterministic LLM calls (same model, parameters and prompt)
+	 * from the cache.
+	 */
+	private boolean enabled = false;
+
+	private Store store = Store.MEMORY;
+
+	/**
+	 * Only calls with a temperature at or below this value are cached (higher
+	 * temperatures are expected to give different answers on purpose).
+	 */
+	private double maxTemperature = 0.0;
+
+	/**
+	 * Time after which a cached response is no longer served.
+	 */
+	private long ttlMinutes = 1440;
+
+	/**
+	 * Max cached responses; the least recently used (MEMORY) or oldest
+	 * (DATABASE) ones are dropped beyond that.
+	 */
+	private int maxEntries = 1000;
+
+	/**
+	 * DATABASE store: expired and excess rows are deleted after every that many
+	 * writes.
+	 */
+	private int evictEveryWrites = 100;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Store getStore() {
+		return store;
+	}
+
+	public void setStore(Store store) {
+		this.store = store;
+	}
+
+	public double getMaxTemperature() {
+		return maxTemperature;
+	}
+
+	public void setMaxTemperature(double maxTemperature) {
+		this.maxTemperature = maxTemperature;
+	}
+
+	public long getTtlMinutes() {
+		return ttlMinutes;
+	}
+
+	public void setTtlMinutes(long ttlMinutes) {
+		this.ttlMinutes = ttlMinutes;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public void setMaxEntries(int maxEntries) {
+		this.maxEntries = maxEntries;
+	}
+
+	public int getEvictEveryWrites() {
+		return evictEveryWrites;
+	}
+
+	public void setEvictEveryWrites(int evictEveryWrites) {
+		this.evictEveryWrites = evictEveryWrites;
+	}
+}
@@ -0,0 +1,37 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.testgen.chat-model.openai.pool")
+public class OpenAiChatModelPoolProperties {
+
+	/**
+	 * Reuse chat model instances (and their HTTP connections) across calls
+	 * (false = build a new model for every call).
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Max distinct chat model configurations kept; the least recently used one
+	 * is dropped beyond that.
+	 */
+	private int maxModels = 32;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getMaxModels() {
+		return maxModels;
+	}
+
+	public void setMaxModels(int maxModels) {
+		this.maxModels = maxModels;
+	}
+}
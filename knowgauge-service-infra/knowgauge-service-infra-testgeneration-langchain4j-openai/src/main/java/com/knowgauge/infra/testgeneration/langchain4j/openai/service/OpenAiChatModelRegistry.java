@@ -0,0 +1,149 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.infra.testgeneration.langchain4j.openai.config.OpenAiChatModelPoolProperties;
+
+import dev.langchain4j.http.client.HttpClient;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.HttpClientBuilderLoader;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded LRU of {@link OpenAiChatModel} instances keyed by their effective
+ * configuration.
+ *
+ * Building an OpenAiChatModel also builds an HTTP client with its own
+ * connection pool, so a model per LLM call means a new TCP/TLS handshake per
+ * call. Models are cheap to keep; the HTTP clients underneath are shared by all
+ * models with the same timeouts, so keep-alive connections survive eviction of
+ * a model.
+ */
+@Component
+@Slf4j
+public class OpenAiChatModelRegistry {
+
+	private final OpenAiChatModelPoolProperties properties;
+
+	private final Map<ChatModelSettings, OpenAiChatModel> models;
+	private final Map<Timeouts, HttpClient> httpClients = new ConcurrentHashMap<>();
+
+	public OpenAiChatModelRegistry(OpenAiChatModelPoolProperties properties) {
+		this.properties = properties;
+
+		int maxModels = Math.max(1, properties.getMaxModels());
+		this.models = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ChatModelSettings, OpenAiChatModel> eldest) {
+				return size() > maxModels;
+			}
+		};
+	}
+
+	/**
+	 * Returns the chat model for the given settings, building it on first use.
+	 */
+	public OpenAiChatModel get(ChatModelSettings settings) {
+		if (!properties.isEnabled()) {
+			return build(settings);
+		}
+
+		synchronized (models) {
+			OpenAiChatModel model = models.get(settings);
+			if (model == null) {
+				model = build(settings);
+				models.put(settings, model);
+				log.info("*** Chat model created for {} ({} cached)", settings, models.size());
+			}
+			return model;
+		}
+	}
+
+	private OpenAiChatModel build(ChatModelSettings settings) {
+		OpenAiChatModel.OpenAiChatModelBuilder builder = OpenAiChatModel.builder().apiKey(settings.apiKey())
+				.modelName(settings.modelName()).httpClientBuilder(new SharedHttpClientBuilder());
+
+		if (settings.strictJsonSchema() != null) {
+			builder.strictJsonSchema(settings.strictJsonSchema());
+		}
+
+		if (settings.temperature() != null) {
+			builder.temperature(settings.temperature());
+		}
+
+		if (settings.maxTokens() != null) {
+			builder.maxTokens(settings.maxTokens());
+		}
+
+		if (settings.timeoutSeconds() != null) {
+			builder.timeout(Duration.ofSeconds(settings.timeoutSeconds()));
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Effective chat model configuration. The API key is part of the key (test
+	 * generation and verification may use different keys) but is never logged.
+	 */
+	public record ChatModelSettings(String apiKey, String modelName, Double temperature, Integer maxTokens,
+			Integer timeoutSeconds, Boolean strictJsonSchema) {
+
+		@Override
+		public String toString() {
+			return "ChatModelSettings[modelName=" + modelName + ", temperature=" + temperature + ", maxTokens="
+					+ maxTokens + ", timeoutSeconds=" + timeoutSeconds + ", strictJsonSchema=" + strictJsonSchema
+					+ "]";
+		}
+	}
+
+	private record Timeouts(Duration connectTimeout, Duration readTimeout) {
+	}
+
+	/**
+	 * Handed to each model builder; the model sets its timeouts, build() returns
+	 * the client shared by all models with the same timeouts.
+	 */
+	private final class SharedHttpClientBuilder implements HttpClientBuilder {
+
+		private Duration connectTimeout;
+		private Duration readTimeout;
+
+		@Override
+		public Duration connectTimeout() {
+			return connectTimeout;
+		}
+
+		@Override
+		public HttpClientBuilder connectTimeout(Duration connectTimeout) {
+			this.connectTimeout = connectTimeout;
+			return this;
+		}
+
+		@Override
+		public Duration readTimeout() {
+			return readTimeout;
+		}
+
+		@Override
+		public HttpClientBuilder readTimeout(Duration readTimeout) {
+			this.readTimeout = readTimeout;
+			return this;
+		}
+
+		@Override
+		public HttpClient build() {
+			return httpClients.computeIfAbsent(new Timeouts(connectTimeout, readTimeout),
+					timeouts -> HttpClientBuilderLoader.loadHttpClientBuilder().connectTimeout(timeouts.connectTimeout())
+							.readTimeout(timeouts.readTimeout()).build());
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Value;
 
@@ -30,6 +31,14 @@ import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.openai.OpenAiChatModel;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * OpenAI chat call with structured output where the model supports it.
+ *
+ * The response format derived from the provider's schema JSON is built once and
+ * reused for every call; it is rebuilt only when the provider returns a
+ * different schema (e.g. after a hot reload of the schema resource). Whether a
+ * model supports structured output is resolved once per model name.
+ */
 @Slf4j
 public class OpenAiClientImpl implements OpenAiClient {
 	private final SchemaProvider schemaProvider;
@@ -37,6 +46,9 @@ public class OpenAiClientImpl implements OpenAiClient {
 
 	protected final List<String> structuredOutputModelPrefixes;
 
+	private final Map<String, Boolean> structuredOutputSupport = new ConcurrentHashMap<>();
+	private volatile ResponseFormat responseFormat;
+
 	public OpenAiClientImpl(SchemaProvider schemaProvider,
 			@Value("${kg.testgen.chat-model.openai.structured-output-model-prefixes:gpt-4.1,gpt-4o,o1,o3,o4}") List<String> structuredOutputModelPrefixes) {
 		this.structuredOutputModelPrefixes = structuredOutputModelPrefixes;
@@ -107,12 +119,29 @@ public class OpenAiClientImpl implements OpenAiClient {
 	protected ChatRequest buildRequest(String effectivePrompt, String schemaJson) {
 		ChatRequest.Builder builder = ChatRequest.builder().messages(List.of(UserMessage.from(effectivePrompt)));
 		if (schemaJson != null) {
-			JsonSchema responseJsonSchema = toResponseJsonSchema(schemaJson);
-			builder.parameters(ChatRequestParameters.builder().responseFormat(responseJsonSchema).build());
+			builder.parameters(responseFormatParameters(schemaJson));
 		}
 		return builder.build();
 	}
 
+	/**
+	 * Request parameters carrying the JSON schema response format, cached for the
+	 * last seen schema. The provider hands out the same cached string until its
+	 * resource changes, so the identity check is the usual hit.
+	 */
+	protected ChatRequestParameters responseFormatParameters(String schemaJson) {
+		ResponseFormat current = responseFormat;
+		if (current != null && (current.schemaJson() == schemaJson || current.schemaJson().equals(schemaJson))) {
+			return current.parameters();
+		}
+
+		JsonSchema responseJsonSchema = toResponseJsonSchema(schemaJson);
+		ChatRequestParameters parameters = ChatRequestParameters.builder().responseFormat(responseJsonSchema).build();
+		responseFormat = new ResponseFormat(schemaJson, parameters);
+		log.info("*** Structured output response format built from schema ({} chars)", schemaJson.length());
+		return parameters;
+	}
+
 	protected String enforceJsonOnly(String basePrompt) {
 		return basePrompt + "\n\nReturn ONLY a valid JSON array. No markdown. No explanations.";
 	}
@@ -168,7 +197,10 @@ public class OpenAiClientImpl implements OpenAiClient {
 		if (modelName == null) {
 			return false;
 		}
+		return structuredOutputSupport.computeIfAbsent(modelName, this::matchesStructuredOutputPrefix);
+	}
 
+	private boolean matchesStructuredOutputPrefix(String modelName) {
 		List<String> prefixes = structuredOutputModelPrefixes;
 		if (prefixes == null || prefixes.isEmpty()) {
 			prefixes = List.of("gpt-4.1", "gpt-4o", "o1", "o3", "o4");
@@ -208,4 +240,7 @@ public class OpenAiClientImpl implements OpenAiClient {
 		}
 		return null;
 	}
+
+	private record ResponseFormat(String schemaJson, ChatRequestParameters parameters) {
+	}
 }
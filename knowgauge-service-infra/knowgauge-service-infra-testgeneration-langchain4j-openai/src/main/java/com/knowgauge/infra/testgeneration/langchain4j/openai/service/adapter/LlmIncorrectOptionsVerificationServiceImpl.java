@@ -1,6 +1,5 @@
 package com.knowgauge.infra.testgeneration.langchain4j.openai.service.adapter;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -11,12 +10,14 @@ import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.TestQuestion;
 import com.knowgauge.core.model.enums.AnswerCardinality;
 import com.knowgauge.core.port.testgeneration.LlmIncorrectOptionsVerificationService;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.cache.LlmResponseCache;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.config.OpenAiChatModelProperties;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.config.OpenAiVerificationModelProperties;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.mapper.VerificationResponseMapper;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiChatModelRegistry;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiChatModelRegistry.ChatModelSettings;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiClient;
 
-import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.openai.OpenAiChatModel;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,14 +29,19 @@ public class LlmIncorrectOptionsVerificationServiceImpl implements LlmIncorrectO
 	private final OpenAiVerificationModelProperties verificationModelProperties;
 	private final OpenAiVerificationModelProperties fallbackProperties;
 	private final VerificationResponseMapper responseMapper;
+	private final OpenAiChatModelRegistry chatModelRegistry;
+	private final LlmResponseCache responseCache;
 
 	public LlmIncorrectOptionsVerificationServiceImpl(@Qualifier("verificationOpenAiClient") OpenAiClient openAiClient,
 			OpenAiVerificationModelProperties verificationModelProperties,
-			OpenAiChatModelProperties chatModelProperties, VerificationResponseMapper responseMapper) {
+			OpenAiChatModelProperties chatModelProperties, VerificationResponseMapper responseMapper,
+			OpenAiChatModelRegistry chatModelRegistry, LlmResponseCache responseCache) {
 
 		this.openAiClient = openAiClient;
 		this.verificationModelProperties = verificationModelProperties;
 		this.responseMapper = responseMapper;
+		this.chatModelRegistry = chatModelRegistry;
+		this.responseCache = responseCache;
 
 		// Create fallback properties from main chat model properties
 		this.fallbackProperties = new OpenAiVerificationModelProperties();
@@ -62,15 +68,30 @@ public class LlmIncorrectOptionsVerificationServiceImpl implements LlmIncorrectO
 		}
 
 		try {
-			ChatResponse response = openAiClient.callLlm(prompt, test, buildChatModel(test), resolveModelName(test));
-			return responseMapper.mapAndApplyReplacements(response, questions, test);
+			ChatModelSettings settings = resolveChatModelSettings(test);
+			return responseCache.getOrCall(test, "verification", settings, prompt,
+					() -> openAiClient.callLlm(prompt, test, chatModelRegistry.get(settings), settings.modelName()),
+					response -> responseMapper.mapAndApplyReplacements(response, questions, test));
 		} catch (Exception e) {
 			log.error("Failed to verify incorrect options for test {}: {}", test.getId(), e.getMessage(), e);
 			return 0;
 		}
 	}
 
+	/**
+	 * Tests resolving to the same verification model configuration can share a
+	 * verification call.
+	 */
+	@Override
+	public String coalescingKey(Test test) {
+		return resolveChatModelSettings(test).toString();
+	}
+
 	protected OpenAiChatModel buildChatModel(Test test) {
+		return chatModelRegistry.get(resolveChatModelSettings(test));
+	}
+
+	protected ChatModelSettings resolveChatModelSettings(Test test) {
 		String model = resolveModelName(test);
 		String apiKey = resolveApiKey();
 
@@ -78,21 +99,7 @@ public class LlmIncorrectOptionsVerificationServiceImpl implements LlmIncorrectO
 		Integer maxOutputTokens = resolveMaxOutputTokens(test);
 		Integer timeoutSeconds = resolveTimeoutSeconds();
 
-		OpenAiChatModel.OpenAiChatModelBuilder builder = OpenAiChatModel.builder().apiKey(apiKey).modelName(model);
-
-		if (temperature != null) {
-			builder.temperature(temperature);
-		}
-
-		if (maxOutputTokens != null) {
-			builder.maxTokens(maxOutputTokens);
-		}
-
-		if (timeoutSeconds != null) {
-			builder.timeout(Duration.ofSeconds(timeoutSeconds));
-		}
-
-		return builder.build();
+		return new ChatModelSettings(apiKey, model, temperature, maxOutputTokens, timeoutSeconds, null);
 	}
 
 	protected String resolveModelName(Test test) {
@@ -1,6 +1,5 @@
 package com.knowgauge.infra.testgeneration.langchain4j.openai.service.adapter;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -10,11 +9,13 @@ import org.springframework.stereotype.Service;
 import com.knowgauge.core.model.Test;
 import com.knowgauge.core.model.TestQuestion;
 import com.knowgauge.core.port.testgeneration.LlmTestGenerationService;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.cache.LlmResponseCache;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.config.OpenAiChatModelProperties;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.mapper.TestGenerationResponseMapper;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiChatModelRegistry;
+import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiChatModelRegistry.ChatModelSettings;
 import com.knowgauge.infra.testgeneration.langchain4j.openai.service.OpenAiClient;
 
-import dev.langchain4j.model.chat.response.ChatResponse;
 import dev.langchain4j.model.openai.OpenAiChatModel;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,22 +25,33 @@ public class LlmTestGenerationServiceImpl implements LlmTestGenerationService {
 	private final OpenAiClient openAiClient;
 	private final OpenAiChatModelProperties chatModelProperties;
 	private final TestGenerationResponseMapper responseMapper;
+	private final OpenAiChatModelRegistry chatModelRegistry;
+	private final LlmResponseCache responseCache;
 
 	public LlmTestGenerationServiceImpl(@Qualifier("testGenerationOpenAiClient") OpenAiClient openAiClient, 
 			OpenAiChatModelProperties chatModelProperties,
-			TestGenerationResponseMapper responseMapper) {
+			TestGenerationResponseMapper responseMapper, OpenAiChatModelRegistry chatModelRegistry,
+			LlmResponseCache responseCache) {
 		this.openAiClient = openAiClient;
 		this.chatModelProperties = chatModelProperties;
 		this.responseMapper = responseMapper;
+		this.chatModelRegistry = chatModelRegistry;
+		this.responseCache = responseCache;
 	}
 
 	@Override
 	public List<TestQuestion> generate(String prompt, Test test) {
-		ChatResponse response = openAiClient.callLlm(prompt, test, buildChatModel(test), resolveModelName(test));
-		return responseMapper.map(response, test);
+		ChatModelSettings settings = resolveChatModelSettings(test);
+		return responseCache.getOrCall(test, "generation", settings, prompt,
+				() -> openAiClient.callLlm(prompt, test, chatModelRegistry.get(settings), settings.modelName()),
+				response -> responseMapper.map(response, test));
 	}
 
 	protected OpenAiChatModel buildChatModel(Test test) {
+		return chatModelRegistry.get(resolveChatModelSettings(test));
+	}
+
+	protected ChatModelSettings resolveChatModelSettings(Test test) {
 		String model = resolveModelName(test);
 
 		Double temperature = resolveOptionalDoubleParam(test, "temperature");
@@ -54,22 +66,8 @@ public class LlmTestGenerationServiceImpl implements LlmTestGenerationService {
 
 		boolean supportsStructuredOutput = openAiClient.supportsStructuredOutputResponseFormat(model);
 
-		OpenAiChatModel.OpenAiChatModelBuilder builder = OpenAiChatModel.builder()
-				.apiKey(chatModelProperties.getApiKey()).modelName(model).strictJsonSchema(supportsStructuredOutput);
-
-		if (temperature != null) {
-			builder.temperature(temperature);
-		}
-
-		if (maxOutputTokens != null) {
-			builder.maxTokens(maxOutputTokens);
-		}
-
-		if (chatModelProperties.getTimeoutSeconds() != null) {
-			builder.timeout(Duration.ofSeconds(chatModelProperties.getTimeoutSeconds()));
-		}
-
-		return builder.build();
+		return new ChatModelSettings(chatModelProperties.getApiKey(), model, temperature, maxOutputTokens,
+				chatModelProperties.getTimeoutSeconds(), supportsStructuredOutput);
 	}
 
 	protected String resolveModelName(Test test) {
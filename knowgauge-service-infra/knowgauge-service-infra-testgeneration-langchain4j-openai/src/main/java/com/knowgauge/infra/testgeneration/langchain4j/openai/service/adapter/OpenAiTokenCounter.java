@@ -0,0 +1,51 @@
+package com.knowgauge.infra.testgeneration.langchain4j.openai.service.adapter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.port.testgeneration.TokenCounter;
+
+import dev.langchain4j.model.openai.OpenAiChatModelName;
+import dev.langchain4j.model.openai.OpenAiTokenCountEstimator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local OpenAI token counts (jtokkit BPE encodings via langchain4j).
+ *
+ * Models unknown to the bundled tokenizer (newer than the library) are counted
+ * with the gpt-4o encoding (o200k_base), which all current OpenAI chat models
+ * use. Estimators are created once per model and are thread-safe.
+ */
+@Component
+@Slf4j
+public class OpenAiTokenCounter implements TokenCounter {
+
+	private static final OpenAiTokenCountEstimator FALLBACK = new OpenAiTokenCountEstimator(
+			OpenAiChatModelName.GPT_4_O);
+
+	private final Map<String, OpenAiTokenCountEstimator> estimators = new ConcurrentHashMap<>();
+
+	@Override
+	public int countTokens(String text, String model) {
+		if (text == null || text.isEmpty()) {
+			return 0;
+		}
+		return estimatorFor(model).estimateTokenCountInText(text);
+	}
+
+	private OpenAiTokenCountEstimator estimatorFor(String model) {
+		if (model == null || model.isBlank()) {
+			return FALLBACK;
+		}
+		return estimators.computeIfAbsent(model, name -> {
+			try {
+				return new OpenAiTokenCountEstimator(name);
+			} catch (RuntimeException e) {
+				log.info("No tokenizer registered for model '{}', counting with the gpt-4o encoding", name);
+				return FALLBACK;
+			}
+		});
+	}
+}
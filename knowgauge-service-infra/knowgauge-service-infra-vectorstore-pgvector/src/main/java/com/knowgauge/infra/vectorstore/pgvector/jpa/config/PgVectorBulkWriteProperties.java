@@ -0,0 +1,28 @@
+package com.knowgauge.infra.vectorstore.pgvector.jpa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.pgvector.bulk-write")
+public class PgVectorBulkWriteProperties {
+
+	private boolean enabled = true;
+	private int rowsPerStatement = 200;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getRowsPerStatement() {
+		return rowsPerStatement;
+	}
+
+	public void setRowsPerStatement(int rowsPerStatement) {
+		this.rowsPerStatement = rowsPerStatement;
+	}
+}
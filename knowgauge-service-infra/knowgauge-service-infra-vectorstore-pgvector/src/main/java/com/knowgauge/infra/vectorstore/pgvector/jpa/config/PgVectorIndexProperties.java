@@ -0,0 +1,81 @@
+package com.knowgauge.infra.vectorstore.pgvector.jpa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Build parameters of idx_chunk_embeddings_embedding, applied when the index is
+ * rebuilt (the Flyway migration creates an ivfflat index with lists = 100).
+ */
+@Component
+@ConfigurationProperties(prefix = "kg.pgvector.index")
+public class PgVectorIndexProperties {
+
+	public enum Method {
+		IVFFLAT, HNSW
+	}
+
+	private Method method = Method.IVFFLAT;
+
+	/**
+	 * ivfflat lists. 0 = derive from the row count (rows / 1000 up to 1M rows,
+	 * sqrt(rows) above, as recommended by pgvector).
+	 */
+	private int ivfflatLists = 0;
+
+	/**
+	 * HNSW max connections per layer (pgvector default 16).
+	 */
+	private int hnswM = 16;
+
+	/**
+	 * HNSW candidate list size while building (pgvector default 64).
+	 */
+	private int hnswEfConstruction = 64;
+
+	/**
+	 * maintenance_work_mem for the build session, e.g. "1GB". HNSW builds are much
+	 * faster while the graph fits in it. Empty = server setting.
+	 */
+	private String maintenanceWorkMem = "";
+
+	public Method getMethod() {
+		return method;
+	}
+
+	public void setMethod(Method method) {
+		this.method = method;
+	}
+
+	public int getIvfflatLists() {
+		return ivfflatLists;
+	}
+
+	public void setIvfflatLists(int ivfflatLists) {
+		this.ivfflatLists = ivfflatLists;
+	}
+
+	public int getHnswM() {
+		return hnswM;
+	}
+
+	public void setHnswM(int hnswM) {
+		this.hnswM = hnswM;
+	}
+
+	public int getHnswEfConstruction() {
+		return hnswEfConstruction;
+	}
+
+	public void setHnswEfConstruction(int hnswEfConstruction) {
+		this.hnswEfConstruction = hnswEfConstruction;
+	}
+
+	public String getMaintenanceWorkMem() {
+		return maintenanceWorkMem;
+	}
+
+	public void setMaintenanceWorkMem(String maintenanceWorkMem) {
+		this.maintenanceWorkMem = maintenanceWorkMem;
+	}
+}
@@ -0,0 +1,66 @@
+package com.knowgauge.infra.vectorstore.pgvector.jpa.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "kg.pgvector.search")
+public class PgVectorSearchProperties {
+
+	/**
+	 * ivfflat lists scanned per query. Higher = better recall, slower queries
+	 * (pgvector default is 1).
+	 */
+	private int ivfflatProbes = 10;
+
+	/**
+	 * HNSW candidate list size per query, also the upper bound of rows an HNSW
+	 * scan returns (pgvector default is 40).
+	 */
+	private int hnswEfSearch = 40;
+
+	/**
+	 * Let the ANN scan continue past probes / ef_search until enough rows pass
+	 * the tenant and document filters (hnsw.iterative_scan and
+	 * ivfflat.iterative_scan = relaxed_order). Requires pgvector 0.8 or later.
+	 */
+	private boolean iterativeScan = true;
+
+	/**
+	 * When the ANN scan still returns fewer rows than requested, repeat the query
+	 * as an exact scan of the scoped rows (no vector index).
+	 */
+	private boolean exactFallback = true;
+
+	public int getIvfflatProbes() {
+		return ivfflatProbes;
+	}
+
+	public void setIvfflatProbes(int ivfflatProbes) {
+		this.ivfflatProbes = ivfflatProbes;
+	}
+
+	public int getHnswEfSearch() {
+		return hnswEfSearch;
+	}
+
+	public void setHnswEfSearch(int hnswEfSearch) {
+		this.hnswEfSearch = hnswEfSearch;
+	}
+
+	public boolean isIterativeScan() {
+		return iterativeScan;
+	}
+
+	public void setIterativeScan(boolean iterativeScan) {
+		this.iterativeScan = iterativeScan;
+	}
+
+	public boolean isExactFallback() {
+		return exactFallback;
+	}
+
+	public void setExactFallback(boolean exactFallback) {
+		this.exactFallback = exactFallback;
+	}
+}
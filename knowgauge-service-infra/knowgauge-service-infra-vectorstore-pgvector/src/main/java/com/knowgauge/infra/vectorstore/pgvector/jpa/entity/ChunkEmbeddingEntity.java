@@ -28,6 +28,13 @@ public class ChunkEmbeddingEntity extends AuditableEntity {
 	@Column(name = "chunk_id", nullable = false)
 	private Long chunkId;
 
+	/**
+	 * Copy of document_chunks.ordinal, used for random sampling by index lookup.
+	 * Nullable so rows written before it existed stay valid.
+	 */
+	@Column(name = "chunk_ordinal")
+	private Integer chunkOrdinal;
+
 	/**
 	 * Duplicated metadata so vector search can be filtered without joining
 	 * document_chunks (future vector DB).
@@ -0,0 +1,126 @@
+package com.knowgauge.infra.vectorstore.pgvector.jpa.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.ChunkEmbedding;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.config.PgVectorBulkWriteProperties;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Bulk insert path for chunk_embeddings that bypasses the JPA entity lifecycle.
+ *
+ * IDENTITY ids make Hibernate issue one INSERT (and one round-trip) per entity.
+ * Here rows are written with multi-row {@code INSERT ... VALUES (...), (...)
+ * RETURNING} statements on the connection of the current pgvector transaction,
+ * so a document's embeddings go out in a handful of statements.
+ *
+ * Vectors are bound as pgvector text literals ({@code [x,y,...]}) and cast
+ * server-side, which needs no driver-specific types.
+ */
+@Component
+public class ChunkEmbeddingBulkWriter {
+
+	// 10 bind parameters per row; PostgreSQL allows at most 65535 per statement
+	private static final int PARAMS_PER_ROW = 10;
+	private static final int MAX_ROWS_PER_STATEMENT = 65535 / PARAMS_PER_ROW;
+
+	private static final String INSERT_PREFIX = """
+			INSERT INTO chunk_embeddings (
+			    tenant_id, topic_id, document_id, document_version, section_id,
+			    chunk_id, chunk_ordinal, chunk_checksum, embedding, embedding_model,
+			    created_at, updated_at, created_by, updated_by)
+			VALUES
+			""";
+	// Audit values mirror AuditableEntity.onCreate()
+	private static final String ROW_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, cast(? as vector), ?, now(), now(), 1, 1)";
+	private static final String RETURNING = " RETURNING id, chunk_id";
+
+	@PersistenceContext(unitName = "pgvector")
+	private EntityManager em;
+
+	private final PgVectorBulkWriteProperties properties;
+
+	public ChunkEmbeddingBulkWriter(PgVectorBulkWriteProperties properties) {
+		this.properties = properties;
+	}
+
+	/**
+	 * Inserts the embeddings and assigns the generated ids to the given instances.
+	 * Must run inside a vectorTransactionManager transaction.
+	 */
+	public List<ChunkEmbedding> insertAll(List<ChunkEmbedding> embeddings) {
+		if (embeddings.isEmpty()) {
+			return embeddings;
+		}
+
+		int rowsPerStatement = Math.max(1, Math.min(properties.getRowsPerStatement(), MAX_ROWS_PER_STATEMENT));
+
+		em.unwrap(Session.class).doWork(connection -> {
+			for (int from = 0; from < embeddings.size(); from += rowsPerStatement) {
+				insertPart(connection, embeddings.subList(from, Math.min(embeddings.size(), from + rowsPerStatement)));
+			}
+		});
+
+		return embeddings;
+	}
+
+	private void insertPart(Connection connection, List<ChunkEmbedding> part) throws SQLException {
+		StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + part.size() * (ROW_VALUES.length() + 2));
+		sql.append(INSERT_PREFIX);
+		for (int i = 0; i < part.size(); i++) {
+			sql.append(i == 0 ? "" : ",\n").append(ROW_VALUES);
+		}
+		sql.append(RETURNING);
+
+		try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+			int p = 1;
+			for (ChunkEmbedding e : part) {
+				ps.setLong(p++, e.getTenantId());
+				ps.setLong(p++, e.getTopicId());
+				ps.setLong(p++, e.getDocumentId());
+				ps.setInt(p++, e.getDocumentVersion());
+				ps.setObject(p++, e.getSectionId(), Types.BIGINT);
+				ps.setLong(p++, e.getChunkId());
+				ps.setObject(p++, e.getChunkOrdinal(), Types.INTEGER);
+				ps.setString(p++, e.getChunkChecksum());
+				ps.setString(p++, toVectorLiteral(e.getEmbedding()));
+				ps.setString(p++, e.getEmbeddingModel());
+			}
+
+			// Map generated ids by chunk id rather than relying on RETURNING row order
+			Map<Long, Long> idsByChunkId = new HashMap<>(part.size() * 2);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					idsByChunkId.put(rs.getLong(2), rs.getLong(1));
+				}
+			}
+			for (ChunkEmbedding e : part) {
+				e.setId(idsByChunkId.get(e.getChunkId()));
+			}
+		}
+	}
+
+	public static String toVectorLiteral(float[] vector) {
+		StringBuilder sb = new StringBuilder(vector.length * 12 + 2);
+		sb.append('[');
+		for (int i = 0; i < vector.length; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(vector[i]);
+		}
+		return sb.append(']').toString();
+	}
+}
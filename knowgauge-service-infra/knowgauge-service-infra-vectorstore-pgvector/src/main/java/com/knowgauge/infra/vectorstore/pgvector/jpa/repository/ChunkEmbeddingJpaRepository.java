@@ -76,6 +76,38 @@ public interface ChunkEmbeddingJpaRepository extends JpaRepository<ChunkEmbeddin
 			""")
 	long deleteByTenantIdAndChunkId(@Param("tenantId") Long tenantId, @Param("chunkId") Long chunkId);
 
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("""
+			    delete from ChunkEmbeddingEntity e
+			    where e.tenantId = :tenantId
+			      and e.chunkId in :chunkIds
+			""")
+	int deleteByTenantIdAndChunkIdIn(@Param("tenantId") Long tenantId, @Param("chunkIds") Collection<Long> chunkIds);
+
+	@Query("""
+			    select e.chunkId from ChunkEmbeddingEntity e
+			    where e.tenantId = :tenantId
+			      and e.documentId = :documentId
+			      and e.documentVersion = :documentVersion
+			      and e.embeddingModel = :embeddingModel
+			""")
+	List<Long> findChunkIds(@Param("tenantId") Long tenantId, @Param("documentId") Long documentId,
+			@Param("documentVersion") Integer documentVersion, @Param("embeddingModel") String embeddingModel);
+
+	// -------------------------------------------------
+	// Content-addressed lookup (embedding cache)
+	// -------------------------------------------------
+
+	@Query("""
+			    select e.chunkChecksum, e.embedding from ChunkEmbeddingEntity e
+			    where e.tenantId = :tenantId
+			      and e.embeddingModel = :embeddingModel
+			      and e.chunkChecksum in :chunkChecksums
+			""")
+	List<Object[]> findEmbeddingsByChunkChecksums(@Param("tenantId") Long tenantId,
+			@Param("chunkChecksums") Collection<String> chunkChecksums,
+			@Param("embeddingModel") String embeddingModel);
+
 	// -------------------------------------------------
 	// Optional: drift / consistency checks
 	// -------------------------------------------------
@@ -0,0 +1,164 @@
+package com.knowgauge.infra.vectorstore.pgvector.jpa.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.model.ChunkCandidate;
+import com.knowgauge.core.model.DocChunkCount;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Random per-document sampling of chunk_embeddings, as vector-free projections.
+ *
+ * Random ordinals are drawn in memory from the known per-document chunk count
+ * and resolved with one index lookup on (tenant_id, embedding_model,
+ * document_id, chunk_ordinal), so the cost grows with the sample size, not with
+ * the number of embeddings in scope. The embedding column is never read.
+ *
+ * Documents whose ordinals do not resolve completely (rows written before
+ * chunk_ordinal existed, several versions in scope) fall back to a random()
+ * window over the ids of just those documents.
+ */
+@Component
+public class ChunkEmbeddingSampler {
+
+	private static final String SAMPLE_SQL = """
+			SELECT ce.id, ce.document_id, ce.chunk_id, ce.chunk_checksum
+			FROM unnest(?, ?) AS s(document_id, chunk_ordinal)
+			JOIN chunk_embeddings ce
+			  ON ce.tenant_id = ?
+			 AND ce.embedding_model = ?
+			 AND ce.document_id = s.document_id
+			 AND ce.chunk_ordinal = s.chunk_ordinal
+			""";
+
+	private static final String FALLBACK_SQL = """
+			SELECT r.id, r.document_id, r.chunk_id, r.chunk_checksum
+			FROM (
+			    SELECT ce.id, ce.document_id, ce.chunk_id, ce.chunk_checksum,
+			           row_number() OVER (PARTITION BY ce.document_id ORDER BY random()) AS rn
+			    FROM chunk_embeddings ce
+			    WHERE ce.tenant_id = ?
+			      AND ce.embedding_model = ?
+			      AND ce.document_id = ANY (?)
+			) r
+			WHERE r.rn <= ?
+			""";
+
+	@PersistenceContext(unitName = "pgvector")
+	private EntityManager em;
+
+	/**
+	 * Returns up to {@code maxPerDoc} random chunks per document. Must run inside
+	 * a vectorTransactionManager transaction.
+	 */
+	public List<ChunkCandidate> sample(Long tenantId, String embeddingModel, List<DocChunkCount> docChunkCounts,
+			int maxPerDoc) {
+		if (docChunkCounts == null || docChunkCounts.isEmpty() || maxPerDoc <= 0) {
+			return List.of();
+		}
+
+		Random random = ThreadLocalRandom.current();
+		List<Long> probeDocIds = new ArrayList<>();
+		List<Integer> probeOrdinals = new ArrayList<>();
+		Map<Long, Integer> wantedPerDoc = new HashMap<>();
+
+		for (DocChunkCount dc : docChunkCounts) {
+			int chunkCount = (int) Math.min(Integer.MAX_VALUE, dc.chunkCount);
+			int wanted = Math.min(chunkCount, maxPerDoc);
+			if (wanted <= 0) {
+				continue;
+			}
+			wantedPerDoc.put(dc.documentId, wanted);
+			for (int ordinal : randomOrdinals(chunkCount, wanted, random)) {
+				probeDocIds.add(dc.documentId);
+				probeOrdinals.add(ordinal);
+			}
+		}
+		if (wantedPerDoc.isEmpty()) {
+			return List.of();
+		}
+
+		return em.unwrap(Session.class).doReturningWork(connection -> {
+			Map<Long, ChunkCandidate> byId = new LinkedHashMap<>();
+			Map<Long, Integer> foundPerDoc = new HashMap<>();
+
+			try (PreparedStatement ps = connection.prepareStatement(SAMPLE_SQL)) {
+				ps.setArray(1, connection.createArrayOf("bigint", probeDocIds.toArray()));
+				ps.setArray(2, connection.createArrayOf("integer", probeOrdinals.toArray()));
+				ps.setLong(3, tenantId);
+				ps.setString(4, embeddingModel);
+				collect(ps, byId, foundPerDoc);
+			}
+
+			List<Long> shortDocIds = new ArrayList<>();
+			int fallbackPerDoc = 0;
+			for (Map.Entry<Long, Integer> wanted : wantedPerDoc.entrySet()) {
+				if (foundPerDoc.getOrDefault(wanted.getKey(), 0) < wanted.getValue()) {
+					shortDocIds.add(wanted.getKey());
+					fallbackPerDoc = Math.max(fallbackPerDoc, wanted.getValue());
+				}
+			}
+
+			// Short documents are sampled again in full; ids already found are kept once
+			if (!shortDocIds.isEmpty()) {
+				fallback(connection, tenantId, embeddingModel, shortDocIds, fallbackPerDoc, byId);
+			}
+
+			return new ArrayList<>(byId.values());
+		});
+	}
+
+	private void fallback(Connection connection, Long tenantId, String embeddingModel, List<Long> documentIds,
+			int maxPerDoc, Map<Long, ChunkCandidate> byId) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement(FALLBACK_SQL)) {
+			ps.setLong(1, tenantId);
+			ps.setString(2, embeddingModel);
+			ps.setArray(3, connection.createArrayOf("bigint", documentIds.toArray()));
+			ps.setInt(4, maxPerDoc);
+			collect(ps, byId, new HashMap<>());
+		}
+	}
+
+	private static void collect(PreparedStatement ps, Map<Long, ChunkCandidate> byId,
+			Map<Long, Integer> foundPerDoc) throws SQLException {
+		try (ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				long id = rs.getLong(1);
+				if (!byId.containsKey(id)) {
+					ChunkCandidate candidate = new ChunkCandidate(rs.getLong(2), rs.getLong(3), rs.getString(4));
+					byId.put(id, candidate);
+					foundPerDoc.merge(candidate.documentId(), 1, Integer::sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@code m} distinct ordinals out of 1..n (Floyd's algorithm, O(m)).
+	 */
+	static Set<Integer> randomOrdinals(int n, int m, Random random) {
+		Set<Integer> picked = new HashSet<>(Math.max(16, m * 2));
+		for (int j = n - m + 1; j <= n; j++) {
+			int t = 1 + random.nextInt(j);
+			picked.add(picked.contains(t) ? j : t);
+		}
+		return picked;
+	}
+}
@@ -0,0 +1,328 @@
+package com.knowgauge.infra.vectorstore.pgvector.jpa.repository.adapter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.knowgauge.core.exception.VectorIndexRebuildInProgressException;
+import com.knowgauge.core.model.VectorIndexReport;
+import com.knowgauge.core.port.vectorstore.VectorIndexManager;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.config.PgVectorIndexProperties;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.config.PgVectorSearchProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rebuilds idx_chunk_embeddings_embedding online.
+ *
+ * The new index is built next to the old one with CREATE INDEX CONCURRENTLY,
+ * then swapped in and the table is analyzed, so writes keep going and FOCUSED
+ * searches keep using the old index during the build. The swap renames the old
+ * index aside and the new one into place in one transaction, and only then
+ * drops the old one, so there is never a moment without a vector index.
+ * CONCURRENTLY cannot run inside a transaction, so this works on a plain
+ * autocommit JDBC connection of the vector datasource instead of the entity
+ * manager.
+ *
+ * A session-level advisory lock keeps two rebuilds (e.g. on two instances)
+ * from racing on the swap. Leftovers of an aborted rebuild (an INVALID new
+ * index or an old index that was renamed aside but not dropped) are dropped by
+ * the next rebuild.
+ */
+@Component
+@Slf4j
+public class PgVectorIndexManager implements VectorIndexManager {
+
+	private static final String INDEX_NAME = "idx_chunk_embeddings_embedding";
+	private static final String NEW_INDEX_NAME = INDEX_NAME + "_rebuild";
+	private static final String OLD_INDEX_NAME = INDEX_NAME + "_old";
+
+	// Arbitrary, only has to be unique among advisory locks of the vector DB
+	private static final long REBUILD_LOCK_KEY = 0x6B67_7665_6374_6F72L;
+
+	private static final int ROWS_PER_LIST = 1000;
+	private static final long SQRT_LISTS_ABOVE_ROWS = 1_000_000L;
+
+	private final DataSource dataSource;
+	private final PgVectorIndexProperties indexProperties;
+	private final PgVectorSearchProperties searchProperties;
+
+	public PgVectorIndexManager(@Qualifier("vectorDataSource") DataSource dataSource,
+			PgVectorIndexProperties indexProperties, PgVectorSearchProperties searchProperties) {
+		this.dataSource = dataSource;
+		this.indexProperties = indexProperties;
+		this.searchProperties = searchProperties;
+	}
+
+	@Override
+	public VectorIndexReport rebuildEmbeddingIndex(int sampleQueries, int k) {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(true);
+
+			if (!tryLock(connection)) {
+				throw new VectorIndexRebuildInProgressException();
+			}
+
+			try {
+				long rowCount = countRows(connection);
+				String definition = indexDefinition(rowCount);
+				log.info("   Vector index - Rebuilding {} over {} rows: {}", INDEX_NAME, rowCount, definition);
+
+				long buildMillis = build(connection, definition);
+				log.info("   Vector index - {} built in {} ms, swapping", NEW_INDEX_NAME, buildMillis);
+
+				swap(connection);
+				execute(connection, "ANALYZE chunk_embeddings");
+
+				RecallSample recall = measureRecall(connection, rowCount, sampleQueries, k);
+				log.info("   Vector index - recall@{} = {} on {} queries (index {} us, exact {} us per query)", k,
+						recall.recall(), recall.queries(), recall.avgIndexMicros(), recall.avgExactMicros());
+
+				String method = indexProperties.getMethod().name().toLowerCase(Locale.ROOT);
+				return new VectorIndexReport(INDEX_NAME, method, definition, rowCount, buildMillis, recall.queries(), k,
+						recall.recall(), recall.avgIndexMicros(), recall.avgExactMicros());
+			} finally {
+				unlock(connection);
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Vector index rebuild failed: " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public boolean isRebuildInProgress() {
+		// A bigint advisory key shows up in pg_locks split into classid (high half)
+		// and objid (low half), with objsubid = 1
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement ps = connection.prepareStatement("""
+						SELECT EXISTS (
+						    SELECT 1 FROM pg_locks
+						    WHERE locktype = 'advisory' AND granted
+						      AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 1
+						)
+						""")) {
+			ps.setLong(1, REBUILD_LOCK_KEY >>> 32);
+			ps.setLong(2, REBUILD_LOCK_KEY & 0xFFFF_FFFFL);
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getBoolean(1);
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Vector index rebuild lock check failed: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Renames are catalog-only and transactional, so searches see either the old
+	 * or the new index under INDEX_NAME. The old one is dropped afterwards,
+	 * outside the transaction as CONCURRENTLY requires.
+	 */
+	private void swap(Connection connection) throws SQLException {
+		execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + OLD_INDEX_NAME);
+
+		connection.setAutoCommit(false);
+		try {
+			execute(connection, "ALTER INDEX IF EXISTS " + INDEX_NAME + " RENAME TO " + OLD_INDEX_NAME);
+			execute(connection, "ALTER INDEX " + NEW_INDEX_NAME + " RENAME TO " + INDEX_NAME);
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			connection.setAutoCommit(true);
+		}
+
+		execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + OLD_INDEX_NAME);
+	}
+
+	/**
+	 * USING/WITH part of the CREATE INDEX statement for the configured method.
+	 */
+	String indexDefinition(long rowCount) {
+		if (indexProperties.getMethod() == PgVectorIndexProperties.Method.HNSW) {
+			return "USING hnsw (embedding vector_cosine_ops) WITH (m = " + Math.max(2, indexProperties.getHnswM())
+					+ ", ef_construction = " + Math.max(4, indexProperties.getHnswEfConstruction()) + ")";
+		}
+		int lists = indexProperties.getIvfflatLists() > 0 ? indexProperties.getIvfflatLists() : ivfflatLists(rowCount);
+		return "USING ivfflat (embedding vector_cosine_ops) WITH (lists = " + lists + ")";
+	}
+
+	/**
+	 * pgvector recommendation: rows / 1000 up to 1M rows, sqrt(rows) above.
+	 */
+	static int ivfflatLists(long rowCount) {
+		long lists = rowCount <= SQRT_LISTS_ABOVE_ROWS ? rowCount / ROWS_PER_LIST : (long) Math.sqrt(rowCount);
+		return (int) Math.max(1, lists);
+	}
+
+	private long build(Connection connection, String definition) throws SQLException {
+		String maintenanceWorkMem = indexProperties.getMaintenanceWorkMem();
+		boolean customMemory = maintenanceWorkMem != null && !maintenanceWorkMem.isBlank();
+
+		execute(connection, "DROP INDEX CONCURRENTLY IF EXISTS " + NEW_INDEX_NAME);
+		if (customMemory) {
+			try (PreparedStatement ps = connection
+					.prepareStatement("SELECT set_config('maintenance_work_mem', ?, false)")) {
+				ps.setString(1, maintenanceWorkMem.trim());
+				ps.execute();
+			}
+		}
+
+		try {
+			long start = System.nanoTime();
+			execute(connection, "CREATE INDEX CONCURRENTLY " + NEW_INDEX_NAME + " ON chunk_embeddings " + definition);
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		} finally {
+			if (customMemory) {
+				// Session setting, the connection goes back to the pool
+				execute(connection, "RESET maintenance_work_mem");
+			}
+		}
+	}
+
+	/**
+	 * Uses stored embeddings as queries and compares the top-k of an index scan
+	 * with the exact top-k of a sequential scan. The planner is steered with SET
+	 * LOCAL inside a transaction that is rolled back afterwards.
+	 */
+	private RecallSample measureRecall(Connection connection, long rowCount, int sampleQueries, int k)
+			throws SQLException {
+		if (sampleQueries <= 0 || rowCount == 0) {
+			return new RecallSample(0, -1, 0, 0);
+		}
+
+		connection.setAutoCommit(false);
+		try {
+			List<String> queries = sampleEmbeddings(connection, rowCount, sampleQueries);
+
+			try (PreparedStatement ps = connection.prepareStatement(
+					"SELECT set_config('ivfflat.probes', ?, true), set_config('hnsw.ef_search', ?, true)")) {
+				ps.setString(1, String.valueOf(Math.max(1, searchProperties.getIvfflatProbes())));
+				ps.setString(2, String.valueOf(Math.max(k, searchProperties.getHnswEfSearch())));
+				ps.execute();
+			}
+
+			double recallSum = 0;
+			long indexNanos = 0;
+			long exactNanos = 0;
+
+			for (String query : queries) {
+				execute(connection, "SET LOCAL enable_seqscan = off");
+				execute(connection, "SET LOCAL enable_indexscan = on");
+				long start = System.nanoTime();
+				Set<Long> approximate = nearestIds(connection, query, k);
+				indexNanos += System.nanoTime() - start;
+
+				execute(connection, "SET LOCAL enable_seqscan = on");
+				execute(connection, "SET LOCAL enable_indexscan = off");
+				start = System.nanoTime();
+				Set<Long> exact = nearestIds(connection, query, k);
+				exactNanos += System.nanoTime() - start;
+
+				if (!exact.isEmpty()) {
+					int hits = 0;
+					for (Long id : exact) {
+						if (approximate.contains(id)) {
+							hits++;
+						}
+					}
+					recallSum += (double) hits / exact.size();
+				}
+			}
+
+			int n = queries.size();
+			if (n == 0) {
+				return new RecallSample(0, -1, 0, 0);
+			}
+			return new RecallSample(n, recallSum / n, TimeUnit.NANOSECONDS.toMicros(indexNanos / n),
+					TimeUnit.NANOSECONDS.toMicros(exactNanos / n));
+		} finally {
+			connection.rollback();
+			connection.setAutoCommit(true);
+		}
+	}
+
+	/**
+	 * Bernoulli sample sized for roughly twice the wanted rows, so the whole table
+	 * is never sorted just to pick a few queries.
+	 */
+	private List<String> sampleEmbeddings(Connection connection, long rowCount, int sampleQueries)
+			throws SQLException {
+		double percent = Math.min(100.0, 200.0 * sampleQueries / rowCount);
+		String sql = "SELECT embedding::text FROM chunk_embeddings TABLESAMPLE BERNOULLI ("
+				+ String.format(Locale.ROOT, "%.6f", percent) + ") LIMIT ?";
+
+		List<String> out = new ArrayList<>(sampleQueries);
+		try (PreparedStatement ps = connection.prepareStatement(sql)) {
+			ps.setInt(1, sampleQueries);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					out.add(rs.getString(1));
+				}
+			}
+		}
+		return out;
+	}
+
+	private Set<Long> nearestIds(Connection connection, String queryEmbedding, int k) throws SQLException {
+		Set<Long> ids = new HashSet<>();
+		try (PreparedStatement ps = connection.prepareStatement(
+				"SELECT id FROM chunk_embeddings ORDER BY embedding <=> cast(? AS vector) LIMIT ?")) {
+			ps.setString(1, queryEmbedding);
+			ps.setInt(2, k);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					ids.add(rs.getLong(1));
+				}
+			}
+		}
+		return ids;
+	}
+
+	private long countRows(Connection connection) throws SQLException {
+		try (Statement st = connection.createStatement();
+				ResultSet rs = st.executeQuery("SELECT count(*) FROM chunk_embeddings")) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+
+	private boolean tryLock(Connection connection) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+			ps.setLong(1, REBUILD_LOCK_KEY);
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getBoolean(1);
+			}
+		}
+	}
+
+	private void unlock(Connection connection) throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+			ps.setLong(1, REBUILD_LOCK_KEY);
+			ps.execute();
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement st = connection.createStatement()) {
+			st.execute(sql);
+		}
+	}
+
+	private record RecallSample(int queries, double recall, long avgIndexMicros, long avgExactMicros) {
+	}
+}
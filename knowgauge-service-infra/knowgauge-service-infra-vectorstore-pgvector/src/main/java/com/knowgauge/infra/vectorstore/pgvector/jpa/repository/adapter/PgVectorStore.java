@@ -2,18 +2,26 @@ package com.knowgauge.infra.vectorstore.pgvector.jpa.repository.adapter;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.knowgauge.core.model.ChunkCandidate;
 import com.knowgauge.core.model.ChunkEmbedding;
 import com.knowgauge.core.model.DocChunkCount;
 import com.knowgauge.core.port.vectorstore.VectorStore;
-import com.knowgauge.infra.vectorstore.pgvector.jpa.entity.ChunkEmbeddingEntity;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.config.PgVectorBulkWriteProperties;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.config.PgVectorSearchProperties;
 import com.knowgauge.infra.vectorstore.pgvector.jpa.mapper.ChunkEmbeddingEntityMapper;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.repository.ChunkEmbeddingBulkWriter;
 import com.knowgauge.infra.vectorstore.pgvector.jpa.repository.ChunkEmbeddingJpaRepository;
+import com.knowgauge.infra.vectorstore.pgvector.jpa.repository.ChunkEmbeddingSampler;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -27,13 +35,14 @@ import jakarta.persistence.PersistenceContext;
  * equally) - BALANCED_PER_DOC_CHUNKS: proportional to document chunk volume
  * (size-aware balancing)
  *
- * NOTE: This is NOT a semantic similarity retrieval yet. - FOCUSED mode would
- * require query embedding + ORDER BY distance(embedding, queryEmbedding).
+ * FOCUSED mode uses {@link #findNearest}: ORDER BY embedding <=> query on the
+ * cosine ANN index (see PgVectorIndexManager for rebuilding it).
  *
  * Selection approach overview (BALANCED modes): 1) Compute corpus shape (how
  * many chunks exist per document in the scope). 2) Compute per-document quotas
  * (budgets) based on selected coverage mode. 3) Over-fetch candidates: up to
- * maxQuota rows per document using window function row_number(). 4) Shuffle
+ * maxQuota rows per document, drawn as random chunk ordinals and resolved by
+ * index lookup, without reading the vectors. 4) Shuffle
  * candidates to mix documents. 5) Apply budgets + checksum dedupe in-memory
  * until we reach the requested limit.
  *
@@ -43,15 +52,27 @@ import jakarta.persistence.PersistenceContext;
 @Repository
 public class PgVectorStore implements VectorStore {
 
+	private static final int IN_LIST_PARTITION_SIZE = 1000;
+
 	@PersistenceContext(unitName = "pgvector")
 	private EntityManager em;
 
 	private final ChunkEmbeddingJpaRepository jpaRepository;
 	private final ChunkEmbeddingEntityMapper mapper;
+	private final ChunkEmbeddingBulkWriter bulkWriter;
+	private final PgVectorBulkWriteProperties bulkWriteProperties;
+	private final PgVectorSearchProperties searchProperties;
+	private final ChunkEmbeddingSampler sampler;
 
-	public PgVectorStore(ChunkEmbeddingJpaRepository jpaRepository, ChunkEmbeddingEntityMapper mapper) {
+	public PgVectorStore(ChunkEmbeddingJpaRepository jpaRepository, ChunkEmbeddingEntityMapper mapper,
+			ChunkEmbeddingBulkWriter bulkWriter, PgVectorBulkWriteProperties bulkWriteProperties,
+			PgVectorSearchProperties searchProperties, ChunkEmbeddingSampler sampler) {
 		this.jpaRepository = jpaRepository;
 		this.mapper = mapper;
+		this.bulkWriter = bulkWriter;
+		this.bulkWriteProperties = bulkWriteProperties;
+		this.searchProperties = searchProperties;
+		this.sampler = sampler;
 	}
 
 	@Override
@@ -85,31 +106,153 @@ public class PgVectorStore implements VectorStore {
 		return jpaRepository.deleteByTenantIdAndChunkId(tenantId, chunkId);
 	}
 
+	@Override
+	public long deleteByTenantIdAndChunkIdIn(Long tenantId, Collection<Long> chunkIds) {
+		long deleted = 0;
+		for (List<Long> part : partition(chunkIds)) {
+			deleted += jpaRepository.deleteByTenantIdAndChunkIdIn(tenantId, part);
+		}
+		return deleted;
+	}
+
+	@Override
+	public List<Long> findChunkIdsByTenantIdAndDocumentIdAndDocumentVersionAndEmbeddingModel(Long tenantId,
+			Long documentId, Integer documentVersion, String embeddingModel) {
+		return jpaRepository.findChunkIds(tenantId, documentId, documentVersion, embeddingModel);
+	}
+
+	@Override
+	public Map<String, float[]> findEmbeddingsByChunkChecksums(Long tenantId, Collection<String> chunkChecksums,
+			String embeddingModel) {
+		Map<String, float[]> out = new HashMap<>();
+		for (List<String> part : partition(chunkChecksums)) {
+			for (Object[] row : jpaRepository.findEmbeddingsByChunkChecksums(tenantId, part, embeddingModel)) {
+				out.putIfAbsent((String) row[0], (float[]) row[1]);
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Keeps IN-lists well below the PostgreSQL bind parameter limit.
+	 */
+	private static <T> List<List<T>> partition(Collection<T> values) {
+		List<T> all = new ArrayList<>(new LinkedHashSet<>(values));
+		List<List<T>> parts = new ArrayList<>();
+		for (int from = 0; from < all.size(); from += IN_LIST_PARTITION_SIZE) {
+			parts.add(all.subList(from, Math.min(all.size(), from + IN_LIST_PARTITION_SIZE)));
+		}
+		return parts;
+	}
+
+	/**
+	 * New embeddings go through the multi-row bulk writer; embeddings that already
+	 * have an id (updates) still use JPA.
+	 */
 	@Override
 	public List<ChunkEmbedding> saveAll(List<ChunkEmbedding> embeddings) {
+		if (bulkWriteProperties.isEnabled() && embeddings.stream().allMatch(ChunkEmbedding::isNew)) {
+			return bulkWriter.insertAll(embeddings);
+		}
 		return jpaRepository.saveAll(embeddings.stream().map(mapper::toEntity).toList()).stream().map(mapper::toDomain)
 				.toList();
 	}
 
+	/**
+	 * Projection-only sampling, see {@link ChunkEmbeddingSampler}.
+	 */
 	@Override
-	public List<ChunkEmbedding> findCandidates(Long tenantId, Collection<Long> documentIds, int maxChunksPerDoc,
-			String embeddingModel, boolean avoidRepeats) {
+	@Transactional(transactionManager = "vectorTransactionManager", readOnly = true)
+	public List<ChunkCandidate> findCandidates(Long tenantId, List<DocChunkCount> docChunkCounts, int maxChunksPerDoc,
+			String embeddingModel) {
+		return sampler.sample(tenantId, embeddingModel, docChunkCounts, maxChunksPerDoc);
+	}
 
-		String sql = buildRankedCandidatesSql();
+	/**
+	 * ANN search on idx_chunk_embeddings_embedding (cosine, ivfflat or hnsw
+	 * depending on how it was last built). ivfflat.probes and hnsw.ef_search are
+	 * set with set_config(..., is_local = true), so they only apply to this
+	 * transaction and never leak to other users of the pooled connection. An HNSW
+	 * scan returns at most ef_search rows, so ef_search is raised to the limit.
+	 *
+	 * The tenant and document filters are applied to the rows the index scan
+	 * returns, so with a small scope in a large table a plain ANN scan can come
+	 * back short or empty. Iterative scans keep the index scan going until enough
+	 * rows pass the filters; if the result is still short, the query is repeated
+	 * as an exact scan of the scoped rows.
+	 */
+	@Override
+	@Transactional(transactionManager = "vectorTransactionManager", readOnly = true)
+	public List<ChunkCandidate> findNearest(Long tenantId, Collection<Long> documentIds, String embeddingModel,
+			float[] queryEmbedding, int limit) {
+		if (documentIds == null || documentIds.isEmpty() || limit <= 0) {
+			return List.of();
+		}
 
-		@SuppressWarnings("unchecked")
-		NativeQuery<ChunkEmbeddingEntity> q = em.createNativeQuery(sql, ChunkEmbeddingEntity.class)
-				.setParameter("tenantId", tenantId).setParameter("embeddingModel", embeddingModel)
-				.setParameter("maxChunks", maxChunksPerDoc).unwrap(NativeQuery.class);
+		em.createNativeQuery("""
+				SELECT set_config('ivfflat.probes', :probes, true),
+				       set_config('hnsw.ef_search', :efSearch, true)
+				""")
+				.setParameter("probes", String.valueOf(Math.max(1, searchProperties.getIvfflatProbes())))
+				.setParameter("efSearch", String.valueOf(Math.max(limit, searchProperties.getHnswEfSearch())))
+				.getSingleResult();
 
-		q.setParameterList("documentIds", documentIds);
+		if (searchProperties.isIterativeScan()) {
+			// relaxed_order may return rows slightly out of order, hence the outer ORDER BY below
+			em.createNativeQuery("""
+					SELECT set_config('ivfflat.iterative_scan', 'relaxed_order', true),
+					       set_config('hnsw.iterative_scan', 'relaxed_order', true)
+					""").getSingleResult();
+		}
 
-		List<ChunkEmbeddingEntity> candidates = q.getResultList();
-		if (candidates.isEmpty()) {
-			return List.of();
+		// The vector is only used for ordering, never selected
+		List<ChunkCandidate> out = nearest("""
+				WITH nearest AS MATERIALIZED (
+				    SELECT ce.document_id, ce.chunk_id, ce.chunk_checksum,
+				           ce.embedding <=> cast(:queryEmbedding AS vector) AS distance
+				    FROM chunk_embeddings ce
+				    WHERE ce.tenant_id = :tenantId
+				      AND ce.embedding_model = :embeddingModel
+				      AND ce.document_id IN (:documentIds)
+				    ORDER BY distance
+				    LIMIT :limit
+				)
+				SELECT document_id, chunk_id, chunk_checksum FROM nearest ORDER BY distance
+				""", tenantId, documentIds, embeddingModel, queryEmbedding, limit);
+
+		if (out.size() < limit && searchProperties.isExactFallback()) {
+			// "+ 0" keeps the ordering from matching the vector index, so the
+			// planner scans the scoped rows through the tenant/document indexes
+			out = nearest("""
+					SELECT ce.document_id, ce.chunk_id, ce.chunk_checksum
+					FROM chunk_embeddings ce
+					WHERE ce.tenant_id = :tenantId
+					  AND ce.embedding_model = :embeddingModel
+					  AND ce.document_id IN (:documentIds)
+					ORDER BY (ce.embedding <=> cast(:queryEmbedding AS vector)) + 0
+					LIMIT :limit
+					""", tenantId, documentIds, embeddingModel, queryEmbedding, limit);
 		}
+		return out;
+	}
+
+	private List<ChunkCandidate> nearest(String sql, Long tenantId, Collection<Long> documentIds,
+			String embeddingModel, float[] queryEmbedding, int limit) {
+		NativeQuery<?> q = em.createNativeQuery(sql).setParameter("tenantId", tenantId)
+				.setParameter("embeddingModel", embeddingModel)
+				.setParameter("queryEmbedding", ChunkEmbeddingBulkWriter.toVectorLiteral(queryEmbedding))
+				.setParameter("limit", limit).unwrap(NativeQuery.class);
+
+		q.setParameterList("documentIds", documentIds);
+
+		@SuppressWarnings("unchecked")
+		List<Object[]> rows = (List<Object[]>) q.getResultList();
 
-		return candidates.stream().map(mapper::toDomain).toList();
+		List<ChunkCandidate> out = new ArrayList<>(rows.size());
+		for (Object[] r : rows) {
+			out.add(new ChunkCandidate(((Number) r[0]).longValue(), ((Number) r[1]).longValue(), (String) r[2]));
+		}
+		return out;
 	}
 
 	/**
@@ -146,46 +289,4 @@ public class PgVectorStore implements VectorStore {
 		}
 		return out;
 	}
-
-	/**
-	 * SQL that returns up to :maxChunks random candidate rows per document, using a
-	 * window function.
-	 *
-	 * Mechanics: - row_number() partitions by document_id and randomizes within
-	 * each partition - rn <= :maxChunks caps fetched rows per document
-	 *
-	 * This keeps DB work bounded and avoids pulling the entire embeddings table.
-	 *
-	 * IMPORTANT: - parameter names must match code: :tenantId, :embeddingModel,
-	 * :documentIds, :maxChunks
-	 */
-	private String buildRankedCandidatesSql() {
-		return """
-				WITH ranked AS (
-				    SELECT ce.*,
-				           row_number() OVER (PARTITION BY ce.document_id ORDER BY random()) AS rn
-				    FROM chunk_embeddings ce
-				    WHERE ce.tenant_id = :tenantId
-				      AND ce.embedding_model = :embeddingModel
-				      AND ce.document_id IN (:documentIds)
-				)
-				SELECT
-					ranked.id,
-					ranked.tenant_id,
-					ranked.topic_id,
-					ranked.document_id,
-					ranked.document_version,
-					ranked.section_id,
-					ranked.chunk_id,
-					ranked.chunk_checksum,
-					ranked.embedding_model,
-					ranked.embedding,
-					ranked.created_at,
-					ranked.created_by,
-					ranked.updated_at,
-					ranked.updated_by
-				FROM ranked
-				WHERE ranked.rn <= :maxChunks
-				""";
-	}
 }
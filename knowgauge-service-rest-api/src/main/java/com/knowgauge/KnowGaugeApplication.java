@@ -3,11 +3,13 @@ package com.knowgauge;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class for KnowGauge Service. This is the entry
  * point for the REST API module.
  */
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = "com.knowgauge")
 @Import({ com.knowgauge.infra.repository.jpa.config.MainJpaConfig.class,
 		com.knowgauge.infra.vectorstore.pgvector.jpa.config.PgVectorJpaConfig.class })
@@ -25,16 +25,19 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.knowgauge.contract.dto.DocumentDto;
 import com.knowgauge.contract.dto.DocumentInput;
+import com.knowgauge.contract.dto.IngestionJobDto;
 import com.knowgauge.contract.dto.TopicCreateInput;
 import com.knowgauge.contract.dto.TopicDto;
 import com.knowgauge.contract.dto.TopicTreeNodeInput;
 import com.knowgauge.core.model.Document;
+import com.knowgauge.core.model.IngestionJob;
 import com.knowgauge.core.model.Topic;
 import com.knowgauge.core.service.content.DocumentService;
 import com.knowgauge.core.service.content.TopicService;
-import com.knowgauge.core.service.ingestion.IngestionService;
+import com.knowgauge.core.service.ingestion.IngestionJobService;
 import com.knowgauge.core.util.HashingHelper;
 import com.knowgauge.restapi.mapper.DocumentMapper;
+import com.knowgauge.restapi.mapper.IngestionJobMapper;
 import com.knowgauge.restapi.mapper.TopicMapper;
 import com.knowgauge.restapi.util.TempFilesHelper;
 
@@ -59,16 +62,19 @@ public class ContentController {
 	private final TopicMapper topicMapper;
 	private final DocumentMapper documentMaper;
 	private final ObjectMapper objectMapper;
-	private final IngestionService ingestionService;
+	private final IngestionJobService ingestionJobService;
+	private final IngestionJobMapper ingestionJobMapper;
 
 	public ContentController(DocumentService documentService, TopicService topicService, TopicMapper topicMapper,
-			DocumentMapper documentMaper, ObjectMapper objectMapper, IngestionService ingestionService) {
+			DocumentMapper documentMaper, ObjectMapper objectMapper, IngestionJobService ingestionJobService,
+			IngestionJobMapper ingestionJobMapper) {
 		this.documentService = documentService;
 		this.topicService = topicService;
 		this.documentMaper = documentMaper;
 		this.topicMapper = topicMapper;
 		this.objectMapper = objectMapper;
-		this.ingestionService = ingestionService;
+		this.ingestionJobService = ingestionJobService;
+		this.ingestionJobMapper = ingestionJobMapper;
 	}
 
 	// -----------------------------
@@ -217,10 +223,24 @@ public class ContentController {
 	}
 	
 	@PostMapping("/documents/ingestion/{id}")
-	@Operation(summary = "Start ingestion for document")
-	public ResponseEntity<Void> startIngestion(@PathVariable Long id) {
-		ingestionService.ingest(id);
-		return ResponseEntity.status(200).body(null);
+	@Operation(summary = "Start ingestion for document", description = "Queues the document for asynchronous ingestion and returns the job handle")
+	@ApiResponses(value = { @ApiResponse(responseCode = "202", description = "Ingestion job queued"),
+			@ApiResponse(responseCode = "400", description = "Document not found or not in UPLOADED/FAILED state") })
+	public ResponseEntity<IngestionJobDto> startIngestion(@PathVariable Long id) {
+		IngestionJob job = ingestionJobService.enqueue(id);
+
+		URI location = tryBuildLocation("/api/content/ingestion-jobs/{id}", job);
+		return (location != null) ? ResponseEntity.accepted().location(location).body(ingestionJobMapper.toDto(job))
+				: ResponseEntity.status(202).body(ingestionJobMapper.toDto(job));
+	}
+
+	@GetMapping("/ingestion-jobs/{jobId}")
+	@Operation(summary = "Get ingestion job status and progress")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ingestion job returned"),
+			@ApiResponse(responseCode = "404", description = "Ingestion job not found") })
+	public ResponseEntity<IngestionJobDto> getIngestionJob(@PathVariable Long jobId) {
+		return ingestionJobService.get(jobId).map(ingestionJobMapper::toDto).map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
 	}
 
 	/**
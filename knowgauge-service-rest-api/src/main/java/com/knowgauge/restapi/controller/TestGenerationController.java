@@ -1,8 +1,12 @@
 package com.knowgauge.restapi.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,14 +16,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.knowgauge.contract.dto.TestDto;
+import com.knowgauge.contract.dto.TestGenerationProgressDto;
 import com.knowgauge.contract.dto.TestInput;
 import com.knowgauge.contract.dto.TestQuestionDto;
 import com.knowgauge.core.model.Test;
+import com.knowgauge.core.model.TestGenerationProgress;
 import com.knowgauge.core.model.enums.TestStatus;
 import com.knowgauge.core.service.testgeneration.TestGenerationService;
+import com.knowgauge.restapi.mapper.TestGenerationProgressMapper;
 import com.knowgauge.restapi.mapper.TestMapper;
 import com.knowgauge.restapi.mapper.TestQuestionMapper;
 
@@ -40,24 +48,29 @@ import jakarta.validation.Valid;
 @Tag(name = "Test Generation", description = "Generate, retrieve, list and delete generated tests")
 public class TestGenerationController {
 
+	// Generation of a large test stays well below this; the client can reconnect
+	private static final long PROGRESS_STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+
 	private final TestGenerationService testGenerationService;
 	private final TestMapper testMapper;
 	private final TestQuestionMapper testQuestionMapper;
+	private final TestGenerationProgressMapper testGenerationProgressMapper;
 
 	public TestGenerationController(TestGenerationService testGenerationService, TestMapper testMapper,
-			TestQuestionMapper testQuestionMapper) {
+			TestQuestionMapper testQuestionMapper, TestGenerationProgressMapper testGenerationProgressMapper) {
 		this.testGenerationService = testGenerationService;
 		this.testMapper = testMapper;
 		this.testQuestionMapper = testQuestionMapper;
+		this.testGenerationProgressMapper = testGenerationProgressMapper;
 		
 	}
 
 	@PostMapping("")
-	@Operation(summary = "Generate a new test", description = "Creates a new test draft, runs generation, validates questions and returns the generated test metadata.")
+	@Operation(summary = "Generate a new test", description = "Validates and persists the test draft and queues its generation. Returns immediately; follow GET /api/tests/{id}/progress (or the SSE stream) until the status is GENERATED or FAILED.")
 	@ApiResponses(value = {
-			@ApiResponse(responseCode = "201", description = "Test generated successfully", content = @Content(schema = @Schema(implementation = TestDto.class))),
+			@ApiResponse(responseCode = "202", description = "Test accepted for generation", content = @Content(schema = @Schema(implementation = TestDto.class))),
 			@ApiResponse(responseCode = "400", description = "Invalid request payload"),
-			@ApiResponse(responseCode = "500", description = "Generation failed") })
+			@ApiResponse(responseCode = "500", description = "Generation could not be queued") })
 	@io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, description = "Test generation input", content = @Content(mediaType = "application/json", examples = {
 			@ExampleObject(name = "basic", value = """
 					{
@@ -75,13 +88,122 @@ public class TestGenerationController {
 					""")
 	}))
 	public ResponseEntity<TestDto> generateTest(@RequestBody @Valid TestInput testInput) {
-		Test created = testGenerationService.generate(testMapper.toDomain(testInput));
+		Test created = testGenerationService.submit(testMapper.toDomain(testInput));
 
-		// If Test has an ID, you can return Location header.
-		// Otherwise, OK to just return 201 with body.
 		URI location = tryBuildLocation("/api/tests/{id}", created);
-		return (location != null) ? ResponseEntity.created(location).body(testMapper.toDto(created))
-				: ResponseEntity.status(201).body(testMapper.toDto(created));
+		return (location != null) ? ResponseEntity.accepted().location(location).body(testMapper.toDto(created))
+				: ResponseEntity.status(202).body(testMapper.toDto(created));
+	}
+
+	@GetMapping("/{id}/progress")
+	@Operation(summary = "Get test generation progress", description = "Returns status and per-batch progress of the test generation (long-poll friendly: cheap, served from memory while the test runs on this instance).")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Progress returned", content = @Content(schema = @Schema(implementation = TestGenerationProgressDto.class))),
+			@ApiResponse(responseCode = "404", description = "Test not found") })
+	public ResponseEntity<TestGenerationProgressDto> getTestProgress(
+			@Parameter(description = "Test ID", example = "1") @PathVariable Long id) {
+		return testGenerationService.getProgress(id).map(testGenerationProgressMapper::toDto).map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+	@GetMapping(value = "/{id}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	@Operation(summary = "Stream test generation progress", description = "Server-sent events named 'progress', one per completed batch, starting with the current state. The stream completes once the test is GENERATED or FAILED, or right after the current state when the test is not running on this instance.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Event stream opened"),
+			@ApiResponse(responseCode = "404", description = "Test not found") })
+	public ResponseEntity<SseEmitter> streamTestProgress(
+			@Parameter(description = "Test ID", example = "1") @PathVariable Long id) {
+		if (testGenerationService.getProgress(id).isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+
+		SseEmitter emitter = new SseEmitter(PROGRESS_STREAM_TIMEOUT_MS);
+		ProgressStream stream = new ProgressStream(emitter);
+		Optional<Runnable> unsubscribe = testGenerationService.subscribeProgress(id, stream::send);
+
+		// Read after subscribing, so no update between the two is lost; the stream drops it
+		// if a newer update already went out
+		Optional<TestGenerationProgress> current = testGenerationService.getProgress(id);
+		current.ifPresent(stream::send);
+
+		if (unsubscribe.isEmpty() || current.map(TestGenerationProgress::isFinished).orElse(true)) {
+			unsubscribe.ifPresent(Runnable::run);
+			stream.complete();
+		} else {
+			emitter.onCompletion(() -> {
+				stream.closed();
+				unsubscribe.get().run();
+			});
+			emitter.onTimeout(() -> {
+				stream.closed();
+				unsubscribe.get().run();
+			});
+			emitter.onError(e -> {
+				stream.closed();
+				unsubscribe.get().run();
+			});
+		}
+		return ResponseEntity.ok(emitter);
+	}
+
+	/**
+	 * One SSE progress stream. The initial snapshot is sent from the request
+	 * thread and the updates from the generation run, so sends are serialized
+	 * here: a snapshot older than what was already sent is dropped, and any send
+	 * once the stream completed (finished run, timeout, client gone) is a no-op.
+	 */
+	private final class ProgressStream {
+
+		private final SseEmitter emitter;
+		private TestGenerationProgress last;
+		private boolean completed;
+
+		ProgressStream(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+
+		synchronized void send(TestGenerationProgress progress) {
+			if (completed || (last != null && isOlder(progress, last))) {
+				return;
+			}
+			try {
+				emitter.send(SseEmitter.event().name("progress").data(testGenerationProgressMapper.toDto(progress)));
+			} catch (IllegalStateException e) {
+				// Emitter completed underneath us (timeout or container callback)
+				completed = true;
+				return;
+			} catch (IOException e) {
+				// Client went away: the tracker drops a subscriber that throws
+				completed = true;
+				throw new UncheckedIOException(e);
+			}
+			last = progress;
+			if (progress.isFinished()) {
+				complete();
+			}
+		}
+
+		synchronized void complete() {
+			if (!completed) {
+				completed = true;
+				emitter.complete();
+			}
+		}
+
+		synchronized void closed() {
+			completed = true;
+		}
+
+		private static boolean isOlder(TestGenerationProgress progress, TestGenerationProgress than) {
+			int byStage = Integer.compare(stage(progress), stage(than));
+			return byStage != 0 ? byStage < 0 : progress.batchesCompleted() < than.batchesCompleted();
+		}
+
+		private static int stage(TestGenerationProgress progress) {
+			if (progress.isFinished()) {
+				return 2;
+			}
+			return progress.status() == TestStatus.GENERATING ? 1 : 0;
+		}
 	}
 
 	@GetMapping("/{id}")
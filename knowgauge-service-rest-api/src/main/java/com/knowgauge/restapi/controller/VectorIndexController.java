@@ -0,0 +1,63 @@
+package com.knowgauge.restapi.controller;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.knowgauge.contract.dto.VectorIndexRebuildDto;
+import com.knowgauge.core.model.VectorIndexRebuild;
+import com.knowgauge.core.service.retrieving.VectorIndexService;
+import com.knowgauge.restapi.mapper.VectorIndexReportMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/admin/vector-index")
+@Tag(name = "Vector index", description = "Maintain the embedding similarity index")
+public class VectorIndexController {
+
+	private final VectorIndexService vectorIndexService;
+	private final VectorIndexReportMapper vectorIndexReportMapper;
+
+	public VectorIndexController(VectorIndexService vectorIndexService,
+			VectorIndexReportMapper vectorIndexReportMapper) {
+		this.vectorIndexService = vectorIndexService;
+		this.vectorIndexReportMapper = vectorIndexReportMapper;
+	}
+
+	@PostMapping("/rebuild")
+	@Operation(summary = "Start vector index rebuild", description = "Rebuilds the embedding index concurrently with the configured method (kg.pgvector.index.*) in the background, swaps it in and measures recall against exact search on embeddings sampled from the store. Returns the rebuild handle; poll it for status and the recall report. Writes are not blocked.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "202", description = "Rebuild started"),
+			@ApiResponse(responseCode = "400", description = "Invalid parameters"),
+			@ApiResponse(responseCode = "409", description = "Rebuild already in progress") })
+	public ResponseEntity<VectorIndexRebuildDto> rebuild(
+			@Parameter(description = "Number of recall sample queries (0 skips the measurement)", example = "20") @RequestParam(defaultValue = "20") int sampleQueries,
+			@Parameter(description = "Neighbours compared per sample query", example = "10") @RequestParam(defaultValue = "10") int k) {
+		VectorIndexRebuild rebuild = vectorIndexService.startRebuild(sampleQueries, k);
+
+		URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/api/admin/vector-index/rebuilds/{id}").buildAndExpand(rebuild.id()).toUri();
+		return ResponseEntity.accepted().location(location).body(vectorIndexReportMapper.toDto(rebuild));
+	}
+
+	@GetMapping("/rebuilds/{id}")
+	@Operation(summary = "Get vector index rebuild", description = "Returns status and, once SUCCEEDED, the build and recall report of a rebuild started on this instance.")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Rebuild returned"),
+			@ApiResponse(responseCode = "404", description = "Rebuild not found") })
+	public ResponseEntity<VectorIndexRebuildDto> getRebuild(
+			@Parameter(description = "Rebuild ID", example = "1") @PathVariable Long id) {
+		return vectorIndexService.getRebuild(id).map(vectorIndexReportMapper::toDto).map(ResponseEntity::ok)
+				.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+}
@@ -32,6 +32,7 @@ import com.knowgauge.core.exception.StorageBadRequestException;
 import com.knowgauge.core.exception.StorageNotFoundException;
 import com.knowgauge.core.exception.StorageUnavailableException;
 import com.knowgauge.core.exception.StorageUnexpectedException;
+import com.knowgauge.core.exception.VectorIndexRebuildInProgressException;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
@@ -282,6 +283,14 @@ public class GlobalControllerExceptionHandler extends ResponseEntityExceptionHan
 		return handleExceptionInternal(ex, responseBody, new HttpHeaders(), HttpStatus.CONFLICT, request);
 	}
 
+	@ExceptionHandler(VectorIndexRebuildInProgressException.class)
+	public ResponseEntity<Object> handleVectorIndexRebuildInProgressException(WebRequest request,
+			VectorIndexRebuildInProgressException ex) {
+		HttpErrorInfo responseBody = createHttpErrorInfo(HttpStatus.CONFLICT, request, ex);
+		log.warn("Vector index rebuild conflict: {}", ex.getMessage());
+		return handleExceptionInternal(ex, responseBody, new HttpHeaders(), HttpStatus.CONFLICT, request);
+	}
+
 	// -------- helper methods --------
 
 	private HttpErrorInfo createHttpErrorInfo(HttpStatus httpStatus, WebRequest request, Exception ex) {
@@ -0,0 +1,16 @@
+package com.knowgauge.restapi.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import com.knowgauge.contract.dto.IngestionJobDto;
+import com.knowgauge.core.model.IngestionJob;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface IngestionJobMapper {
+
+	/**
+	 * Domain -> Response DTO
+	 */
+	IngestionJobDto toDto(IngestionJob job);
+}
@@ -0,0 +1,16 @@
+package com.knowgauge.restapi.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import com.knowgauge.contract.dto.TestGenerationProgressDto;
+import com.knowgauge.core.model.TestGenerationProgress;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface TestGenerationProgressMapper {
+
+	/**
+	 * Domain -> Response DTO
+	 */
+	TestGenerationProgressDto toDto(TestGenerationProgress progress);
+}
@@ -0,0 +1,23 @@
+package com.knowgauge.restapi.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+import com.knowgauge.contract.dto.VectorIndexRebuildDto;
+import com.knowgauge.contract.dto.VectorIndexReportDto;
+import com.knowgauge.core.model.VectorIndexRebuild;
+import com.knowgauge.core.model.VectorIndexReport;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface VectorIndexReportMapper {
+
+	/**
+	 * Domain -> Response DTO
+	 */
+	VectorIndexReportDto toDto(VectorIndexReport report);
+
+	/**
+	 * Domain -> Response DTO
+	 */
+	VectorIndexRebuildDto toDto(VectorIndexRebuild rebuild);
+}
@@ -0,0 +1,33 @@
+-- Create ingestion_jobs table (persistent queue for asynchronous document ingestion)
+CREATE TABLE ingestion_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tenant_id BIGINT NOT NULL,
+    document_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    stage VARCHAR(50) NOT NULL,
+    processed_items INTEGER NOT NULL DEFAULT 0,
+    total_items INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    error_message TEXT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by BIGINT NOT NULL,
+    updated_by BIGINT NOT NULL,
+
+    CONSTRAINT fk_ingestion_jobs_document FOREIGN KEY (document_id) REFERENCES documents(id) ON DELETE CASCADE,
+    CONSTRAINT chk_ingestion_jobs_status CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED'))
+);
+
+-- Worker polling: oldest QUEUED job first
+CREATE INDEX idx_ingestion_jobs_status_id
+ON ingestion_jobs(status, id);
+
+-- At most one active (QUEUED/RUNNING) job per document
+CREATE UNIQUE INDEX uq_ingestion_jobs_active_document
+ON ingestion_jobs(document_id)
+WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE INDEX idx_ingestion_jobs_tenant_document
+ON ingestion_jobs(tenant_id, document_id);
@@ -0,0 +1,14 @@
+-- V3: pooled ids for tables written in bulk (KnowGauge)
+--
+-- IDENTITY ids force Hibernate to insert row by row (it needs the generated
+-- key back after every INSERT), which disables JDBC batching. document_chunks
+-- and test_questions now take ids from a sequence with allocationSize = 50:
+-- Hibernate reserves 50 ids per nextval() and can batch the inserts.
+--
+-- The columns' identity sequences are reused as those sequences, so inserts that
+-- do not provide an id (plain SQL, older app versions) keep working and never
+-- collide with the ranges reserved by Hibernate's pooled optimizer.
+
+ALTER TABLE document_chunks ALTER COLUMN id SET INCREMENT BY 50;
+
+ALTER TABLE test_questions ALTER COLUMN id SET INCREMENT BY 50;
@@ -0,0 +1,5 @@
+-- V4: focus query for FOCUSED coverage tests (KnowGauge)
+-- Not enforced by a CHECK: FOCUSED tests created before this version failed
+-- without a query and are kept as history.
+
+ALTER TABLE tests ADD COLUMN focus_query TEXT NULL;
@@ -0,0 +1,13 @@
+-- avoidRepeats: retrieval candidates are checked against recent usage by chunk
+-- id, so the lookup stays proportional to the candidates, not to the history.
+ALTER TABLE test_used_chunks ADD COLUMN used_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- Existing rows: the test creation time is the closest known usage time
+UPDATE test_used_chunks u
+SET used_at = t.created_at
+FROM tests t
+WHERE t.id = u.test_id;
+
+-- Replaces the plain chunk_id index (still serves the FK cascade from document_chunks)
+DROP INDEX idx_test_used_chunks_chunk_id;
+CREATE INDEX idx_test_used_chunks_chunk_used_at ON test_used_chunks(chunk_id, used_at);
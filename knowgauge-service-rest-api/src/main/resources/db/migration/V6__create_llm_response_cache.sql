@@ -0,0 +1,12 @@
+-- Optional cache of deterministic LLM responses (kg.testgen.llm-cache.store=DATABASE).
+-- cache_key is a SHA-256 hex digest of tenant, call type, model, parameters and prompt.
+CREATE TABLE llm_response_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    model VARCHAR(100) NOT NULL,
+    response TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_llm_response_cache_expires_at ON llm_response_cache(expires_at);
+CREATE INDEX idx_llm_response_cache_created_at ON llm_response_cache(created_at);
@@ -0,0 +1,4 @@
+-- Content-addressed embedding lookup (embedding cache): vectors are reused by
+-- (tenant, model, chunk checksum) instead of re-embedding identical chunk text.
+CREATE INDEX idx_chunk_embeddings_checksum
+    ON chunk_embeddings(tenant_id, embedding_model, chunk_checksum);
@@ -0,0 +1,19 @@
+-- Balanced candidate sampling draws random chunk ordinals per document and
+-- fetches them by index lookup, instead of sorting every embedding of the scope
+-- by random(). Ordinals are dense (1..n) per document version, like
+-- document_chunks.ordinal.
+ALTER TABLE chunk_embeddings ADD COLUMN chunk_ordinal INTEGER;
+
+-- Existing rows: chunk ids of a document version were assigned in ordinal order
+UPDATE chunk_embeddings ce
+SET chunk_ordinal = r.ordinal
+FROM (
+    SELECT id,
+           row_number() OVER (PARTITION BY tenant_id, document_id, document_version, embedding_model
+                              ORDER BY chunk_id)::int AS ordinal
+    FROM chunk_embeddings
+) r
+WHERE ce.id = r.id;
+
+CREATE INDEX idx_chunk_embeddings_sample
+    ON chunk_embeddings(tenant_id, embedding_model, document_id, chunk_ordinal);
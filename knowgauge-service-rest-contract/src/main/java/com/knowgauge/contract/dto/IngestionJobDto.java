@@ -0,0 +1,20 @@
+package com.knowgauge.contract.dto;
+
+import java.time.Instant;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Asynchronous document ingestion job")
+public record IngestionJobDto(
+		@Schema(description = "Job identifier", example = "7001") Long id,
+		@Schema(description = "Document being ingested", example = "2001") Long documentId,
+		@Schema(description = "Job status", example = "RUNNING") String status,
+		@Schema(description = "Current ingestion stage", example = "EMBEDDING") String stage,
+		@Schema(description = "Items processed in the current stage (pages or chunks)", example = "120") Integer processedItems,
+		@Schema(description = "Total items of the current stage (pages or chunks)", example = "340") Integer totalItems,
+		@Schema(description = "Number of times the job was claimed by a worker", example = "1") Integer attempts,
+		@Schema(description = "Queue time (UTC)", example = "2026-02-18T10:15:30Z") Instant createdAt,
+		@Schema(description = "Start time (UTC)", example = "2026-02-18T10:15:31Z") Instant startedAt,
+		@Schema(description = "Finish time (UTC)", example = "2026-02-18T10:17:02Z") Instant finishedAt,
+		@Schema(description = "Failure reason when status is FAILED", example = "Embedding rate limited (429)") String errorMessage) {
+}
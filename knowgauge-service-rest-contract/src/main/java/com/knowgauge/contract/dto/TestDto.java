@@ -15,6 +15,7 @@ public record TestDto(
 		@Schema(description = "Configured difficulty", example = "MEDIUM") String difficulty,
 		@Schema(description = "Whether repeats were avoided", example = "true") boolean avoidRepeats,
 		@Schema(description = "Coverage strategy", example = "BALANCED") String coverageMode,
+		@Schema(description = "Focus of the test (FOCUSED coverage)", example = "Transaction isolation levels") String focusQuery,
 		@Schema(description = "Requested number of questions", example = "10") Integer questionCount,
 		@Schema(description = "Answer cardinality mode", example = "SINGLE_CORRECT") String answerCardinality,
 		@Schema(description = "Generation status", example = "COMPLETED") String status,
@@ -0,0 +1,14 @@
+package com.knowgauge.contract.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Progress of an asynchronous test generation")
+public record TestGenerationProgressDto(
+		@Schema(description = "Test identifier", example = "5001") Long testId,
+		@Schema(description = "Generation status", example = "GENERATING") String status,
+		@Schema(description = "Question batches completed so far", example = "3") Integer batchesCompleted,
+		@Schema(description = "Questions returned by the LLM so far", example = "15") Integer questionsGenerated,
+		@Schema(description = "Questions kept after verification, validation and dedupe", example = "13") Integer questionsValidated,
+		@Schema(description = "Requested number of questions", example = "20") Integer questionCount,
+		@Schema(description = "Failure reason when status is FAILED", example = "Model request timed out") String errorMessage) {
+}
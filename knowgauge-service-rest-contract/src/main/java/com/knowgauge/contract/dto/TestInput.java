@@ -12,6 +12,7 @@ public record TestInput(
 		@Schema(description = "Desired difficulty", example = "MEDIUM") String difficulty,
 		@Schema(description = "Avoid repeating already-used questions", example = "true") Boolean avoidRepeats,
 		@Schema(description = "Coverage strategy", example = "BALANCED") String coverageMode,
+		@Schema(description = "Focus of the test, required for FOCUSED coverage (used as similarity query)", example = "Transaction isolation levels") String focusQuery,
 		@Schema(description = "Requested number of questions", example = "10") Integer questionCount,
 		@Schema(description = "Answer cardinality mode", example = "SINGLE_CORRECT") String answerCardinality,
 		@Schema(description = "Output language", example = "en") String language,
@@ -0,0 +1,17 @@
+package com.knowgauge.contract.dto;
+
+import java.time.Instant;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Background vector index rebuild")
+public record VectorIndexRebuildDto(
+		@Schema(description = "Rebuild identifier (per instance)", example = "3") Long id,
+		@Schema(description = "Rebuild status", example = "RUNNING") String status,
+		@Schema(description = "Sample queries requested for the recall measurement", example = "20") Integer sampleQueries,
+		@Schema(description = "Neighbours compared per query", example = "10") Integer k,
+		@Schema(description = "Start time (UTC)", example = "2026-02-18T10:15:31Z") Instant startedAt,
+		@Schema(description = "Finish time (UTC)", example = "2026-02-18T11:02:12Z") Instant finishedAt,
+		@Schema(description = "Build and recall report when status is SUCCEEDED") VectorIndexReportDto report,
+		@Schema(description = "Failure reason when status is FAILED", example = "Vector index rebuild already in progress") String errorMessage) {
+}
@@ -0,0 +1,17 @@
+package com.knowgauge.contract.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a vector index rebuild")
+public record VectorIndexReportDto(
+		@Schema(description = "Rebuilt index", example = "idx_chunk_embeddings_embedding") String indexName,
+		@Schema(description = "Index method", example = "hnsw") String indexMethod,
+		@Schema(description = "USING/WITH clause the index was built with", example = "USING hnsw (embedding vector_cosine_ops) WITH (m = 16, ef_construction = 64)") String indexDefinition,
+		@Schema(description = "Indexed embedding rows", example = "250000") Long rowCount,
+		@Schema(description = "CREATE INDEX CONCURRENTLY duration in milliseconds", example = "48210") Long buildMillis,
+		@Schema(description = "Sample queries used for the recall measurement", example = "20") Integer sampleQueries,
+		@Schema(description = "Neighbours compared per query", example = "10") Integer k,
+		@Schema(description = "Average share of the exact top-k returned by the index, -1 if not measured", example = "0.985") Double recall,
+		@Schema(description = "Average index scan time per query in microseconds", example = "2100") Long avgIndexQueryMicros,
+		@Schema(description = "Average exact (sequential scan) time per query in microseconds", example = "310000") Long avgExactQueryMicros) {
+}